@@ -45,6 +45,7 @@ public class ProtocolConfig {
     private static final String DEBUG_MODE_ENABLED = "debug";
     private static final String DETAILED_ERROR = "detailed error";
     private static final String CHAT_WARNINGS = "chat warnings";
+    private static final String WARM_UP = "warm up";
 
     private static final String SCRIPT_ENGINE_NAME = "script engine";
     private static final String SUPPRESSED_REPORTS = "suppressed reports";
@@ -230,6 +231,15 @@ public class ProtocolConfig {
         return getGlobalValue(CHAT_WARNINGS, true);
     }
 
+    /**
+     * Determine if registries, wrappers and injectors should be initialized during startup. Default TRUE.
+     *
+     * @return TRUE if it is enabled, FALSE otherwise.
+     */
+    public boolean isWarmUp() {
+        return getGlobalValue(WARM_UP, true);
+    }
+
     /**
      * Retrieve whether or not ProtocolLib should determine if a new version has been released.
      *
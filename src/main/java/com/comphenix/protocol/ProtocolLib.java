@@ -22,8 +22,10 @@ import com.comphenix.protocol.error.DetailedErrorReporter;
 import com.comphenix.protocol.error.ErrorReporter;
 import com.comphenix.protocol.error.Report;
 import com.comphenix.protocol.error.ReportType;
+import com.comphenix.protocol.events.SerializerPool;
 import com.comphenix.protocol.injector.InternalManager;
 import com.comphenix.protocol.injector.PacketFilterManager;
+import com.comphenix.protocol.injector.StartupWarmup;
 import com.comphenix.protocol.metrics.Statistics;
 import com.comphenix.protocol.scheduler.DefaultScheduler;
 import com.comphenix.protocol.scheduler.FoliaScheduler;
@@ -40,6 +42,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Handler;
@@ -86,6 +89,7 @@ public class ProtocolLib extends JavaPlugin {
     static final long MILLI_PER_SECOND = TimeUnit.SECONDS.toMillis(1);
 
     private static final int ASYNC_MANAGER_DELAY = 1;
+    private static final long WARMUP_TIMEOUT_SECONDS = 10;
     private static final String PERMISSION_INFO = "protocol.info";
 
     // these fields are only existing once, we can make them static
@@ -341,6 +345,11 @@ public class ProtocolLib extends JavaPlugin {
             // Worker that ensures that async packets are eventually sent
             // It also performs the update check.
             this.createPacketTask(server);
+
+            // Initialize the remaining lazy state in the background, while the worlds are loading
+            if (config.isWarmUp()) {
+                this.startWarmup();
+            }
         } catch (OutOfMemoryError e) {
             throw e;
         } catch (Throwable e) {
@@ -364,6 +373,31 @@ public class ProtocolLib extends JavaPlugin {
         }
     }
 
+    /**
+     * Start initializing the lazy state in the background, and wait for it on the first server tick.
+     * <p>
+     * Logins are processed on the main thread, so no player can join before the warmup completed or the wait timed
+     * out. Connections handled by netty before that, such as status pings, may still initialize the state lazily,
+     * which is only slower. Components that are still running after the timeout continue in the background.
+     */
+    private void startWarmup() {
+        StartupWarmup warmup = StartupWarmup.createDefault().start();
+        warmup.getCompletion().whenComplete((ignored, error) -> {
+            List<String> timings = new ArrayList<>();
+            for (Map.Entry<String, Long> entry : warmup.getTimings().entrySet()) {
+                timings.add(entry.getKey() + " " + TimeUnit.NANOSECONDS.toMillis(entry.getValue()) + " ms");
+            }
+            logger.info("Startup warmup finished (" + String.join(", ", timings) + ")");
+        });
+
+        this.scheduler.runTask(() -> {
+            if (!warmup.await(WARMUP_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                logger.warning("Startup warmup did not finish within " + WARMUP_TIMEOUT_SECONDS
+                        + " seconds, continuing in the background");
+            }
+        });
+    }
+
     // Used to check Minecraft version
     private MinecraftVersion verifyMinecraftVersion() {
         MinecraftVersion minimum = new MinecraftVersion(ProtocolLibrary.MINIMUM_MINECRAFT_VERSION);
@@ -562,6 +596,9 @@ public class ProtocolLib extends JavaPlugin {
             return; // Plugin reloaders!
         }
 
+        // Release the buffers kept by the netty threads
+        SerializerPool.releaseAll();
+
         protocolManager = null;
         this.statistics = null;
 
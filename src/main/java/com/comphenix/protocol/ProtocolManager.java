@@ -25,10 +25,13 @@ import com.comphenix.protocol.events.PacketListener;
 import com.comphenix.protocol.injector.PacketConstructor;
 import com.comphenix.protocol.reflect.FieldAccessException;
 import com.comphenix.protocol.utility.MinecraftVersion;
+import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ListMultimap;
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.entity.Entity;
@@ -204,6 +207,43 @@ public interface ProtocolManager extends PacketStream {
      */
     List<Player> getEntityTrackers(Entity entity);
 
+    /**
+     * Retrieve every client that is receiving information about each of the given entities.
+     *
+     * @param entities - the entities that are being tracked.
+     * @return The clients/players tracking each entity. Entities that are invalid or not tracked are left out.
+     * @throws FieldAccessException If reflection failed.
+     */
+    default ListMultimap<Entity, Player> getEntityTrackers(Collection<? extends Entity> entities) {
+        ListMultimap<Entity, Player> result = ArrayListMultimap.create();
+        for (Entity entity : entities) {
+            if (entity == null || !entity.isValid()) {
+                continue;
+            }
+
+            try {
+                result.putAll(entity, this.getEntityTrackers(entity));
+            } catch (IllegalArgumentException ex) {
+                // the entity is not tracked
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Pass every client that is receiving information about a given entity to a consumer, without copying the tracker
+     * collection of the entity.
+     * <p>
+     * This should be called from the main thread, and the consumer must not change which players track the entity.
+     *
+     * @param entity   - the entity that is being tracked.
+     * @param consumer - the consumer of every client/player tracking the entity.
+     * @throws FieldAccessException If reflection failed.
+     */
+    default void forEachTracker(Entity entity, Consumer<? super Player> consumer) {
+        this.getEntityTrackers(entity).forEach(consumer);
+    }
+
     /**
      * Retrieves a immutable set containing the type of the sent server packets that will be observed by listeners.
      *
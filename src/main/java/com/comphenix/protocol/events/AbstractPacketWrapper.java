@@ -0,0 +1,49 @@
+package com.comphenix.protocol.events;
+
+import com.comphenix.protocol.reflect.CopyOnWriteTarget;
+import com.google.common.base.Preconditions;
+
+/**
+ * The superclass of every typed packet wrapper generated by {@link PacketWrapperFactory}.
+ */
+public abstract class AbstractPacketWrapper {
+
+    protected final PacketContainer packet;
+
+    protected AbstractPacketWrapper(PacketContainer packet) {
+        this.packet = Preconditions.checkNotNull(packet, "packet cannot be null");
+    }
+
+    /**
+     * Retrieve the wrapped packet.
+     *
+     * @return The wrapped packet.
+     */
+    public PacketContainer getPacket() {
+        return this.packet;
+    }
+
+    /**
+     * Retrieve the packet to read a field from.
+     *
+     * @return The current packet handle.
+     */
+    protected final Object getReadTarget() {
+        return this.packet.getHandle();
+    }
+
+    /**
+     * Retrieve the packet to write a field to, copying it first if it's a copy-on-write packet that is still shared.
+     *
+     * @return The packet handle to write to.
+     */
+    protected final Object getWriteTarget() {
+        CopyOnWriteTarget target = this.packet.getModifier().getCopyOnWriteTarget();
+        return target != null ? target.getForWrite() : this.packet.getHandle();
+    }
+
+    @Override
+    public String toString() {
+        return this.getClass().getSimpleName() + "[packet=" + this.packet + "]";
+    }
+}
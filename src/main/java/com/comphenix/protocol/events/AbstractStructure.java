@@ -256,6 +256,23 @@ public abstract class AbstractStructure {
         );
     }
 
+    /**
+     * Retrieves a read/write structure for lists of ItemStacks, that reads views of the lists instead of copies.
+     * <p>
+     * The items of a view are mirrors of the internal Minecraft ItemStacks, so changes to them and to the view are
+     * applied to the packet immediately, and writing a view back is free. Setting an item to NULL empties its slot, while
+     * adding or removing items may throw an UnsupportedOperationException, as packets usually hold fixed-size lists.
+     * Copy the items first if they are kept after the packet is sent, or if the packet is shared by several receivers. See
+     * {@link BukkitConverters#getItemListMirrorConverter()} for details.
+     * @return A modifier for ItemStack list fields.
+     */
+    public StructureModifier<List<ItemStack>> getItemListMirrorModifier() {
+        return structureModifier.withType(
+                List.class,
+                BukkitConverters.getItemListMirrorConverter()
+        );
+    }
+
     /**
      * Retrieve a read/write structure for maps of statistics.
      * <p>
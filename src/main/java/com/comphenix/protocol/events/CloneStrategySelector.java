@@ -0,0 +1,152 @@
+package com.comphenix.protocol.events;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.comphenix.protocol.PacketType;
+
+/**
+ * Selects how a packet is deep cloned, based on the cost measured for each packet type at runtime.
+ * <p>
+ * Each strategy is sampled a few times for every packet type, and the cheaper one is used from then on. The first
+ * samples of each strategy are discarded, as they include class loading and interpretation. The decision is made again
+ * periodically, in case a strategy became cheaper once it was compiled. A strategy that failed once is never selected
+ * again for that packet type.
+ */
+final class CloneStrategySelector {
+
+    /**
+     * The number of clones per strategy that are discarded before any is measured.
+     */
+    static final int WARMUP_SAMPLES = 4;
+
+    /**
+     * The number of clones that are measured per strategy before a decision is made.
+     */
+    static final int SAMPLES_PER_STRATEGY = 16;
+
+    /**
+     * The number of clones after which the strategies are sampled again.
+     */
+    static final int REEVALUATION_INTERVAL = 100_000;
+
+    enum Strategy {
+        /**
+         * Copy the object tree of the packet field by field.
+         */
+        REFLECTIVE,
+        /**
+         * Encode the packet into a buffer and decode it again.
+         */
+        CODEC
+    }
+
+    private final ConcurrentMap<PacketType, Decision> decisions = new ConcurrentHashMap<>();
+
+    /**
+     * Select the strategy to use for the next clone of the given packet type.
+     *
+     * @param type - the packet type.
+     * @return The strategy to use.
+     */
+    Strategy select(PacketType type) {
+        return this.getDecision(type).next();
+    }
+
+    /**
+     * Record the time it took to clone a packet with the given strategy.
+     *
+     * @param type     - the packet type.
+     * @param strategy - the used strategy.
+     * @param nanos    - the elapsed time in nanoseconds.
+     */
+    void record(PacketType type, Strategy strategy, long nanos) {
+        this.getDecision(type).record(strategy, nanos);
+    }
+
+    /**
+     * Mark a strategy as unable to clone the given packet type.
+     *
+     * @param type     - the packet type.
+     * @param strategy - the failed strategy.
+     */
+    void markUnsupported(PacketType type, Strategy strategy) {
+        this.getDecision(type).markUnsupported(strategy);
+    }
+
+    private Decision getDecision(PacketType type) {
+        return this.decisions.computeIfAbsent(type, key -> new Decision());
+    }
+
+    private static final class Decision {
+
+        private final AtomicInteger[] samples = {new AtomicInteger(), new AtomicInteger()};
+        private final AtomicLong[] totalNanos = {new AtomicLong(), new AtomicLong()};
+        private final AtomicInteger clones = new AtomicInteger();
+        private final boolean[] unsupported = new boolean[2];
+
+        private volatile Strategy decided;
+
+        Strategy next() {
+            Strategy strategy = this.decided;
+            if (strategy != null) {
+                return strategy;
+            }
+
+            // sample the reflective clone first, it preserves fields that are not part of the wire format
+            return this.samples[Strategy.REFLECTIVE.ordinal()].get() < WARMUP_SAMPLES + SAMPLES_PER_STRATEGY
+                    ? Strategy.REFLECTIVE
+                    : Strategy.CODEC;
+        }
+
+        void record(Strategy strategy, long nanos) {
+            if (this.decided != null) {
+                if (this.clones.incrementAndGet() >= REEVALUATION_INTERVAL) {
+                    this.reevaluate();
+                }
+                return;
+            }
+
+            if (this.samples[strategy.ordinal()].incrementAndGet() > WARMUP_SAMPLES) {
+                this.totalNanos[strategy.ordinal()].addAndGet(nanos);
+            }
+
+            int reflectiveSamples = this.samples[Strategy.REFLECTIVE.ordinal()].get() - WARMUP_SAMPLES;
+            int codecSamples = this.samples[Strategy.CODEC.ordinal()].get() - WARMUP_SAMPLES;
+            if (reflectiveSamples >= SAMPLES_PER_STRATEGY && codecSamples >= SAMPLES_PER_STRATEGY) {
+                long reflective = this.totalNanos[Strategy.REFLECTIVE.ordinal()].get() / reflectiveSamples;
+                long codec = this.totalNanos[Strategy.CODEC.ordinal()].get() / codecSamples;
+                this.decided = codec < reflective ? Strategy.CODEC : Strategy.REFLECTIVE;
+            }
+        }
+
+        private synchronized void reevaluate() {
+            // another thread may have started sampling again already
+            if (this.decided == null || this.clones.get() < REEVALUATION_INTERVAL) {
+                return;
+            }
+
+            this.clones.set(0);
+            if (this.unsupported[0] || this.unsupported[1]) {
+                // nothing to compare
+                return;
+            }
+
+            for (int i = 0; i < this.samples.length; i++) {
+                this.samples[i].set(0);
+                this.totalNanos[i].set(0);
+            }
+            this.decided = null;
+        }
+
+        synchronized void markUnsupported(Strategy strategy) {
+            this.unsupported[strategy.ordinal()] = true;
+
+            // stay with the failed strategy if neither works, rather than alternating between them
+            Strategy other = strategy == Strategy.REFLECTIVE ? Strategy.CODEC : Strategy.REFLECTIVE;
+            this.decided = this.unsupported[other.ordinal()] ? strategy : other;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.comphenix.protocol.events;
 
 import java.util.Optional;
 
+import com.comphenix.protocol.reflect.CopyOnWriteTarget;
 import com.comphenix.protocol.reflect.EquivalentConverter;
 import com.comphenix.protocol.reflect.StructureModifier;
 import com.comphenix.protocol.wrappers.Converters;
@@ -33,12 +34,50 @@ public class InternalStructure extends AbstractStructure {
         return CONVERTER;
     }
 
+    /**
+     * Retrieve a converter for the structures read from the given modifier.
+     * <p>
+     * Structures read from a modifier with a copy-on-write target are copied on their first write as well, and replace
+     * the original structure in the copy of their parent.
+     *
+     * @param parent - the modifier the structures are read from.
+     * @return The converter.
+     */
+    static EquivalentConverter<InternalStructure> getConverter(StructureModifier<?> parent) {
+        CopyOnWriteTarget parentTarget = parent.getCopyOnWriteTarget();
+        if (parentTarget == null) {
+            return CONVERTER;
+        }
+
+        return new EquivalentConverter<InternalStructure>() {
+            @Override
+            public Object getGeneric(InternalStructure specific) {
+                return specific.handle;
+            }
+
+            @Override
+            public InternalStructure getSpecific(Object generic) {
+                StructureModifier<Object> modifier = new StructureModifier<>(generic.getClass());
+                InternalStructure structure = new InternalStructure(generic, modifier);
+
+                CopyOnWriteTarget target = parentTarget.child(generic, copy -> structure.handle = copy);
+                structure.structureModifier = modifier.withCopyOnWriteTarget(target);
+                return structure;
+            }
+
+            @Override
+            public Class<InternalStructure> getSpecificType() {
+                return InternalStructure.class;
+            }
+        };
+    }
+
     public StructureModifier<InternalStructure> getStructures() {
-        return structureModifier.withType(Object.class, CONVERTER);
+        return structureModifier.withType(Object.class, getConverter(structureModifier));
     }
 
     public StructureModifier<Optional<InternalStructure>> getOptionalStructures() {
-        return structureModifier.withType(Optional.class, Converters.optional(CONVERTER));
+        return structureModifier.withType(Optional.class, Converters.optional(getConverter(structureModifier)));
     }
 
     @Override
@@ -27,15 +27,15 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.function.Function;
-import javax.annotation.Nullable;
 
 import com.comphenix.protocol.PacketType;
+import com.comphenix.protocol.events.CloneStrategySelector.Strategy;
 import com.comphenix.protocol.injector.StructureCache;
 import com.comphenix.protocol.injector.packet.PacketRegistry;
+import com.comphenix.protocol.reflect.CopyOnWriteTarget;
 import com.comphenix.protocol.reflect.FuzzyReflection;
 import com.comphenix.protocol.reflect.ObjectWriter;
 import com.comphenix.protocol.reflect.StructureModifier;
@@ -43,9 +43,7 @@ import com.comphenix.protocol.reflect.accessors.Accessors;
 import com.comphenix.protocol.reflect.accessors.ConstructorAccessor;
 import com.comphenix.protocol.reflect.accessors.MethodAccessor;
 import com.comphenix.protocol.reflect.cloning.AggregateCloner;
-import com.comphenix.protocol.reflect.cloning.AggregateCloner.BuilderParameters;
 import com.comphenix.protocol.reflect.cloning.BukkitCloner;
-import com.comphenix.protocol.reflect.cloning.Cloner;
 import com.comphenix.protocol.reflect.cloning.CollectionCloner;
 import com.comphenix.protocol.reflect.cloning.FieldCloner;
 import com.comphenix.protocol.reflect.cloning.GuavaOptionalCloner;
@@ -60,7 +58,6 @@ import com.comphenix.protocol.utility.MinecraftVersion;
 import com.comphenix.protocol.wrappers.Converters;
 import com.comphenix.protocol.wrappers.WrappedStreamCodec;
 
-import com.google.common.collect.Sets;
 import io.netty.buffer.ByteBuf;
 import io.netty.util.ReferenceCountUtil;
 
@@ -81,18 +78,18 @@ public class PacketContainer extends AbstractStructure implements Serializable {
     // Used to clone packets
     private static final AggregateCloner DEEP_CLONER = AggregateCloner
             .newBuilder()
-            .instanceProvider(StructureCache::newInstance)
+            .instanceProvider(StructureCache::newBlankInstance)
             .andThen(BukkitCloner.class)
             .andThen(ImmutableDetector.class)
             .andThen(JavaOptionalCloner.class)
             .andThen(GuavaOptionalCloner.class)
             .andThen(CollectionCloner.class)
-            .andThen(getSpecializedDeepClonerFactory())
+            .andThen(FieldCloner.class)
             .build();
 
     private static final AggregateCloner SHALLOW_CLONER = AggregateCloner
             .newBuilder()
-            .instanceProvider(StructureCache::newInstance)
+            .instanceProvider(StructureCache::newBlankInstance)
             .andThen(param -> {
                 if (param == null)
                     throw new IllegalArgumentException("Cannot be NULL.");
@@ -104,13 +101,16 @@ public class PacketContainer extends AbstractStructure implements Serializable {
             })
             .build();
 
-    // Packets that cannot be cloned by our default deep cloner
-    private static final Set<PacketType> FAST_CLONE_UNSUPPORTED = Sets.newHashSet(
-        PacketType.Play.Server.BOSS,
-        PacketType.Play.Server.ADVANCEMENTS,
-        PacketType.Play.Client.USE_ENTITY,
-        PacketType.Status.Server.SERVER_INFO
-    );
+    // Selects between our default deep cloner and a codec round trip per packet type
+    private static final CloneStrategySelector CLONE_STRATEGIES = new CloneStrategySelector();
+
+    static {
+        // Packets that cannot be cloned by our default deep cloner
+        CLONE_STRATEGIES.markUnsupported(PacketType.Play.Server.BOSS, Strategy.REFLECTIVE);
+        CLONE_STRATEGIES.markUnsupported(PacketType.Play.Server.ADVANCEMENTS, Strategy.REFLECTIVE);
+        CLONE_STRATEGIES.markUnsupported(PacketType.Play.Client.USE_ENTITY, Strategy.REFLECTIVE);
+        CLONE_STRATEGIES.markUnsupported(PacketType.Status.Server.SERVER_INFO, Strategy.REFLECTIVE);
+    }
 
     /**
      * Creates a packet container for a new packet.
@@ -184,11 +184,11 @@ public class PacketContainer extends AbstractStructure implements Serializable {
     }
 
     public StructureModifier<InternalStructure> getStructures() {
-        return structureModifier.withType(Object.class, InternalStructure.CONVERTER);
+        return structureModifier.withType(Object.class, InternalStructure.getConverter(structureModifier));
     }
 
     public StructureModifier<Optional<InternalStructure>> getOptionalStructures() {
-        return structureModifier.withType(Optional.class, Converters.optional(InternalStructure.CONVERTER));
+        return structureModifier.withType(Optional.class, Converters.optional(InternalStructure.getConverter(structureModifier)));
     }
 
     /**
@@ -220,13 +220,34 @@ public class PacketContainer extends AbstractStructure implements Serializable {
         return new PacketContainer(getType(), clonedPacket);
     }
 
+    /**
+     * Create a packet container that shares the current packet until it is first modified.
+     * <p>
+     * The first write through any structure modifier of the returned container replaces its packet with a shallow
+     * copy. Structures retrieved with {@link #getStructures()} are copied the same way on their first write, so only
+     * the path to the modified field is copied. This is a much cheaper alternative to {@link #deepClone()} when a
+     * packet that is sent to many players has to be modified for some of them.
+     * <p>
+     * Objects that are modified in place, such as a list read from a field, are not detected and would still change
+     * the shared packet. The current packet should not be modified while copies of it are in use.
+     *
+     * @return A copy-on-write view of the current packet.
+     */
+    public PacketContainer copyOnWrite() {
+        PacketContainer container = new PacketContainer(getType(), getHandle(), structureModifier);
+        CopyOnWriteTarget target = new CopyOnWriteTarget(getHandle(), SHALLOW_CLONER::clone, copy -> container.handle = copy);
+
+        container.structureModifier = structureModifier.withCopyOnWriteTarget(target);
+        return container;
+    }
+
     /**
      * Create a deep copy of the current packet.
      * <p>
      * This will perform a full copy of the entire object tree, only skipping
-     * known immutable objects and primitive types.
-     * <p>
-     * Note that the inflated buffers in packet 51 and 56 will be copied directly to save memory.
+     * known immutable objects and primitive types. Packet types for which
+     * encoding and decoding the packet is measured to be cheaper are copied
+     * that way instead, as are packet types the object tree cannot be copied of.
      *
      * @return A deep copy of the current packet.
      */
@@ -238,46 +259,45 @@ public class PacketContainer extends AbstractStructure implements Serializable {
             return this;
         }
 
-        // try fast cloning first
-        if (!FAST_CLONE_UNSUPPORTED.contains(packetType)) {
+        Strategy strategy = CLONE_STRATEGIES.select(packetType);
+        if (strategy == Strategy.REFLECTIVE) {
+            long startTime = System.nanoTime();
             try {
                 Object cloned = DEEP_CLONER.clone(handle);
+                CLONE_STRATEGIES.record(packetType, Strategy.REFLECTIVE, System.nanoTime() - startTime);
                 return new PacketContainer(packetType, cloned);
             } catch (Exception ex) {
-                FAST_CLONE_UNSUPPORTED.add(packetType);
+                CLONE_STRATEGIES.markUnsupported(packetType, Strategy.REFLECTIVE);
             }
         }
 
-        // Fall back on the slower alternative method of reading and writing back the packet
-        Object serialized = this.serializeToBuffer();
-        Object deserialized = deserializeFromBuffer(packetType, serialized);
+        try {
+            return this.cloneWithCodec(handle, packetType);
+        } catch (RuntimeException ex) {
+            CLONE_STRATEGIES.markUnsupported(packetType, Strategy.CODEC);
+            if (strategy != Strategy.CODEC) {
+                // the object tree couldn't be copied either
+                throw ex;
+            }
 
-        // ensure that we don't leak memory
-        ReferenceCountUtil.safeRelease(serialized);
-        return new PacketContainer(packetType, deserialized);
+            // the codec was only selected for being faster, so fall back to the reflective clone
+            return new PacketContainer(packetType, DEEP_CLONER.clone(handle));
+        }
     }
 
-    // To save space, we'll skip copying the inflated buffers in packet 51 and 56
-    private static com.google.common.base.Function<BuilderParameters, Cloner> getSpecializedDeepClonerFactory() {
-        // Look at what you've made me do Java, look at it!!
-        return new com.google.common.base.Function<BuilderParameters, Cloner>() {
-            @Override
-            public Cloner apply(@Nullable BuilderParameters param) {
-                return new FieldCloner(param.getAggregateCloner(), param.getInstanceProvider()) {{
-                    this.writer = new ObjectWriter() {
-                        @Override
-                        protected void transformField(StructureModifier<Object> modifierSource,
-                                                      StructureModifier<Object> modifierDest, int fieldIndex) {
-                            // No need to clone inflated buffers
-                            if (modifierSource.getField(fieldIndex).getName().startsWith("inflatedBuffer"))
-                                modifierDest.write(fieldIndex, modifierSource.read(fieldIndex));
-                            else
-                                defaultTransform(modifierSource, modifierDest, getDefaultCloner(), fieldIndex);
-                        };
-                    };
-                }};
-            }
-        };
+    private PacketContainer cloneWithCodec(Object handle, PacketType packetType) {
+        // read and write back the packet, using a buffer of this thread
+        long startTime = System.nanoTime();
+        Object serializer = SerializerPool.acquire();
+        try {
+            this.encodeTo(handle, serializer);
+            Object deserialized = deserializeFromBuffer(packetType, serializer);
+
+            CLONE_STRATEGIES.record(packetType, Strategy.CODEC, System.nanoTime() - startTime);
+            return new PacketContainer(packetType, deserialized);
+        } finally {
+            SerializerPool.release(serializer);
+        }
     }
 
     private void writeObject(ObjectOutputStream output) throws IOException {
@@ -400,15 +420,17 @@ public class PacketContainer extends AbstractStructure implements Serializable {
         }
 
         Object targetBuffer = MinecraftReflection.createPacketDataSerializer(0);
+        this.encodeTo(handle, targetBuffer);
+        return targetBuffer;
+    }
 
+    private void encodeTo(Object handle, Object targetBuffer) {
         WrappedStreamCodec streamCodec = PacketRegistry.getStreamCodec(type.getPacketClass());
         if (streamCodec != null) {
             streamCodec.encode(targetBuffer, handle);
         } else {
             MinecraftMethods.getPacketWriteByteBufMethod().invoke(handle, targetBuffer);
         }
-
-        return targetBuffer;
     }
 
     // ---- Metadata
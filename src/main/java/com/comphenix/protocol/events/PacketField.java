@@ -0,0 +1,27 @@
+package com.comphenix.protocol.events;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a getter or setter of a typed packet wrapper interface, see {@link PacketWrapperFactory}.
+ * <p>
+ * The method accesses the field with the given index among the packet fields that are declared with exactly the return
+ * type of a getter, or the parameter type of a setter. For instance, {@code @PacketField(1) double getY()} reads the
+ * same field as {@code getDoubles().read(1)}.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface PacketField {
+
+    /**
+     * The index of the field among the fields of the same type.
+     *
+     * @return The field index.
+     */
+    int value();
+}
@@ -0,0 +1,223 @@
+package com.comphenix.protocol.events;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.comphenix.protocol.PacketType;
+import com.comphenix.protocol.injector.StructureCache;
+import com.comphenix.protocol.reflect.StructureModifier;
+import com.comphenix.protocol.reflect.accessors.Accessors;
+import com.comphenix.protocol.reflect.accessors.ConstructorAccessor;
+import com.comphenix.protocol.reflect.accessors.FieldAccessor;
+import com.comphenix.protocol.utility.ByteBuddyFactory;
+import com.google.common.base.Preconditions;
+import net.bytebuddy.description.modifier.Ownership;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.dynamic.scaffold.subclass.ConstructorStrategy;
+import net.bytebuddy.implementation.FixedValue;
+import net.bytebuddy.implementation.Implementation;
+import net.bytebuddy.implementation.MethodCall;
+import net.bytebuddy.implementation.bytecode.assign.Assigner;
+import net.bytebuddy.matcher.ElementMatchers;
+
+/**
+ * Creates typed wrappers of packets from an interface that describes their fields.
+ * <p>
+ * Every getter and setter of the interface must be annotated with {@link PacketField}. A class implementing the
+ * interface is generated once per packet type, and its methods access the packet fields directly through a field
+ * accessor that is resolved when the class is generated. A field that does not exist in the current version fails when
+ * the factory is created, instead of when the field is first used. For example:
+ * <pre>
+ * public interface EntityHeadRotation {
+ *     &#64;PacketField(0) int getEntityId();
+ *     &#64;PacketField(0) EntityHeadRotation setEntityId(int entityId);
+ *     &#64;PacketField(0) byte getYaw();
+ *     &#64;PacketField(0) void setYaw(byte yaw);
+ *     PacketContainer getPacket();
+ * }
+ * </pre>
+ * Values are read and written as they are stored in the packet, without any converter. The interface must be public,
+ * and may declare {@code PacketContainer getPacket()} to retrieve the wrapped packet.
+ *
+ * @param <T> - the wrapper interface.
+ */
+public final class PacketWrapperFactory<T> {
+
+    private static final ClassValue<ConcurrentMap<PacketType, PacketWrapperFactory<?>>> FACTORIES =
+            new ClassValue<ConcurrentMap<PacketType, PacketWrapperFactory<?>>>() {
+                @Override
+                protected ConcurrentMap<PacketType, PacketWrapperFactory<?>> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
+    private static final Method GET_READ_TARGET;
+    private static final Method GET_WRITE_TARGET;
+    private static final Method ACCESSOR_GET;
+    private static final Method ACCESSOR_SET;
+
+    static {
+        try {
+            GET_READ_TARGET = AbstractPacketWrapper.class.getDeclaredMethod("getReadTarget");
+            GET_WRITE_TARGET = AbstractPacketWrapper.class.getDeclaredMethod("getWriteTarget");
+            ACCESSOR_GET = FieldAccessor.class.getMethod("get", Object.class);
+            ACCESSOR_SET = FieldAccessor.class.getMethod("set", Object.class, Object.class);
+        } catch (NoSuchMethodException ex) {
+            throw new ExceptionInInitializerError(ex);
+        }
+    }
+
+    private final PacketType type;
+    private final Class<T> wrapperType;
+    private final ConstructorAccessor constructor;
+
+    private PacketWrapperFactory(PacketType type, Class<T> wrapperType, ConstructorAccessor constructor) {
+        this.type = type;
+        this.wrapperType = wrapperType;
+        this.constructor = constructor;
+    }
+
+    /**
+     * Retrieve the factory of wrappers with the given interface for packets of the given type.
+     *
+     * @param type        - the packet type.
+     * @param wrapperType - the public wrapper interface.
+     * @param <T>         - the wrapper interface.
+     * @return The factory.
+     * @throws IllegalArgumentException If a method of the interface is not a valid getter or setter, or the packet has
+     *                                  no matching field.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> PacketWrapperFactory<T> of(PacketType type, Class<T> wrapperType) {
+        Preconditions.checkNotNull(type, "type cannot be null");
+        Preconditions.checkNotNull(wrapperType, "wrapperType cannot be null");
+
+        return (PacketWrapperFactory<T>) FACTORIES.get(wrapperType)
+                .computeIfAbsent(type, key -> generate(key, wrapperType));
+    }
+
+    private static <T> PacketWrapperFactory<T> generate(PacketType type, Class<T> wrapperType) {
+        Preconditions.checkArgument(wrapperType.isInterface() && Modifier.isPublic(wrapperType.getModifiers()),
+                "%s must be a public interface", wrapperType);
+
+        StructureModifier<Object> structure = StructureCache.getStructure(type);
+        List<FieldAccessor> accessors = new ArrayList<>();
+
+        DynamicType.Builder<AbstractPacketWrapper> builder = ByteBuddyFactory.getInstance()
+                .createSubclass(AbstractPacketWrapper.class, ConstructorStrategy.Default.IMITATE_SUPER_CLASS_OPENING)
+                .implement(wrapperType);
+
+        for (Method method : wrapperType.getMethods()) {
+            if (method.isDefault() || Modifier.isStatic(method.getModifiers()) || isGetPacket(method)) {
+                continue;
+            }
+
+            PacketField annotation = method.getAnnotation(PacketField.class);
+            Preconditions.checkArgument(annotation != null, "%s is not annotated with @PacketField", method);
+
+            String accessorName = "accessor" + accessors.size();
+            Implementation implementation;
+
+            if (method.getParameterCount() == 0 && method.getReturnType() != void.class) {
+                accessors.add(findField(structure, method.getReturnType(), annotation.value(), method));
+                implementation = MethodCall.invoke(ACCESSOR_GET)
+                        .onField(accessorName)
+                        .withMethodCall(MethodCall.invoke(GET_READ_TARGET))
+                        .withAssigner(Assigner.DEFAULT, Assigner.Typing.DYNAMIC);
+            } else if (method.getParameterCount() == 1) {
+                boolean fluent = method.getReturnType().isAssignableFrom(wrapperType);
+                Preconditions.checkArgument(method.getReturnType() == void.class || fluent,
+                        "%s must return void or the wrapper", method);
+
+                accessors.add(findField(structure, method.getParameterTypes()[0], annotation.value(), method));
+                MethodCall call = MethodCall.invoke(ACCESSOR_SET)
+                        .onField(accessorName)
+                        .withMethodCall(MethodCall.invoke(GET_WRITE_TARGET))
+                        .withArgument(0)
+                        .withAssigner(Assigner.DEFAULT, Assigner.Typing.DYNAMIC);
+                implementation = fluent ? call.andThen(FixedValue.self()) : call;
+            } else {
+                throw new IllegalArgumentException(method + " is neither a getter nor a setter");
+            }
+
+            builder = builder
+                    .defineField(accessorName, FieldAccessor.class, Visibility.PUBLIC, Ownership.STATIC)
+                    .method(ElementMatchers.is(method))
+                    .intercept(implementation);
+        }
+
+        // load next to the interface, which must be able to see ProtocolLib anyway
+        Class<? extends AbstractPacketWrapper> generated = builder
+                .name(wrapperType.getName() + "$" + type.name() + "$ProtocolLibWrapper")
+                .make()
+                .load(wrapperType.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+
+        try {
+            for (int i = 0; i < accessors.size(); i++) {
+                Field field = generated.getField("accessor" + i);
+                field.set(null, accessors.get(i));
+            }
+        } catch (ReflectiveOperationException ex) {
+            throw new IllegalStateException("Unable to initialize wrapper " + generated, ex);
+        }
+
+        ConstructorAccessor constructor = Accessors.getConstructorAccessor(generated, PacketContainer.class);
+        return new PacketWrapperFactory<>(type, wrapperType, constructor);
+    }
+
+    private static boolean isGetPacket(Method method) {
+        return method.getName().equals("getPacket")
+                && method.getParameterCount() == 0
+                && method.getReturnType().isAssignableFrom(PacketContainer.class);
+    }
+
+    private static FieldAccessor findField(StructureModifier<Object> structure, Class<?> fieldType, int index, Method method) {
+        int remaining = index;
+        for (FieldAccessor accessor : structure.getFields()) {
+            if (accessor.getField().getType() == fieldType && remaining-- == 0) {
+                return accessor;
+            }
+        }
+
+        throw new IllegalArgumentException(String.format("No field of type %s with index %s for %s in %s",
+                fieldType.getName(), index, method, structure.getTargetType()));
+    }
+
+    /**
+     * Wrap an existing packet.
+     *
+     * @param packet - the packet, which must be of the type of this factory.
+     * @return The wrapper.
+     */
+    public T wrap(PacketContainer packet) {
+        Preconditions.checkNotNull(packet, "packet cannot be null");
+        Preconditions.checkArgument(packet.getType() == this.type, "Expected a %s packet, got %s", this.type, packet.getType());
+        return this.wrapperType.cast(this.constructor.invoke(packet));
+    }
+
+    /**
+     * Create a new packet and wrap it.
+     *
+     * @return The wrapper of the new packet.
+     */
+    public T create() {
+        return this.wrap(new PacketContainer(this.type));
+    }
+
+    /**
+     * Retrieve the packet type of the wrapped packets.
+     *
+     * @return The packet type.
+     */
+    public PacketType getType() {
+        return this.type;
+    }
+}
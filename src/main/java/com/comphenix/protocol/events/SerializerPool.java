@@ -0,0 +1,103 @@
+package com.comphenix.protocol.events;
+
+import java.util.Collections;
+import java.util.Set;
+
+import com.comphenix.protocol.utility.MinecraftReflection;
+import com.google.common.collect.MapMaker;
+import io.netty.buffer.ByteBuf;
+import io.netty.util.ReferenceCountUtil;
+
+/**
+ * Keeps one packet data serializer per thread for short-lived encode and decode round trips.
+ * <p>
+ * A serializer is only reused if it was released with no other reference to its buffer, so a packet that retained a
+ * slice of the buffer while decoding keeps its data. Serializers that grew beyond a limit are not kept either. The
+ * serializers of all threads are released by {@link #releaseAll()} when ProtocolLib is disabled.
+ */
+public final class SerializerPool {
+
+    /**
+     * The largest buffer capacity that is kept for reuse.
+     */
+    static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+    // the pools of every thread, so that they can be released from the main thread
+    private static final Set<SerializerPool> POOLS = Collections.newSetFromMap(new MapMaker().weakKeys().makeMap());
+
+    private static final ThreadLocal<SerializerPool> LOCAL = ThreadLocal.withInitial(() -> {
+        SerializerPool pool = new SerializerPool();
+        POOLS.add(pool);
+        return pool;
+    });
+
+    private ByteBuf serializer;
+    private boolean inUse;
+    private boolean discard;
+
+    private SerializerPool() {
+    }
+
+    /**
+     * Release the serializers that are kept by every thread. A serializer that is currently in use is released once it
+     * is handed back instead.
+     */
+    public static void releaseAll() {
+        for (SerializerPool pool : POOLS) {
+            synchronized (pool) {
+                if (pool.inUse) {
+                    pool.discard = true;
+                } else if (pool.serializer != null) {
+                    ReferenceCountUtil.safeRelease(pool.serializer);
+                    pool.serializer = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Retrieve an empty serializer, which must be handed back to {@link #release(Object)} afterwards.
+     *
+     * @return The serializer.
+     */
+    static Object acquire() {
+        SerializerPool pool = LOCAL.get();
+        synchronized (pool) {
+            if (pool.inUse || pool.serializer == null) {
+                // nested round trips get a fresh serializer
+                ByteBuf serializer = (ByteBuf) MinecraftReflection.createPacketDataSerializer(0);
+                if (!pool.inUse) {
+                    pool.serializer = serializer;
+                    pool.inUse = true;
+                }
+                return serializer;
+            }
+
+            pool.serializer.clear();
+            pool.inUse = true;
+            return pool.serializer;
+        }
+    }
+
+    /**
+     * Hand back a serializer retrieved from {@link #acquire()}.
+     *
+     * @param serializer - the serializer.
+     */
+    static void release(Object serializer) {
+        SerializerPool pool = LOCAL.get();
+        synchronized (pool) {
+            if (serializer != pool.serializer) {
+                ReferenceCountUtil.safeRelease(serializer);
+                return;
+            }
+
+            pool.inUse = false;
+            if (pool.discard || pool.serializer.refCnt() != 1 || pool.serializer.capacity() > MAX_RETAINED_CAPACITY) {
+                ReferenceCountUtil.safeRelease(pool.serializer);
+                pool.serializer = null;
+                pool.discard = false;
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.comphenix.protocol.injector;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.MapMaker;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+
+/**
+ * An opt-in index of entities by their entity ID, which lets {@link com.comphenix.protocol.ProtocolManager#getEntityFromID(World, int)}
+ * answer repeated lookups without reflection.
+ * <p>
+ * Online players are indexed from join and quit events, and other entities are indexed the first time they are looked
+ * up. Entity IDs are never reused while the server is running, so an indexed entity is returned for as long as it is
+ * valid and in the requested world. Entities are only weakly referenced, and unloaded worlds are forgotten.
+ */
+public final class EntityIdIndex {
+
+    private static volatile EntityIdIndex instance;
+
+    private final Map<Integer, Player> players = new ConcurrentHashMap<>();
+    private final ConcurrentMap<World, Cache<Integer, Entity>> entities = new MapMaker().weakKeys().makeMap();
+
+    EntityIdIndex() {
+    }
+
+    /**
+     * Enable the entity index, if it is not already enabled.
+     */
+    public static synchronized void enable() {
+        if (instance == null) {
+            EntityIdIndex index = new EntityIdIndex();
+            for (Player player : Bukkit.getOnlinePlayers()) {
+                index.addPlayer(player);
+            }
+            instance = index;
+        }
+    }
+
+    /**
+     * Disable the entity index, and discard every indexed entity.
+     */
+    public static synchronized void disable() {
+        instance = null;
+    }
+
+    /**
+     * Retrieve the current entity index.
+     *
+     * @return The index, or NULL if it is disabled.
+     */
+    public static EntityIdIndex getInstance() {
+        return instance;
+    }
+
+    /**
+     * Determine if the given entity ID belongs to an online player.
+     *
+     * @param entityId - the entity ID.
+     * @return TRUE if it does, FALSE otherwise.
+     */
+    public boolean isPlayer(int entityId) {
+        return this.players.containsKey(entityId);
+    }
+
+    /**
+     * Retrieve the online player with the given entity ID, in any world.
+     *
+     * @param entityId - the entity ID.
+     * @return The player, or NULL if no online player has this ID.
+     */
+    public Player getPlayer(int entityId) {
+        return this.players.get(entityId);
+    }
+
+    /**
+     * Retrieve the number of indexed entities, including players.
+     *
+     * @return The number of entities.
+     */
+    public long size() {
+        long size = this.players.size();
+        for (Cache<Integer, Entity> cache : this.entities.values()) {
+            size += cache.size();
+        }
+        return size;
+    }
+
+    Entity get(World world, int entityId) {
+        Player player = this.players.get(entityId);
+        if (player != null) {
+            return world.equals(player.getWorld()) ? player : null;
+        }
+
+        Cache<Integer, Entity> cache = this.entities.get(world);
+        if (cache == null) {
+            return null;
+        }
+
+        Entity entity = cache.getIfPresent(entityId);
+        if (entity != null && !(entity.isValid() && world.equals(entity.getWorld()))) {
+            // removed, unloaded or moved to another world since it was indexed
+            cache.invalidate(entityId);
+            return null;
+        }
+        return entity;
+    }
+
+    void put(World world, Entity entity) {
+        Preconditions.checkNotNull(entity, "entity cannot be null");
+        if (entity instanceof Player) {
+            return;
+        }
+
+        this.entities.computeIfAbsent(world, key -> CacheBuilder.newBuilder().weakValues().build())
+                .put(entity.getEntityId(), entity);
+    }
+
+    void addPlayer(Player player) {
+        this.players.put(player.getEntityId(), player);
+    }
+
+    void removePlayer(Player player) {
+        this.players.remove(player.getEntityId(), player);
+    }
+}
@@ -29,6 +29,9 @@ import com.comphenix.protocol.utility.MinecraftReflection;
 import com.comphenix.protocol.utility.MinecraftVersion;
 import com.comphenix.protocol.utility.Util;
 import com.comphenix.protocol.wrappers.WrappedIntHashMap;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.MapMaker;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
@@ -38,6 +41,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 import org.apache.commons.lang.Validate;
 import org.bukkit.World;
@@ -56,6 +60,8 @@ class EntityUtilities {
 
     private final Map<Class<?>, MethodAccessor> scanPlayersMethods = new ConcurrentHashMap<>();
     private final Map<Class<?>, FieldAccessor> trackedEntityFields = new ConcurrentHashMap<>();
+    // the chunk map keeps its tracked entities alive for as long as its world is loaded
+    private final Map<Object, Map<Integer, Object>> trackedEntityMaps = new MapMaker().weakKeys().weakValues().makeMap();
 
     private FieldAccessor chunkMapField;
     private FieldAccessor entityTrackerField;
@@ -92,6 +98,22 @@ class EntityUtilities {
     }
 
     public Entity getEntity(World world, int id) {
+        EntityIdIndex index = EntityIdIndex.getInstance();
+        if (index == null) {
+            return this.lookupEntity(world, id);
+        }
+
+        Entity entity = index.get(world, id);
+        if (entity == null) {
+            entity = this.lookupEntity(world, id);
+            if (entity != null) {
+                index.put(world, entity);
+            }
+        }
+        return entity;
+    }
+
+    private Entity lookupEntity(World world, int id) {
         // new tracker registers the entity before sending out any packets - we can use the supported getter method here
         if (NEW_TRACKER) {
             Object level = BukkitUnwrapper.getInstance().unwrapItem(world);
@@ -160,29 +182,79 @@ class EntityUtilities {
             return new ArrayList<>();
         }
 
+        // Wrap every player - we also ensure that the underlying tracker list is immutable
         List<Player> result = new ArrayList<>();
-        Collection<?> trackedPlayers = this.getTrackedPlayers(entity);
+        this.forEachTracker(entity, result::add);
+        return result;
+    }
 
-        // Wrap every player - we also ensure that the underlying tracker list is immutable
-        for (Object tracker : trackedPlayers) {
+    /**
+     * Retrieve every client that is receiving information about each of the given entities.
+     *
+     * @param entities - the entities that are being tracked.
+     * @return The clients/players tracking each entity. Entities that are invalid or not tracked are left out.
+     * @throws FieldAccessException If reflection failed.
+     */
+    public ListMultimap<Entity, Player> getEntityTrackers(Collection<? extends Entity> entities) {
+        ListMultimap<Entity, Player> result = ArrayListMultimap.create();
+
+        for (Entity entity : entities) {
+            if (entity == null || !entity.isValid()) {
+                continue;
+            }
+
+            Object trackerEntry = this.getEntityTrackerEntry(entity.getWorld(), entity.getEntityId());
+            if (trackerEntry != null) {
+                this.forEachTracker(trackerEntry, player -> result.put(entity, player));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Pass every client that is receiving information about a given entity to a consumer, without copying the
+     * underlying tracker collection.
+     * <p>
+     * The tracker collection is not thread safe, so this should be called from the main thread, and the consumer must
+     * not cause the entity to be tracked or untracked.
+     *
+     * @param entity   - the entity that is being tracked.
+     * @param consumer - the consumer of each client/player.
+     * @throws FieldAccessException If reflection failed.
+     */
+    public void forEachTracker(Entity entity, Consumer<? super Player> consumer) {
+        if (entity == null || !entity.isValid()) {
+            return;
+        }
+
+        this.forEachTracker(this.getTrackerEntry(entity), consumer);
+    }
+
+    private void forEachTracker(Object trackerEntry, Consumer<? super Player> consumer) {
+        for (Object tracker : this.getTrackedPlayers(trackerEntry)) {
             if (MinecraftVersion.CAVES_CLIFFS_1.atOrAbove() && MinecraftReflection.isServerHandler(tracker)) {
-                result.add(MinecraftReflection.getBukkitPlayerFromConnection(tracker));
+                consumer.accept(MinecraftReflection.getBukkitPlayerFromConnection(tracker));
             } else if (MinecraftReflection.isMinecraftPlayer(tracker)) {
-                result.add((Player) MinecraftReflection.getBukkitEntity(tracker));
+                consumer.accept((Player) MinecraftReflection.getBukkitEntity(tracker));
             }
         }
-
-        return result;
     }
 
     private Collection<?> getTrackedPlayers(Entity entity) {
+        return this.getTrackedPlayers(this.getTrackerEntry(entity));
+    }
+
+    private Object getTrackerEntry(Entity entity) {
         Validate.notNull(entity, "entity cannot be null");
 
         Object trackerEntry = this.getEntityTrackerEntry(entity.getWorld(), entity.getEntityId());
         if (trackerEntry == null) { //entity.toString() is too expensive to be called every time
             throw new IllegalArgumentException("Could not find entity trackers for " + entity);
         }
+        return trackerEntry;
+    }
 
+    private Collection<?> getTrackedPlayers(Object trackerEntry) {
         if (this.trackedPlayersField == null) {
             this.trackedPlayersField = Accessors.getFieldAccessor(
                     FuzzyReflection.fromObject(trackerEntry).getFieldByType("java\\.util\\..*"));
@@ -202,7 +274,6 @@ class EntityUtilities {
         }
     }
 
-    @SuppressWarnings("unchecked")
     private Object getNewEntityTracker(Object worldServer, int entityId) {
         if (Util.isUsingFolia()) {
             if (this.getEntity == null) {
@@ -223,6 +294,16 @@ class EntityUtilities {
             return this.foliaTrackerField.get(entity);
         }
 
+        Map<Integer, Object> trackedEntities = this.trackedEntityMaps.get(worldServer);
+        if (trackedEntities == null) {
+            trackedEntities = this.findTrackedEntities(worldServer);
+            this.trackedEntityMaps.put(worldServer, trackedEntities);
+        }
+        return trackedEntities.get(entityId);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Integer, Object> findTrackedEntities(Object worldServer) {
         if (this.getChunkProvider == null) {
             Class<?> chunkProviderClass = MinecraftReflection.getChunkProviderServer();
             this.getChunkProvider = Accessors.getMethodAccessor(FuzzyReflection.fromClass(worldServer.getClass(), false)
@@ -255,13 +336,12 @@ class EntityUtilities {
             }
         }
 
-        Map<Integer, Object> trackedEntities = (Map<Integer, Object>) this.trackedEntitiesField.get(playerChunkMap);
-        return trackedEntities.get(entityId);
+        // the map is final, so it can be reused for every lookup in this world
+        return (Map<Integer, Object>) this.trackedEntitiesField.get(playerChunkMap);
     }
 
     private Object getEntityTrackerEntry(World world, int entityID) {
-        BukkitUnwrapper unwrapper = new BukkitUnwrapper();
-        Object worldServer = unwrapper.unwrapItem(world);
+        Object worldServer = BukkitUnwrapper.getInstance().unwrapItem(world);
 
         if (NEW_TRACKER) {
             return this.getNewEntityTracker(worldServer, entityID);
@@ -1,11 +1,13 @@
 package com.comphenix.protocol.injector;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 
 import org.bukkit.Location;
@@ -43,11 +45,13 @@ import com.comphenix.protocol.injector.PluginVerifier.VerificationResult;
 import com.comphenix.protocol.injector.collection.InboundPacketListenerSet;
 import com.comphenix.protocol.injector.collection.OutboundPacketListenerSet;
 import com.comphenix.protocol.injector.collection.PacketListenerSet;
+import com.comphenix.protocol.injector.netty.StatusResponseCache;
 import com.comphenix.protocol.injector.netty.WirePacket;
 import com.comphenix.protocol.injector.netty.manager.NetworkManagerInjector;
 import com.comphenix.protocol.injector.packet.PacketRegistry;
 import com.comphenix.protocol.utility.MinecraftVersion;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ListMultimap;
 
 public class PacketFilterManager implements ListenerManager, InternalManager {
 
@@ -243,12 +247,14 @@ public class PacketFilterManager implements ListenerManager, InternalManager {
     @Override
     public void broadcastServerPacket(PacketContainer packet, Entity entity, boolean includeTracker) {
         if (!this.closed) {
-            Collection<Player> trackers = this.getEntityTrackers(entity);
+            // sending may run listeners that change the trackers, so only collect them while iterating
+            List<Player> trackers = new ArrayList<>();
+            this.forEachTracker(entity, trackers::add);
+            this.broadcastServerPacket(packet, trackers);
+
             if (includeTracker && entity instanceof Player) {
-                trackers.add((Player) entity);
+                this.sendServerPacket((Player) entity, packet);
             }
-
-            this.broadcastServerPacket(packet, trackers);
         }
     }
 
@@ -260,6 +266,12 @@ public class PacketFilterManager implements ListenerManager, InternalManager {
                 throw new IllegalArgumentException("The given location " + origin + " has no world associated!");
             }
 
+            PlayerSpatialIndex index = PlayerSpatialIndex.getInstance();
+            if (index != null) {
+                index.forEachNearby(origin, maxObserverDistance, player -> this.sendServerPacket(player, packet));
+                return;
+            }
+
             Location copy = origin.clone();
             int maxDistance = maxObserverDistance * maxObserverDistance;
 
@@ -387,6 +399,16 @@ public class PacketFilterManager implements ListenerManager, InternalManager {
         return EntityUtilities.getInstance().getEntityTrackers(entity);
     }
 
+    @Override
+    public ListMultimap<Entity, Player> getEntityTrackers(Collection<? extends Entity> entities) {
+        return EntityUtilities.getInstance().getEntityTrackers(entities);
+    }
+
+    @Override
+    public void forEachTracker(Entity entity, Consumer<? super Player> consumer) {
+        EntityUtilities.getInstance().forEachTracker(entity, consumer);
+    }
+
     @Override
     public Set<PacketType> getSendingFilterTypes() {
         return Collections.unmodifiableSet(this.outboundListeners.getPacketTypes());
@@ -439,11 +461,21 @@ public class PacketFilterManager implements ListenerManager, InternalManager {
                 @EventHandler(priority = EventPriority.LOWEST)
                 public void handleJoin(PlayerJoinEvent event) {
                 	networkManagerInjector.getInjector(event.getPlayer()).inject();
+
+                    EntityIdIndex index = EntityIdIndex.getInstance();
+                    if (index != null) {
+                        index.addPlayer(event.getPlayer());
+                    }
                 }
 
                 @EventHandler(priority = EventPriority.MONITOR)
                 public void handleQuit(PlayerQuitEvent event) {
                     PacketFilterManager.this.asyncFilterManager.removePlayer(event.getPlayer());
+
+                    EntityIdIndex index = EntityIdIndex.getInstance();
+                    if (index != null) {
+                        index.removePlayer(event.getPlayer());
+                    }
                 }
 
                 @EventHandler(priority = EventPriority.MONITOR)
@@ -475,6 +507,9 @@ public class PacketFilterManager implements ListenerManager, InternalManager {
             // cleanup
             this.registeredListeners.clear();
             this.asyncFilterManager.cleanupAll();
+            EntityIdIndex.disable();
+            PlayerSpatialIndex.disable();
+            StatusResponseCache.disable();
         }
     }
 
@@ -0,0 +1,357 @@
+package com.comphenix.protocol.injector;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import com.comphenix.protocol.ProtocolLibrary;
+import com.google.common.base.Preconditions;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerRespawnEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
+import org.bukkit.event.vehicle.VehicleMoveEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+
+/**
+ * An opt-in index of the online players in each world, bucketed by chunk, which lets
+ * {@link com.comphenix.protocol.ProtocolManager#broadcastServerPacket(com.comphenix.protocol.events.PacketContainer, Location, int)}
+ * only look at the players in the chunks around the origin.
+ * <p>
+ * Player positions are updated from move, teleport, vehicle, respawn and world change events, so radius queries
+ * neither read nor allocate player locations. Queries may be made from any thread, and are allocation free once the
+ * buffer of the querying thread is large enough.
+ */
+public final class PlayerSpatialIndex implements Listener {
+
+    private static volatile PlayerSpatialIndex instance;
+
+    // the players found by the current query of each thread, passed to the consumer outside the lock
+    private static final ThreadLocal<Player[]> RESULTS = ThreadLocal.withInitial(() -> new Player[16]);
+
+    private final Map<World, WorldIndex> worlds = new ConcurrentHashMap<>();
+    private final Map<Player, WorldIndex> playerWorlds = new ConcurrentHashMap<>();
+
+    PlayerSpatialIndex() {
+    }
+
+    /**
+     * Enable the spatial index, if it is not already enabled. This must be called from the main thread.
+     */
+    public static synchronized void enable() {
+        if (instance == null) {
+            PlayerSpatialIndex index = new PlayerSpatialIndex();
+            for (Player player : Bukkit.getOnlinePlayers()) {
+                index.update(player, player.getLocation());
+            }
+
+            Bukkit.getPluginManager().registerEvents(index, ProtocolLibrary.getPlugin());
+            instance = index;
+        }
+    }
+
+    /**
+     * Disable the spatial index, and discard every indexed player.
+     */
+    public static synchronized void disable() {
+        if (instance != null) {
+            HandlerList.unregisterAll(instance);
+            instance = null;
+        }
+    }
+
+    /**
+     * Retrieve the current spatial index.
+     *
+     * @return The index, or NULL if it is disabled.
+     */
+    public static PlayerSpatialIndex getInstance() {
+        return instance;
+    }
+
+    /**
+     * Pass every player within the given distance of the origin to a consumer. The consumer is called outside the
+     * index, so it may take its time.
+     *
+     * @param origin      - the origin, which must have a world.
+     * @param maxDistance - the maximum distance to the origin.
+     * @param consumer    - the consumer of each player.
+     */
+    public void forEachNearby(Location origin, double maxDistance, Consumer<? super Player> consumer) {
+        Preconditions.checkNotNull(origin.getWorld(), "origin has no world");
+        Preconditions.checkNotNull(consumer, "consumer cannot be null");
+
+        WorldIndex index = this.worlds.get(origin.getWorld());
+        if (index == null) {
+            return;
+        }
+
+        // the buffer is taken while in use, so a consumer may query again
+        Player[] results = RESULTS.get();
+        RESULTS.set(null);
+
+        int count = 0;
+        try {
+            synchronized (index) {
+                if (results == null || results.length < index.size) {
+                    results = new Player[Integer.highestOneBit(Math.max(index.size, 8)) << 1];
+                }
+                count = index.collect(origin.getX(), origin.getY(), origin.getZ(), maxDistance, results);
+            }
+
+            for (int i = 0; i < count; i++) {
+                consumer.accept(results[i]);
+            }
+        } finally {
+            if (results != null) {
+                Arrays.fill(results, 0, count, null);
+                RESULTS.set(results);
+            }
+        }
+    }
+
+    void update(Player player, Location location) {
+        World world = location.getWorld();
+        if (world == null) {
+            return;
+        }
+
+        WorldIndex index = this.worlds.computeIfAbsent(world, key -> new WorldIndex());
+        WorldIndex previous = this.playerWorlds.put(player, index);
+
+        if (previous != null && previous != index) {
+            synchronized (previous) {
+                previous.remove(player);
+            }
+        }
+        synchronized (index) {
+            index.update(player, location.getX(), location.getY(), location.getZ());
+        }
+    }
+
+    void remove(Player player) {
+        WorldIndex index = this.playerWorlds.remove(player);
+        if (index != null) {
+            synchronized (index) {
+                index.remove(player);
+            }
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent event) {
+        this.update(event.getPlayer(), event.getPlayer().getLocation());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        this.remove(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onMove(PlayerMoveEvent event) {
+        if (event.getTo() != null) {
+            this.update(event.getPlayer(), event.getTo());
+        }
+    }
+
+    // teleports extend move events, but have their own handler list
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onTeleport(PlayerTeleportEvent event) {
+        if (event.getTo() != null) {
+            this.update(event.getPlayer(), event.getTo());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onVehicleMove(VehicleMoveEvent event) {
+        // passengers do not fire move events
+        for (Entity passenger : event.getVehicle().getPassengers()) {
+            if (passenger instanceof Player) {
+                this.update((Player) passenger, event.getTo());
+            }
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onRespawn(PlayerRespawnEvent event) {
+        this.update(event.getPlayer(), event.getRespawnLocation());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChangedWorld(PlayerChangedWorldEvent event) {
+        this.update(event.getPlayer(), event.getPlayer().getLocation());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onWorldUnload(WorldUnloadEvent event) {
+        this.worlds.remove(event.getWorld());
+    }
+
+    /**
+     * The players of a single world. Players are stored in parallel arrays, and every slot is linked into the bucket
+     * of its chunk. Chunks may share a bucket, so the chunk of each slot is checked as well.
+     */
+    static final class WorldIndex {
+
+        private static final int BUCKETS = 1024;
+        private static final int NONE = -1;
+
+        private final int[] heads = new int[BUCKETS];
+        private final Map<Player, Integer> slots = new HashMap<>();
+
+        private Player[] players = new Player[16];
+        private double[] positions = new double[16 * 3];
+        private int[] chunks = new int[16 * 2];
+        private int[] next = new int[16];
+        private int[] previous = new int[16];
+        private int size;
+
+        WorldIndex() {
+            Arrays.fill(this.heads, NONE);
+        }
+
+        int size() {
+            return this.size;
+        }
+
+        void update(Player player, double x, double y, double z) {
+            Integer existing = this.slots.get(player);
+            int slot;
+
+            if (existing == null) {
+                slot = this.size++;
+                this.ensureCapacity(this.size);
+                this.slots.put(player, slot);
+                this.players[slot] = player;
+            } else {
+                slot = existing;
+                this.unlink(slot);
+            }
+
+            this.positions[slot * 3] = x;
+            this.positions[slot * 3 + 1] = y;
+            this.positions[slot * 3 + 2] = z;
+            this.chunks[slot * 2] = (int) Math.floor(x) >> 4;
+            this.chunks[slot * 2 + 1] = (int) Math.floor(z) >> 4;
+            this.link(slot);
+        }
+
+        void remove(Player player) {
+            Integer removed = this.slots.remove(player);
+            if (removed == null) {
+                return;
+            }
+
+            int slot = removed;
+            int last = --this.size;
+            this.unlink(slot);
+
+            // move the last slot into the gap
+            if (slot != last) {
+                this.unlink(last);
+                this.players[slot] = this.players[last];
+                System.arraycopy(this.positions, last * 3, this.positions, slot * 3, 3);
+                System.arraycopy(this.chunks, last * 2, this.chunks, slot * 2, 2);
+                this.link(slot);
+                this.slots.put(this.players[slot], slot);
+            }
+            this.players[last] = null;
+        }
+
+        int collect(double x, double y, double z, double maxDistance, Player[] results) {
+            double maxDistanceSquared = maxDistance * maxDistance;
+            int minChunkX = (int) Math.floor(x - maxDistance) >> 4;
+            int maxChunkX = (int) Math.floor(x + maxDistance) >> 4;
+            int minChunkZ = (int) Math.floor(z - maxDistance) >> 4;
+            int maxChunkZ = (int) Math.floor(z + maxDistance) >> 4;
+
+            int count = 0;
+            long chunkCount = (long) (maxChunkX - minChunkX + 1) * (maxChunkZ - minChunkZ + 1);
+
+            // large radii cover more chunks than there are players
+            if (chunkCount > this.size) {
+                for (int slot = 0; slot < this.size; slot++) {
+                    if (this.distanceSquared(slot, x, y, z) <= maxDistanceSquared) {
+                        results[count++] = this.players[slot];
+                    }
+                }
+                return count;
+            }
+
+            for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+                for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                    for (int slot = this.heads[bucket(chunkX, chunkZ)]; slot != NONE; slot = this.next[slot]) {
+                        if (this.chunks[slot * 2] == chunkX && this.chunks[slot * 2 + 1] == chunkZ
+                                && this.distanceSquared(slot, x, y, z) <= maxDistanceSquared) {
+                            results[count++] = this.players[slot];
+                        }
+                    }
+                }
+            }
+            return count;
+        }
+
+        private double distanceSquared(int slot, double x, double y, double z) {
+            double dx = this.positions[slot * 3] - x;
+            double dy = this.positions[slot * 3 + 1] - y;
+            double dz = this.positions[slot * 3 + 2] - z;
+            return dx * dx + dy * dy + dz * dz;
+        }
+
+        private void link(int slot) {
+            int bucket = bucket(this.chunks[slot * 2], this.chunks[slot * 2 + 1]);
+            int head = this.heads[bucket];
+
+            this.previous[slot] = NONE;
+            this.next[slot] = head;
+            if (head != NONE) {
+                this.previous[head] = slot;
+            }
+            this.heads[bucket] = slot;
+        }
+
+        private void unlink(int slot) {
+            int before = this.previous[slot];
+            int after = this.next[slot];
+
+            if (before != NONE) {
+                this.next[before] = after;
+            } else {
+                this.heads[bucket(this.chunks[slot * 2], this.chunks[slot * 2 + 1])] = after;
+            }
+            if (after != NONE) {
+                this.previous[after] = before;
+            }
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > this.players.length) {
+                int length = this.players.length * 2;
+                this.players = Arrays.copyOf(this.players, length);
+                this.positions = Arrays.copyOf(this.positions, length * 3);
+                this.chunks = Arrays.copyOf(this.chunks, length * 2);
+                this.next = Arrays.copyOf(this.next, length);
+                this.previous = Arrays.copyOf(this.previous, length);
+            }
+        }
+
+        private static int bucket(int chunkX, int chunkZ) {
+            int hash = chunkX * 31 + chunkZ;
+            return (hash ^ (hash >>> 16)) & (BUCKETS - 1);
+        }
+    }
+}
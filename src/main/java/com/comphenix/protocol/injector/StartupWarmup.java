@@ -0,0 +1,331 @@
+package com.comphenix.protocol.injector;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import com.comphenix.protocol.PacketType;
+import com.comphenix.protocol.ProtocolLogger;
+import com.comphenix.protocol.injector.netty.channel.InjectionFactory;
+import com.comphenix.protocol.injector.netty.channel.NettyChannelInjector;
+import com.comphenix.protocol.injector.netty.channel.PacketListenerInvoker;
+import com.comphenix.protocol.injector.packet.PacketRegistry;
+import com.comphenix.protocol.utility.MinecraftMethods;
+import com.comphenix.protocol.utility.MinecraftReflection;
+import com.comphenix.protocol.utility.MinecraftVersion;
+import com.comphenix.protocol.wrappers.BukkitConverters;
+import com.comphenix.protocol.wrappers.EnumWrappers;
+import com.comphenix.protocol.wrappers.WrappedChatComponent;
+import com.comphenix.protocol.wrappers.WrappedDataWatcher;
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Eagerly initializes the lazily computed reflection state of ProtocolLib on a bounded thread pool.
+ * <p>
+ * Most registries and wrappers resolve their Minecraft classes, fields and methods on first use, which usually is the
+ * first packet of the first player on a netty thread. Components registered here are instead initialized during
+ * startup, each one only after all of its dependencies completed. Components without a dependency between them run in
+ * parallel. A failing component is logged in debug mode and simply left to initialize lazily, as it did before.
+ * <p>
+ * Classes with circular static initializers must be initialized by a single thread, or two threads may deadlock
+ * waiting for each other. Such classes are registered with {@link #registerOnCaller(String, Runnable, String...)}, so
+ * they are initialized by the thread that starts the warmup before any pool thread can touch them.
+ */
+public class StartupWarmup {
+
+    /**
+     * The default upper limit of threads used to initialize components.
+     */
+    public static final int DEFAULT_PARALLELISM = 4;
+
+    private final ExecutorService executor;
+    private final CompletableFuture<Void> trigger = new CompletableFuture<>();
+    private final Map<String, CompletableFuture<Void>> components = new LinkedHashMap<>();
+    private final Map<String, Long> timings = new ConcurrentHashMap<>();
+    private final Set<String> callerComponents = new HashSet<>();
+
+    private CompletableFuture<Void> completion;
+
+    /**
+     * Construct a new warmup that will use at most the given number of threads.
+     *
+     * @param parallelism - the maximum number of threads.
+     */
+    public StartupWarmup(int parallelism) {
+        Preconditions.checkArgument(parallelism > 0, "parallelism must be positive");
+        this.executor = Executors.newFixedThreadPool(parallelism, new ThreadFactoryBuilder()
+                .setNameFormat("ProtocolLib Warmup #%d")
+                .setDaemon(true)
+                .build());
+    }
+
+    /**
+     * Create a warmup containing every registry, wrapper and injector that ProtocolLib initializes lazily.
+     * <p>
+     * The converters and registries that reference each other are initialized as a chain on the thread that starts the
+     * warmup, which prevents two threads from deadlocking in a circular static initializer. Everything that only builds
+     * on top of them is parallel.
+     *
+     * @return The new warmup, not yet started.
+     */
+    public static StartupWarmup createDefault() {
+        int processors = Runtime.getRuntime().availableProcessors();
+        StartupWarmup warmup = new StartupWarmup(Math.max(1, Math.min(DEFAULT_PARALLELISM, processors - 1)));
+
+        warmup.registerOnCaller("MinecraftReflection", () -> {
+            MinecraftReflection.getPacketClass();
+            MinecraftReflection.getPacketDataSerializerClass();
+            MinecraftReflection.getNetworkManagerClass();
+            MinecraftReflection.getPlayerConnectionClass();
+            MinecraftReflection.getServerConnectionClass();
+            MinecraftReflection.getIChatBaseComponentClass();
+            MinecraftReflection.getNBTCompoundClass();
+            MinecraftReflection.getItemStackClass();
+            MinecraftReflection.getCraftItemStackClass();
+            MinecraftReflection.getDataWatcherClass();
+            MinecraftReflection.getEntityClass();
+        });
+        warmup.registerOnCaller("PacketRegistry", () -> {
+            PacketRegistry.getClientPacketTypes();
+            PacketRegistry.getServerPacketTypes();
+        }, "MinecraftReflection");
+        warmup.registerOnCaller("EnumWrappers", EnumWrappers::getProtocolClass, "PacketRegistry");
+        warmup.registerOnCaller("BukkitConverters", () -> {
+            // chat components are needed by both the structure cache and the injectors
+            initializeClass(BukkitConverters.class);
+            initializeClass(WrappedChatComponent.class);
+        }, "EnumWrappers");
+
+        warmup.register("WrappedDataWatcher.Registry", () -> WrappedDataWatcher.Registry.get(Byte.class), "BukkitConverters");
+        warmup.register("MinecraftMethods", () -> {
+            MinecraftMethods.getNetworkManagerSendMethod();
+            MinecraftMethods.getFriendlyBufBufConstructor();
+            if (!MinecraftVersion.v1_20_5.atOrAbove()) {
+                MinecraftMethods.getPacketWriteByteBufMethod();
+            }
+        }, "BukkitConverters");
+        warmup.register("Injectors", () -> {
+            PacketListenerInvoker.ensureStaticInitializedWithoutError();
+            initializeClass(NettyChannelInjector.class);
+            initializeClass(InjectionFactory.class);
+        }, "BukkitConverters");
+        warmup.registerEach("StructureCache", StartupWarmup::getSupportedPacketTypes, StructureCache::getStructure,
+                "BukkitConverters");
+
+        return warmup;
+    }
+
+    private static Collection<PacketType> getSupportedPacketTypes() {
+        List<PacketType> types = new ArrayList<>(PacketRegistry.getServerPacketTypes());
+        types.addAll(PacketRegistry.getClientPacketTypes());
+        return types;
+    }
+
+    private static void initializeClass(Class<?> clazz) {
+        try {
+            Class.forName(clazz.getName(), true, clazz.getClassLoader());
+        } catch (ClassNotFoundException ex) {
+            throw new IllegalStateException("Unable to initialize " + clazz, ex);
+        }
+    }
+
+    /**
+     * Register a component that should be initialized.
+     *
+     * @param name         - the unique name of the component.
+     * @param initializer  - the action that initializes the component.
+     * @param dependencies - the names of the previously registered components that must be initialized first.
+     * @return This warmup, for chaining.
+     */
+    public StartupWarmup register(String name, Runnable initializer, String... dependencies) {
+        Preconditions.checkNotNull(initializer, "initializer cannot be null");
+
+        CompletableFuture<Void> component = this.dependenciesOf(name, dependencies)
+                .thenRunAsync(() -> {
+                    long startTime = System.nanoTime();
+                    initializer.run();
+                    this.timings.put(name, System.nanoTime() - startTime);
+                }, this.executor);
+
+        this.components.put(name, this.reportFailure(name, component));
+        return this;
+    }
+
+    /**
+     * Register a component that is initialized by the thread calling {@link #start()}, before {@link #start()} returns.
+     *
+     * @param name         - the unique name of the component.
+     * @param initializer  - the action that initializes the component.
+     * @param dependencies - the names of the previously registered caller components that must be initialized first.
+     * @return This warmup, for chaining.
+     */
+    public StartupWarmup registerOnCaller(String name, Runnable initializer, String... dependencies) {
+        Preconditions.checkNotNull(initializer, "initializer cannot be null");
+        for (String dependency : dependencies) {
+            // a pool component would complete on a pool thread, and run this one there as well
+            Preconditions.checkArgument(this.callerComponents.contains(dependency),
+                    "Dependency %s of %s must be initialized on the caller", dependency, name);
+        }
+
+        // dependencies complete synchronously within start(), so this runs on the calling thread
+        CompletableFuture<Void> component = this.dependenciesOf(name, dependencies)
+                .thenRun(() -> {
+                    long startTime = System.nanoTime();
+                    initializer.run();
+                    this.timings.put(name, System.nanoTime() - startTime);
+                });
+
+        this.callerComponents.add(name);
+        this.components.put(name, this.reportFailure(name, component));
+        return this;
+    }
+
+    /**
+     * Register a component that consists of many independent elements, each initialized as a separate task.
+     * <p>
+     * A failing element does not fail the component. The reported time is the sum of all element initializations.
+     *
+     * @param name         - the unique name of the component.
+     * @param elements     - supplies the elements once the dependencies are initialized.
+     * @param initializer  - the action that initializes a single element.
+     * @param dependencies - the names of the previously registered components that must be initialized first.
+     * @param <T>          - the element type.
+     * @return This warmup, for chaining.
+     */
+    public <T> StartupWarmup registerEach(String name, Supplier<? extends Collection<T>> elements,
+            Consumer<? super T> initializer, String... dependencies) {
+        Preconditions.checkNotNull(elements, "elements cannot be null");
+        Preconditions.checkNotNull(initializer, "initializer cannot be null");
+
+        AtomicLong totalTime = new AtomicLong();
+        CompletableFuture<Void> component = this.dependenciesOf(name, dependencies)
+                .thenComposeAsync(ignored -> {
+                    List<CompletableFuture<Void>> tasks = new ArrayList<>();
+                    for (T element : elements.get()) {
+                        tasks.add(CompletableFuture.runAsync(() -> {
+                            long startTime = System.nanoTime();
+                            try {
+                                initializer.accept(element);
+                            } catch (Exception ex) {
+                                ProtocolLogger.debug("Unable to warm up " + element + " of " + name, ex);
+                            } finally {
+                                totalTime.addAndGet(System.nanoTime() - startTime);
+                            }
+                        }, this.executor));
+                    }
+                    return CompletableFuture.allOf(tasks.toArray(new CompletableFuture[0]));
+                }, this.executor)
+                .thenRun(() -> this.timings.put(name, totalTime.get()));
+
+        this.components.put(name, this.reportFailure(name, component));
+        return this;
+    }
+
+    private CompletableFuture<Void> dependenciesOf(String name, String... dependencies) {
+        Preconditions.checkNotNull(name, "name cannot be null");
+        Preconditions.checkState(this.completion == null, "Cannot register components after the warmup started");
+        Preconditions.checkArgument(!this.components.containsKey(name), "Component %s is already registered", name);
+
+        if (dependencies.length == 0) {
+            return this.trigger;
+        }
+
+        CompletableFuture<?>[] futures = new CompletableFuture[dependencies.length];
+        for (int i = 0; i < dependencies.length; i++) {
+            futures[i] = this.components.get(dependencies[i]);
+            Preconditions.checkArgument(futures[i] != null, "Unknown dependency %s of %s", dependencies[i], name);
+        }
+
+        // dependents of a failed component are skipped, they will fail the same way when initialized lazily
+        return CompletableFuture.allOf(futures);
+    }
+
+    private CompletableFuture<Void> reportFailure(String name, CompletableFuture<Void> component) {
+        return component.whenComplete((ignored, error) -> {
+            if (error != null) {
+                ProtocolLogger.debug("Unable to warm up " + name, error);
+            }
+        });
+    }
+
+    /**
+     * Begin initializing every registered component in the background.
+     *
+     * @return This warmup, for chaining.
+     */
+    public synchronized StartupWarmup start() {
+        if (this.completion == null) {
+            this.completion = CompletableFuture.allOf(this.components.values().toArray(new CompletableFuture[0]));
+            this.completion.whenComplete((ignored, error) -> this.executor.shutdown());
+            this.trigger.complete(null);
+        }
+        return this;
+    }
+
+    /**
+     * Retrieve a future that completes once every component has been initialized or failed.
+     *
+     * @return The future.
+     * @throws IllegalStateException If the warmup has not been started.
+     */
+    public synchronized CompletableFuture<Void> getCompletion() {
+        Preconditions.checkState(this.completion != null, "The warmup has not been started");
+        return this.completion;
+    }
+
+    /**
+     * Wait until every component has been initialized, or the timeout expired.
+     * <p>
+     * Components that are still running when the timeout expires continue in the background.
+     *
+     * @param timeout - the maximum time to wait.
+     * @param unit    - the unit of the timeout.
+     * @return TRUE if the warmup completed in time, FALSE otherwise.
+     */
+    public boolean await(long timeout, TimeUnit unit) {
+        this.start();
+
+        try {
+            this.completion.get(timeout, unit);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (TimeoutException ex) {
+            return false;
+        } catch (Exception ignored) {
+            // failures are reported per component
+        }
+        return true;
+    }
+
+    /**
+     * Retrieve the time it took to initialize each successfully initialized component so far.
+     *
+     * @return The initialization time in nanoseconds, by component name, in registration order.
+     */
+    public Map<String, Long> getTimings() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (String name : this.components.keySet()) {
+            Long time = this.timings.get(name);
+            if (time != null) {
+                result.put(name, time);
+            }
+        }
+        return Collections.unmodifiableMap(result);
+    }
+}
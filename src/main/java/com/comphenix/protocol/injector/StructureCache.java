@@ -28,6 +28,7 @@ import java.util.function.Function;
 import java.util.function.Supplier;
 
 import com.comphenix.protocol.PacketType;
+import com.comphenix.protocol.ProtocolLogger;
 import com.comphenix.protocol.injector.packet.KnownPacketData;
 import com.comphenix.protocol.injector.packet.PacketRegistry;
 import com.comphenix.protocol.reflect.FuzzyReflection;
@@ -35,6 +36,16 @@ import com.comphenix.protocol.reflect.StructureModifier;
 import com.comphenix.protocol.reflect.accessors.Accessors;
 import com.comphenix.protocol.reflect.accessors.ConstructorAccessor;
 import com.comphenix.protocol.reflect.accessors.FieldAccessor;
+import com.comphenix.protocol.reflect.cloning.AggregateCloner;
+import com.comphenix.protocol.reflect.cloning.BukkitCloner;
+import com.comphenix.protocol.reflect.cloning.Cloner;
+import com.comphenix.protocol.reflect.cloning.CollectionCloner;
+import com.comphenix.protocol.reflect.cloning.FieldCloner;
+import com.comphenix.protocol.reflect.cloning.GuavaOptionalCloner;
+import com.comphenix.protocol.reflect.cloning.ImmutableDetector;
+import com.comphenix.protocol.reflect.cloning.JavaOptionalCloner;
+import com.comphenix.protocol.reflect.cloning.NullableCloner;
+import com.comphenix.protocol.reflect.cloning.PrototypeFactory;
 import com.comphenix.protocol.reflect.fuzzy.FuzzyFieldContract;
 import com.comphenix.protocol.reflect.fuzzy.FuzzyMethodContract;
 import com.comphenix.protocol.reflect.instances.DefaultInstances;
@@ -97,6 +108,65 @@ public class StructureCache {
         return creator.get().get();
     }
 
+    /**
+     * Creates an instance of the given class whose fields are about to be overwritten, such as by a cloner.
+     * <p>
+     * Packets that are created from a prototype are allocated without copying the prototype, every other class is
+     * created the same way as by {@link #newInstance(Class)}.
+     *
+     * @param clazz - the class to create.
+     * @return The new instance.
+     */
+    public static Object newBlankInstance(Class<?> clazz) {
+        Optional<Supplier<Object>> creator = CACHED_INSTANCE_CREATORS.computeIfAbsent(clazz, x ->
+            Optional.ofNullable(determineBestCreator(clazz)));
+        if (creator.isPresent() && creator.get() instanceof PrototypeFactory) {
+            return PrototypeFactory.allocateInstance(clazz);
+        }
+        return newInstance(clazz);
+    }
+
+    /**
+     * Copies a prototype packet created by the given creator for every new instance, if the packet can be allocated.
+     * <p>
+     * Decoding a packet from a fake serializer or walking its constructors is much more expensive than copying the
+     * fields of an existing instance. The prototype is copied once up front, and the given creator is kept if that fails.
+     */
+    private static Supplier<Object> prototypeOf(Class<?> clazz, Supplier<Object> creator) {
+        if (!MinecraftReflection.isPacketClass(clazz) || !PrototypeFactory.isSupported()) {
+            return creator;
+        }
+
+        try {
+            Object prototype = creator.get();
+            if (prototype != null && prototype.getClass() == clazz) {
+                // some packets, such as the boss bar packet, can't be copied field by field
+                PrototypeFactory factory = PrototypeFactory.fromPrototype(prototype, PrototypeFieldCloner.INSTANCE);
+                Object copy = factory.get();
+                if (copy != null && copy.getClass() == clazz) {
+                    return factory;
+                }
+            }
+        } catch (Exception ex) {
+            ProtocolLogger.debug("Unable to create a prototype of " + clazz, ex);
+        }
+        return creator;
+    }
+
+    // the cloner is only initialized once the first prototype is created
+    private static final class PrototypeFieldCloner {
+
+        static final Cloner INSTANCE = new NullableCloner(AggregateCloner.newBuilder()
+            .instanceProvider(StructureCache::newInstance)
+            .andThen(BukkitCloner.class)
+            .andThen(ImmutableDetector.class)
+            .andThen(JavaOptionalCloner.class)
+            .andThen(GuavaOptionalCloner.class)
+            .andThen(CollectionCloner.class)
+            .andThen(FieldCloner.class)
+            .build());
+    }
+
     static Supplier<Object> determineBestCreator(Class<?> clazz) {
         // certain packets are singletons which can't really be created
         if (MinecraftReflection.isPacketClass(clazz)) {
@@ -134,7 +204,7 @@ public class StructureCache {
                 streamCodec.decode(serializer); // throwaway instance, for testing
 
                 // method is working
-                return () -> streamCodec.decode(serializer);
+                return prototypeOf(clazz, () -> streamCodec.decode(serializer));
             } catch (Exception ex) {
                 try {
                     byte[] data;
@@ -149,10 +219,10 @@ public class StructureCache {
                     Object serializer = TRICKED_DATA_SERIALIZER_BASE.apply(Unpooled.copiedBuffer(data));
                     streamCodec.decode(serializer);
 
-                    return () -> {
+                    return prototypeOf(clazz, () -> {
                         ((ByteBuf) serializer).readerIndex(0);
                         return streamCodec.decode(serializer);
-                    };
+                    });
                 } catch (Exception ignored1) {
                     try {
                         // try with the json accessor
@@ -160,7 +230,7 @@ public class StructureCache {
                         streamCodec.decode(serializer); // throwaway instance, for testing
 
                         // method is working
-                        return () -> streamCodec.decode(serializer);
+                        return prototypeOf(clazz, () -> streamCodec.decode(serializer));
                     } catch (Exception ignored2) {
                         // shrug, fall back to default behaviour
                     }
@@ -182,7 +252,7 @@ public class StructureCache {
                         serializerAccessor.invoke(serializer); // throwaway instance, for testing
 
                         // method is working
-                        return () -> serializerAccessor.invoke(serializer);
+                        return prototypeOf(clazz, () -> serializerAccessor.invoke(serializer));
                     } catch (Exception ignored) {
                         try {
                             // try with the json accessor
@@ -190,7 +260,7 @@ public class StructureCache {
                             serializerAccessor.invoke(serializer); // throwaway instance, for testing
 
                             // method is working
-                            return () -> serializerAccessor.invoke(serializer);
+                            return prototypeOf(clazz, () -> serializerAccessor.invoke(serializer));
                         } catch (Exception ignored1) {
                             // shrug, fall back to default behaviour
                         }
@@ -204,7 +274,7 @@ public class StructureCache {
             return null;
         }
 
-        return () -> DefaultInstances.DEFAULT.create(clazz);
+        return prototypeOf(clazz, () -> DefaultInstances.DEFAULT.create(clazz));
     }
 
     /**
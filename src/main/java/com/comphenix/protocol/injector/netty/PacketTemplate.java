@@ -0,0 +1,375 @@
+package com.comphenix.protocol.injector.netty;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import com.comphenix.protocol.PacketType;
+import com.comphenix.protocol.events.PacketContainer;
+import com.comphenix.protocol.reflect.StructureModifier;
+import com.google.common.base.Preconditions;
+import com.google.common.primitives.Primitives;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.util.ReferenceCountUtil;
+
+/**
+ * A packet that is serialized once, and then written with different values for a few of its fields.
+ * <p>
+ * The offset of each chosen field in the serialized packet is found while building the template, by serializing the
+ * packet with two different probe values in that field. Afterwards packets are written by copying the serialized bytes
+ * and putting the new values at these offsets, without constructing or encoding a Minecraft packet at all. Fields
+ * encoded as VarInt may change the length of the packet, which moves every byte behind them.
+ * <p>
+ * Only fields that are written to the wire exactly as they are stored in the packet can be used. Fields that are scaled,
+ * compressed or otherwise derived from another value are rejected when the template is built.
+ */
+public final class PacketTemplate {
+
+    private final int id;
+    private final byte[] bytes;
+
+    // sorted by their offset
+    private final Slot[] slots;
+    private final int[] slotOrder;
+
+    private PacketTemplate(int id, byte[] bytes, List<Slot> slots) {
+        this.id = id;
+        this.bytes = bytes;
+        this.slots = slots.toArray(new Slot[0]);
+        this.slotOrder = new int[this.slots.length];
+
+        // remember which argument belongs to which slot
+        Integer[] order = new Integer[this.slots.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (first, second) -> Integer.compare(this.slots[first].offset, this.slots[second].offset));
+        int end = 0;
+        for (int i = 0; i < order.length; i++) {
+            Slot slot = this.slots[order[i]];
+            Preconditions.checkArgument(slot.offset >= end, "Slot %s overlaps with another slot", order[i]);
+
+            this.slotOrder[i] = order[i];
+            end = slot.offset + slot.width;
+        }
+    }
+
+    /**
+     * Begin building a template of the given packet. The packet itself is not modified.
+     *
+     * @param packet - the packet, with every field that is not part of a slot set to its final value.
+     * @return A new builder.
+     */
+    public static Builder newBuilder(PacketContainer packet) {
+        return new Builder(packet);
+    }
+
+    /**
+     * Retrieve the number of values every written packet expects.
+     *
+     * @return The number of slots.
+     */
+    public int getSlotCount() {
+        return this.slots.length;
+    }
+
+    /**
+     * Retrieve the ID of the packet that is written.
+     *
+     * @return The packet ID.
+     */
+    public int getId() {
+        return this.id;
+    }
+
+    /**
+     * Create a wire packet with the given values in the slots of this template.
+     *
+     * @param values - the values, in the order the slots were added.
+     * @return The wire packet.
+     */
+    public WirePacket toWirePacket(Number... values) {
+        this.checkValues(values);
+
+        // compute the exact size up front, so the bytes are copied only once
+        int size = this.bytes.length;
+        for (int i = 0; i < this.slots.length; i++) {
+            size += this.slots[i].encoding.getSize(values[i]) - this.slots[i].width;
+        }
+
+        ByteBuf output = Unpooled.wrappedBuffer(new byte[size]);
+        output.writerIndex(0);
+        this.writeSlots(output, values);
+        return new WirePacket(this.id, output.array());
+    }
+
+    /**
+     * Write the contents of a packet with the given values in the slots of this template, without its ID.
+     *
+     * @param output - the output, such as a pooled buffer.
+     * @param values - the values, in the order the slots were added.
+     */
+    public void writeBytes(ByteBuf output, Number... values) {
+        Preconditions.checkNotNull(output, "output cannot be null");
+        this.checkValues(values);
+        this.writeSlots(output, values);
+    }
+
+    /**
+     * Write the ID and contents of a packet with the given values in the slots of this template.
+     *
+     * @param output - the output, such as a pooled buffer.
+     * @param values - the values, in the order the slots were added.
+     */
+    public void writeFully(ByteBuf output, Number... values) {
+        Preconditions.checkNotNull(output, "output cannot be null");
+        this.checkValues(values);
+        WirePacket.writeVarInt(output, this.id);
+        this.writeSlots(output, values);
+    }
+
+    private void checkValues(Number[] values) {
+        Preconditions.checkNotNull(values, "values cannot be null");
+        Preconditions.checkArgument(values.length == this.slots.length,
+                "Expected %s values, got %s", this.slots.length, values.length);
+    }
+
+    private void writeSlots(ByteBuf output, Number[] values) {
+        int position = 0;
+        for (int index : this.slotOrder) {
+            Slot slot = this.slots[index];
+            output.writeBytes(this.bytes, position, slot.offset - position);
+            slot.encoding.write(output, Preconditions.checkNotNull(values[index], "value cannot be null"));
+            position = slot.offset + slot.width;
+        }
+        output.writeBytes(this.bytes, position, this.bytes.length - position);
+    }
+
+    @Override
+    public String toString() {
+        return "PacketTemplate[id=" + this.id + ", size=" + this.bytes.length + ", slots=" + Arrays.toString(this.slots) + "]";
+    }
+
+    /**
+     * The ways a value of a slot can be encoded on the wire.
+     */
+    public enum Encoding {
+        BYTE(1, 0x5AL, 0xA5L),
+        SHORT(2, 0x5A5AL, 0xA5A5L),
+        INT(4, 0x5A5A5A5AL, 0xA5A5A5A5L),
+        LONG(8, 0x5A5A5A5A5A5A5A5AL, 0xA5A5A5A5A5A5A5A5L),
+        FLOAT(4, 0x5A5A5A5AL, 0xA5A5A5A5L),
+        DOUBLE(8, 0x5A5A5A5A5A5A5A5AL, 0xA5A5A5A5A5A5A5A5L),
+        // negative values always use all five bytes, and no byte of these two is the same
+        VAR_INT(5, 0xFFFFFFFFL, 0x80000000L);
+
+        private final int probeWidth;
+        private final long firstProbe;
+        private final long secondProbe;
+
+        Encoding(int probeWidth, long firstProbe, long secondProbe) {
+            this.probeWidth = probeWidth;
+            this.firstProbe = firstProbe;
+            this.secondProbe = secondProbe;
+        }
+
+        private Number getProbe(boolean second) {
+            long bits = second ? this.secondProbe : this.firstProbe;
+            switch (this) {
+                case BYTE:
+                    return (byte) bits;
+                case SHORT:
+                    return (short) bits;
+                case FLOAT:
+                    return Float.intBitsToFloat((int) bits);
+                case DOUBLE:
+                    return Double.longBitsToDouble(bits);
+                case LONG:
+                    return bits;
+                default:
+                    return (int) bits;
+            }
+        }
+
+        private int getSize(Number value) {
+            if (this != VAR_INT) {
+                return this.probeWidth;
+            }
+
+            int size = 1;
+            for (int remaining = value.intValue(); (remaining & ~0x7F) != 0; remaining >>>= 7) {
+                size++;
+            }
+            return size;
+        }
+
+        private void write(ByteBuf output, Number value) {
+            switch (this) {
+                case BYTE:
+                    output.writeByte(value.byteValue());
+                    break;
+                case SHORT:
+                    output.writeShort(value.shortValue());
+                    break;
+                case INT:
+                    output.writeInt(value.intValue());
+                    break;
+                case LONG:
+                    output.writeLong(value.longValue());
+                    break;
+                case FLOAT:
+                    output.writeFloat(value.floatValue());
+                    break;
+                case DOUBLE:
+                    output.writeDouble(value.doubleValue());
+                    break;
+                case VAR_INT:
+                    WirePacket.writeVarInt(output, value.intValue());
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown encoding " + this);
+            }
+        }
+    }
+
+    /**
+     * Builds a packet template by locating each slot in the serialized packet.
+     */
+    public static final class Builder {
+
+        private final PacketContainer packet;
+        private final List<SlotSetter> setters = new ArrayList<>();
+
+        private Builder(PacketContainer packet) {
+            this.packet = Preconditions.checkNotNull(packet, "packet cannot be null").deepClone();
+        }
+
+        /**
+         * Add a slot for the field with the given index in a structure modifier of the packet.
+         *
+         * @param encoding - how the field is encoded on the wire.
+         * @param modifier - retrieves the structure modifier containing the field, such as PacketContainer::getIntegers.
+         * @param index    - the index of the field in the structure modifier.
+         * @return This builder, for chaining.
+         */
+        public Builder slot(Encoding encoding, Function<PacketContainer, StructureModifier<? extends Number>> modifier, int index) {
+            Preconditions.checkNotNull(encoding, "encoding cannot be null");
+            Preconditions.checkNotNull(modifier, "modifier cannot be null");
+            this.setters.add(new SlotSetter(encoding, modifier, index));
+            return this;
+        }
+
+        /**
+         * Serialize the packet and locate every slot.
+         *
+         * @return The template.
+         * @throws IllegalArgumentException If a field is not written to the wire as it is stored.
+         */
+        public PacketTemplate build() {
+            for (SlotSetter setter : this.setters) {
+                setter.apply(this.packet, false);
+            }
+
+            byte[] base = serialize(this.packet);
+            List<Slot> slots = new ArrayList<>(this.setters.size());
+
+            for (SlotSetter setter : this.setters) {
+                setter.apply(this.packet, true);
+                byte[] probed = serialize(this.packet);
+                setter.apply(this.packet, false);
+
+                slots.add(locate(setter, base, probed));
+            }
+
+            PacketType type = this.packet.getType();
+            return new PacketTemplate(type.getCurrentId(), base, slots);
+        }
+
+        private static Slot locate(SlotSetter setter, byte[] base, byte[] probed) {
+            Preconditions.checkArgument(base.length == probed.length,
+                    "Field %s of %s changes the length of the packet", setter.index, setter.encoding);
+
+            int first = -1;
+            int last = -1;
+            for (int i = 0; i < base.length; i++) {
+                if (base[i] != probed[i]) {
+                    first = first < 0 ? i : first;
+                    last = i;
+                }
+            }
+
+            int width = setter.encoding.probeWidth;
+            Preconditions.checkArgument(first >= 0 && last - first + 1 == width,
+                    "Field %s is not written to the wire as %s", setter.index, setter.encoding);
+            return new Slot(setter.encoding, first, width);
+        }
+
+        private static byte[] serialize(PacketContainer packet) {
+            ByteBuf buffer = (ByteBuf) packet.serializeToBuffer();
+            try {
+                byte[] bytes = new byte[buffer.readableBytes()];
+                buffer.getBytes(buffer.readerIndex(), bytes);
+                return bytes;
+            } finally {
+                ReferenceCountUtil.safeRelease(buffer);
+            }
+        }
+    }
+
+    private static final class SlotSetter {
+
+        private final Encoding encoding;
+        private final Function<PacketContainer, StructureModifier<? extends Number>> modifier;
+        private final int index;
+
+        SlotSetter(Encoding encoding, Function<PacketContainer, StructureModifier<? extends Number>> modifier, int index) {
+            this.encoding = encoding;
+            this.modifier = modifier;
+            this.index = index;
+        }
+
+        @SuppressWarnings("unchecked")
+        void apply(PacketContainer packet, boolean second) {
+            StructureModifier<Object> structure = (StructureModifier<Object>) this.modifier.apply(packet);
+            Number probe = this.encoding.getProbe(second);
+            structure.write(this.index, convert(probe, Primitives.wrap(structure.getFieldType())));
+        }
+
+        private static Object convert(Number value, Class<?> type) {
+            if (type == Byte.class) {
+                return value.byteValue();
+            } else if (type == Short.class) {
+                return value.shortValue();
+            } else if (type == Integer.class) {
+                return value.intValue();
+            } else if (type == Long.class) {
+                return value.longValue();
+            } else if (type == Float.class) {
+                return value.floatValue();
+            } else if (type == Double.class) {
+                return value.doubleValue();
+            }
+            throw new IllegalArgumentException("Unsupported field type " + type);
+        }
+    }
+
+    private static final class Slot {
+
+        private final Encoding encoding;
+        private final int offset;
+        private final int width;
+
+        Slot(Encoding encoding, int offset, int width) {
+            this.encoding = encoding;
+            this.offset = offset;
+            this.width = width;
+        }
+
+        @Override
+        public String toString() {
+            return this.encoding + "@" + this.offset;
+        }
+    }
+}
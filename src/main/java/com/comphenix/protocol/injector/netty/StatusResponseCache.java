@@ -0,0 +1,155 @@
+package com.comphenix.protocol.injector.netty;
+
+import java.nio.charset.StandardCharsets;
+
+import com.comphenix.protocol.PacketType;
+import com.comphenix.protocol.wrappers.WrappedServerPing;
+import com.google.common.base.Preconditions;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.bukkit.Bukkit;
+
+/**
+ * An opt-in cache of the server list ping response, which is encoded once and written straight from the network thread.
+ * <p>
+ * While the cache is enabled and has a template, status requests are answered with the template instead of the vanilla
+ * response, and pings are answered with a pong before the connection is closed. Neither reaches the main thread or any
+ * {@link PacketType.Status} packet listener. The template is serialized again only when the online player count
+ * changes, or when a new template - for instance with a different MOTD - is set.
+ */
+public final class StatusResponseCache {
+
+    private static volatile StatusResponseCache instance;
+
+    private volatile WrappedServerPing template;
+    private volatile Response response;
+
+    StatusResponseCache() {
+    }
+
+    /**
+     * Enable the status response cache, if it is not already enabled. Requests are still passed on to the server
+     * until a template is set.
+     */
+    public static synchronized void enable() {
+        if (instance == null) {
+            instance = new StatusResponseCache();
+        }
+    }
+
+    /**
+     * Disable the status response cache, and discard its template.
+     */
+    public static synchronized void disable() {
+        instance = null;
+    }
+
+    /**
+     * Retrieve the current status response cache.
+     *
+     * @return The cache, or NULL if it is disabled.
+     */
+    public static StatusResponseCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * Retrieve a copy of the current template.
+     *
+     * @return The template, or NULL if status requests are passed on to the server.
+     */
+    public WrappedServerPing getTemplate() {
+        WrappedServerPing current = this.template;
+        return current != null ? WrappedServerPing.fromJson(current.toJson()) : null;
+    }
+
+    /**
+     * Set the server ping that is sent in response to every status request. The template is copied, so later changes
+     * to it are not sent until it is set again. Its online player count is replaced with the current count.
+     *
+     * @param template - the new template, or NULL to pass status requests on to the server.
+     */
+    public synchronized void setTemplate(WrappedServerPing template) {
+        this.template = template != null ? WrappedServerPing.fromJson(template.toJson()) : null;
+        this.response = null;
+    }
+
+    /**
+     * Determine if status requests are currently answered by this cache.
+     *
+     * @return TRUE if they are, FALSE otherwise.
+     */
+    public boolean hasTemplate() {
+        return this.template != null;
+    }
+
+    /**
+     * Retrieve the encoded status response for the current online player count.
+     *
+     * @return The response, or NULL if there is no template.
+     */
+    public WirePacket getResponse() {
+        return this.getResponse(Bukkit.getOnlinePlayers().size());
+    }
+
+    WirePacket getResponse(int playersOnline) {
+        Response current = this.response;
+        if (current != null && current.playersOnline == playersOnline) {
+            return current.packet;
+        }
+
+        synchronized (this) {
+            WrappedServerPing ping = this.template;
+            if (ping == null) {
+                return null;
+            }
+
+            if (ping.isPlayersVisible()) {
+                ping.setPlayersOnline(playersOnline);
+            }
+            current = new Response(playersOnline, encodeString(PacketType.Status.Server.SERVER_INFO, ping.toJson()));
+            this.response = current;
+            return current.packet;
+        }
+    }
+
+    /**
+     * Encode the answer to a ping request.
+     *
+     * @param payload - the payload of the ping request.
+     * @return The encoded pong.
+     */
+    public static WirePacket createPong(long payload) {
+        byte[] bytes = new byte[Long.BYTES];
+        Unpooled.wrappedBuffer(bytes).setLong(0, payload);
+        return new WirePacket(PacketType.Status.Server.PONG, bytes);
+    }
+
+    private static WirePacket encodeString(PacketType type, String value) {
+        Preconditions.checkNotNull(value, "value cannot be null");
+
+        byte[] data = value.getBytes(StandardCharsets.UTF_8);
+        ByteBuf buffer = Unpooled.buffer(data.length + 5);
+        try {
+            WirePacket.writeVarInt(buffer, data.length);
+            buffer.writeBytes(data);
+
+            byte[] bytes = new byte[buffer.readableBytes()];
+            buffer.readBytes(bytes);
+            return new WirePacket(type, bytes);
+        } finally {
+            buffer.release();
+        }
+    }
+
+    private static final class Response {
+
+        private final int playersOnline;
+        private final WirePacket packet;
+
+        Response(int playersOnline, WirePacket packet) {
+            this.playersOnline = playersOnline;
+            this.packet = packet;
+        }
+    }
+}
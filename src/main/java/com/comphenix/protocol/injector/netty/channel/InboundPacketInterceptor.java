@@ -4,9 +4,12 @@ import com.comphenix.protocol.PacketType;
 import com.comphenix.protocol.ProtocolLogger;
 import com.comphenix.protocol.PacketType.Protocol;
 import com.comphenix.protocol.events.PacketContainer;
+import com.comphenix.protocol.injector.netty.StatusResponseCache;
+import com.comphenix.protocol.injector.netty.WirePacket;
 import com.comphenix.protocol.injector.packet.PacketRegistry;
 import com.comphenix.protocol.utility.MinecraftReflection;
 
+import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 
@@ -36,6 +39,11 @@ final class InboundPacketInterceptor extends ChannelInboundHandlerAdapter {
                 return;
             }
 
+            // answer status requests and pings from the cached response, if enabled
+            if (protocol == Protocol.STATUS && this.handleStatus(ctx, packetType, msg)) {
+                return;
+            }
+
             // check if there are any listeners bound for the packet - if not just send the
             // packet down the pipeline
             if (!this.injector.hasInboundListener(packetType)) {
@@ -50,4 +58,28 @@ final class InboundPacketInterceptor extends ChannelInboundHandlerAdapter {
             ctx.fireChannelRead(msg);
         }
     }
+
+    private boolean handleStatus(ChannelHandlerContext ctx, PacketType packetType, Object msg) {
+        StatusResponseCache cache = StatusResponseCache.getInstance();
+        if (cache == null || !cache.hasTemplate()) {
+            return false;
+        }
+
+        if (packetType == PacketType.Status.Client.START) {
+            WirePacket response = cache.getResponse();
+            if (response == null) {
+                return false;
+            }
+
+            ctx.channel().writeAndFlush(response);
+            return true;
+        } else if (packetType == PacketType.Status.Client.PING) {
+            long payload = new PacketContainer(packetType, msg).getLongs().read(0);
+
+            // the vanilla server closes the connection after the pong as well
+            ctx.channel().writeAndFlush(StatusResponseCache.createPong(payload)).addListener(ChannelFutureListener.CLOSE);
+            return true;
+        }
+        return false;
+    }
 }
@@ -62,6 +62,12 @@ public class NettyChannelInjector implements Injector {
 
     private static final WirePacketEncoder WIRE_PACKET_ENCODER = new WirePacketEncoder();
     private static final Map<Class<?>, FieldAccessor> PACKET_ACCESSORS = new ConcurrentHashMap<>(16, 0.9f);
+    private static final Map<Class<?>, FieldAccessor> CHANNEL_ACCESSORS = new ConcurrentHashMap<>(4, 0.9f);
+
+    private static final FuzzyFieldContract CHANNEL_FIELD_CONTRACT = FuzzyFieldContract.newBuilder()
+            .typeExact(Channel.class)
+            .banModifier(Modifier.STATIC)
+            .build();
 
     // use random attribute name because they need to be unique and would throw on reload
     private static final AttributeKey<Integer> PROTOCOL_VERSION = AttributeKey.valueOf(getRandomKey());
@@ -130,12 +136,11 @@ public class NettyChannelInjector implements Injector {
         this.channel.attr(INJECTOR).set(this);
 
         // read the channel field from the network manager given to this method
-        // we re-read this field every time as plugins/spigot forks might give us different network manager types
-        Field channelField = FuzzyReflection.fromObject(networkManager, true).getField(FuzzyFieldContract.newBuilder()
-                .typeExact(Channel.class)
-                .banModifier(Modifier.STATIC)
-                .build());
-        this.channelField = Accessors.getFieldAccessor(channelField);
+        // we resolve this field per type as plugins/spigot forks might give us different network manager types
+        this.channelField = CHANNEL_ACCESSORS.computeIfAbsent(networkManager.getClass(), type -> {
+            Field channelField = FuzzyReflection.fromClass(type, true).getField(CHANNEL_FIELD_CONTRACT);
+            return Accessors.getFieldAccessor(channelField);
+        });
 
         // hook here into the close future to be 100% sure that this injector gets closed when the channel we wrap gets closed
         // normally we listen to the disconnect event, but there is a very small period of time, between the login and actual
@@ -0,0 +1,128 @@
+package com.comphenix.protocol.reflect;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+import com.comphenix.protocol.reflect.accessors.FieldAccessor;
+import com.google.common.base.Preconditions;
+
+/**
+ * Represents the target of a structure modifier that is shared with other modifiers until it is first written to.
+ * <p>
+ * The first write replaces the target with a shallow copy. A nested target, such as a structure read from a field of
+ * the target, copies itself on its first write and then puts the copy into the copy of its parent. So only the objects
+ * on the path to the written field are copied. Objects that are copied this way are never copied again.
+ */
+public final class CopyOnWriteTarget {
+
+    private final UnaryOperator<Object> copier;
+    private final Consumer<Object> listener;
+
+    // the target this one is nested in, or NULL for the root
+    private final CopyOnWriteTarget parent;
+    // every copy made from the root, these are no longer shared
+    private final Set<Object> copies;
+
+    private volatile Object target;
+    private volatile boolean copied;
+
+    /**
+     * Construct a new root target.
+     *
+     * @param target   - the shared target.
+     * @param copier   - creates a shallow copy of the target, or of a nested object.
+     * @param listener - informed about the copy that replaced the target, may be NULL.
+     */
+    public CopyOnWriteTarget(Object target, UnaryOperator<Object> copier, Consumer<Object> listener) {
+        this(target, copier, listener, null, Collections.newSetFromMap(Collections.synchronizedMap(new IdentityHashMap<>())));
+    }
+
+    private CopyOnWriteTarget(Object target, UnaryOperator<Object> copier, Consumer<Object> listener,
+            CopyOnWriteTarget parent, Set<Object> copies) {
+        this.target = Preconditions.checkNotNull(target, "target cannot be NULL");
+        this.copier = Preconditions.checkNotNull(copier, "copier cannot be NULL");
+        this.listener = listener;
+        this.parent = parent;
+        this.copies = copies;
+        this.copied = copies.contains(target);
+    }
+
+    /**
+     * Retrieve a target for an object that was read from a field of this target.
+     *
+     * @param value    - the nested object.
+     * @param listener - informed about the copy that replaced the nested object, may be NULL.
+     * @return The nested target.
+     */
+    public CopyOnWriteTarget child(Object value, Consumer<Object> listener) {
+        return new CopyOnWriteTarget(value, this.copier, listener, this, this.copies);
+    }
+
+    /**
+     * Retrieve the current target, for reading.
+     *
+     * @return The current target.
+     */
+    public Object get() {
+        return this.target;
+    }
+
+    /**
+     * Retrieve the target for writing, copying it first if it's still shared.
+     *
+     * @return The copied target.
+     */
+    public Object getForWrite() {
+        if (!this.copied) {
+            synchronized (this.copies) {
+                if (!this.copied) {
+                    this.copyTarget();
+                }
+            }
+        }
+        return this.target;
+    }
+
+    /**
+     * Determine if the target has already been replaced by a copy.
+     *
+     * @return TRUE if it has, FALSE otherwise.
+     */
+    public boolean isCopied() {
+        return this.copied;
+    }
+
+    private void copyTarget() {
+        Object original = this.target;
+        Object copy = this.copier.apply(original);
+
+        if (this.parent != null) {
+            this.replaceInParent(this.parent.getForWrite(), original, copy);
+        }
+
+        this.copies.add(copy);
+        this.target = copy;
+        this.copied = true;
+
+        if (this.listener != null) {
+            this.listener.accept(copy);
+        }
+    }
+
+    private void replaceInParent(Object parentTarget, Object original, Object copy) {
+        StructureModifier<Object> modifier = new StructureModifier<>(parentTarget.getClass(), Object.class, false);
+
+        for (FieldAccessor accessor : modifier.getFields()) {
+            Object value = accessor.get(parentTarget);
+            if (value == original) {
+                accessor.set(parentTarget, copy);
+            } else if (value instanceof Optional && ((Optional<?>) value).orElse(null) == original) {
+                accessor.set(parentTarget, Optional.of(copy));
+            }
+        }
+    }
+}
@@ -19,12 +19,18 @@ package com.comphenix.protocol.reflect;
 
 import com.comphenix.protocol.reflect.accessors.Accessors;
 import com.comphenix.protocol.reflect.fuzzy.AbstractFuzzyMatcher;
+import com.comphenix.protocol.reflect.fuzzy.AbstractFuzzyMember;
 import com.comphenix.protocol.reflect.fuzzy.FuzzyFieldContract;
 import com.comphenix.protocol.reflect.fuzzy.FuzzyMethodContract;
 import com.google.common.base.Joiner;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
+import java.lang.reflect.Member;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.ParameterizedType;
@@ -34,7 +40,10 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
 import java.util.regex.Pattern;
 
 /**
@@ -46,6 +55,12 @@ public class FuzzyReflection {
 
     private static final Joiner COMMA_JOINER = Joiner.on(", ");
 
+    // the members matching a contract never change for a given class, so contract queries are memoized
+    private static final int MAX_CACHED_QUERIES = 2048;
+    private static final Cache<ContractQuery, List<?>> QUERY_CACHE = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_QUERIES)
+            .build();
+
     // The class we're actually representing
     private final Class<?> source;
     private final boolean forceAccess;
@@ -186,7 +201,7 @@ public class FuzzyReflection {
      * @throws IllegalArgumentException If the method cannot be found.
      */
     public Method getMethod(AbstractFuzzyMatcher<MethodInfo> matcher) {
-        List<Method> result = this.getMethodList(matcher);
+        List<Method> result = this.findMethods(matcher);
         if (result.size() > 0) {
             return result.get(0);
         } else {
@@ -206,7 +221,7 @@ public class FuzzyReflection {
      * @throws IllegalArgumentException If the method cannot be found.
      */
     public Method getMethod(AbstractFuzzyMatcher<MethodInfo> matcher, String preferred) {
-        List<Method> result = this.getMethodList(matcher);
+        List<Method> result = this.findMethods(matcher);
 
         // if we got more than one result check for the preferred method name
         if (result.size() > 1 && preferred != null) {
@@ -305,15 +320,21 @@ public class FuzzyReflection {
      * @return List of found methods.
      */
     public List<Method> getMethodList(AbstractFuzzyMatcher<MethodInfo> matcher) {
-        // finds and adds all matching methods
-        List<Method> methods = new ArrayList<>();
-        for (Method method : this.getMethods()) {
-            if (matcher.isMatch(MethodInfo.fromMethod(method), this.source)) {
-                methods.add(method);
+        return new ArrayList<>(this.findMethods(matcher));
+    }
+
+    private List<Method> findMethods(AbstractFuzzyMatcher<MethodInfo> matcher) {
+        return this.memoize(Method.class, matcher, () -> {
+            // finds and adds all matching methods
+            List<Method> methods = new ArrayList<>();
+            for (Method method : this.getMethods()) {
+                if (matcher.isMatch(MethodInfo.fromMethod(method), this.source)) {
+                    methods.add(method);
+                }
             }
-        }
 
-        return methods;
+            return methods;
+        });
     }
 
     /**
@@ -345,7 +366,7 @@ public class FuzzyReflection {
      * @throws IllegalArgumentException If the method cannot be found.
      */
     public Field getField(AbstractFuzzyMatcher<Field> matcher) {
-        List<Field> result = this.getFieldList(matcher);
+        List<Field> result = this.findFields(matcher);
         if (result.size() > 0) {
             return result.get(0);
         } else {
@@ -451,15 +472,21 @@ public class FuzzyReflection {
      * @return List of found fields.
      */
     public List<Field> getFieldList(AbstractFuzzyMatcher<Field> matcher) {
-        // Add all matching fields to the list
-        List<Field> fields = new ArrayList<>();
-        for (Field field : this.getFields()) {
-            if (matcher.isMatch(field, this.source)) {
-                fields.add(field);
+        return new ArrayList<>(this.findFields(matcher));
+    }
+
+    private List<Field> findFields(AbstractFuzzyMatcher<Field> matcher) {
+        return this.memoize(Field.class, matcher, () -> {
+            // Add all matching fields to the list
+            List<Field> fields = new ArrayList<>();
+            for (Field field : this.getFields()) {
+                if (matcher.isMatch(field, this.source)) {
+                    fields.add(field);
+                }
             }
-        }
 
-        return fields;
+            return fields;
+        });
     }
 
     /**
@@ -503,7 +530,7 @@ public class FuzzyReflection {
      * @throws IllegalArgumentException If the constructor cannot be found.
      */
     public Constructor<?> getConstructor(AbstractFuzzyMatcher<MethodInfo> matcher) {
-        List<Constructor<?>> result = this.getConstructorList(matcher);
+        List<Constructor<?>> result = this.findConstructors(matcher);
         if (result.size() > 0) {
             return result.get(0);
         } else {
@@ -520,15 +547,50 @@ public class FuzzyReflection {
      * @return List of found constructors.
      */
     public List<Constructor<?>> getConstructorList(AbstractFuzzyMatcher<MethodInfo> matcher) {
-        // Add all matching constructors to the list
-        List<Constructor<?>> constructors = new ArrayList<>();
-        for (Constructor<?> constructor : this.getConstructors()) {
-            if (matcher.isMatch(MethodInfo.fromConstructor(constructor), this.source)) {
-                constructors.add(constructor);
+        return new ArrayList<>(this.findConstructors(matcher));
+    }
+
+    private List<Constructor<?>> findConstructors(AbstractFuzzyMatcher<MethodInfo> matcher) {
+        return this.memoize(Constructor.class, matcher, () -> {
+            // Add all matching constructors to the list
+            List<Constructor<?>> constructors = new ArrayList<>();
+            for (Constructor<?> constructor : this.getConstructors()) {
+                if (matcher.isMatch(MethodInfo.fromConstructor(constructor), this.source)) {
+                    constructors.add(constructor);
+                }
             }
+
+            return constructors;
+        });
+    }
+
+    /**
+     * Retrieve the members matching the given matcher, computing them only once per class and contract.
+     * <p>
+     * Only contracts are memoized, as they are immutable and comparable by value once built. Any other matcher may
+     * carry arbitrary state and is always evaluated again, as are contracts containing a matcher that only compares by
+     * identity, since they would never be looked up again.
+     *
+     * @param memberType - the kind of member that is searched.
+     * @param matcher    - the matcher to apply.
+     * @param search     - computes the matching members.
+     * @return An immutable list of matching members.
+     */
+    @SuppressWarnings("unchecked")
+    private <T extends Member> List<T> memoize(Class<?> memberType, AbstractFuzzyMatcher<?> matcher, Supplier<List<T>> search) {
+        if (!(matcher instanceof AbstractFuzzyMember) || !((AbstractFuzzyMember<?>) matcher).hasValueEquality()) {
+            return search.get();
         }
 
-        return constructors;
+        ContractQuery query = new ContractQuery(this.source, this.forceAccess, memberType, matcher);
+        try {
+            return (List<T>) QUERY_CACHE.get(query, () -> ImmutableList.copyOf(search.get()));
+        } catch (ExecutionException | UncheckedExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw new IllegalStateException("Unable to search " + this.source, ex.getCause());
+        }
     }
 
     /**
@@ -594,4 +656,46 @@ public class FuzzyReflection {
     public Set<Constructor<?>> getConstructors() {
         return combineArrays(this.forceAccess ? this.source.getDeclaredConstructors() : this.source.getConstructors());
     }
+
+    /**
+     * Identifies a contract query against the members of a class.
+     */
+    private static final class ContractQuery {
+
+        private final Class<?> source;
+        private final boolean forceAccess;
+        private final Class<?> memberType;
+        private final AbstractFuzzyMatcher<?> contract;
+
+        private final int hashCode;
+
+        ContractQuery(Class<?> source, boolean forceAccess, Class<?> memberType, AbstractFuzzyMatcher<?> contract) {
+            this.source = source;
+            this.forceAccess = forceAccess;
+            this.memberType = memberType;
+            this.contract = contract;
+            this.hashCode = Objects.hash(source, forceAccess, memberType, contract);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            } else if (obj instanceof ContractQuery) {
+                ContractQuery other = (ContractQuery) obj;
+                return this.hashCode == other.hashCode
+                        && this.forceAccess == other.forceAccess
+                        && this.source == other.source
+                        && this.memberType == other.memberType
+                        && this.contract.equals(other.contract);
+            } else {
+                return false;
+            }
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
+        }
+    }
 }
@@ -79,6 +79,9 @@ public class StructureModifier<T> {
     protected Object target;
     protected Class<?> targetType;
 
+    // Shared target that is copied on the first write. May be NULL.
+    protected CopyOnWriteTarget copyOnWrite;
+
     // The fields to read in order
     protected Class<?> fieldType;
     protected List<FieldAccessor> accessors = new ArrayList<>();
@@ -299,7 +302,7 @@ public class StructureModifier<T> {
         }
 
         // get the field value and convert it if needed
-        Object fieldValue = accessor.get(this.target);
+        Object fieldValue = accessor.get(this.getTarget());
         return this.needConversion() ? this.converter.getSpecific(fieldValue) : (T) fieldValue;
     }
 
@@ -358,7 +361,7 @@ public class StructureModifier<T> {
 
         // convert and write
         Object fieldValue = this.needConversion() ? this.converter.getGeneric(value) : value;
-        accessor.set(this.target, fieldValue);
+        accessor.set(this.getWritableTarget(), fieldValue);
 
         return this;
     }
@@ -392,6 +395,8 @@ public class StructureModifier<T> {
      * @throws FieldAccessException If we're unable to write to the fields due to a security limitation.
      */
     public StructureModifier<T> writeDefaults() throws FieldAccessException {
+        Object target = this.getWritableTarget();
+
         // Write a default instance to every field
         for (FieldAccessor accessor : this.defaultFields.keySet()) {
             // Special case for Spigot's custom chat components
@@ -433,9 +438,30 @@ public class StructureModifier<T> {
      * @return Object we're modifying.
      */
     public Object getTarget() {
+        return this.copyOnWrite != null ? this.copyOnWrite.get() : this.target;
+    }
+
+    /**
+     * Retrieves the object we're modifying, copying it first if it's a copy-on-write target that is still shared.
+     *
+     * @return Object we're modifying.
+     */
+    private Object getWritableTarget() {
+        if (this.copyOnWrite != null) {
+            this.target = this.copyOnWrite.getForWrite();
+        }
         return this.target;
     }
 
+    /**
+     * Retrieves the copy-on-write target of this modifier.
+     *
+     * @return The copy-on-write target, or NULL if the target is written to directly.
+     */
+    public CopyOnWriteTarget getCopyOnWriteTarget() {
+        return this.copyOnWrite;
+    }
+
     /**
      * Retrieve the number of readable types.
      *
@@ -575,7 +601,9 @@ public class StructureModifier<T> {
         }
 
         // Add the target too
-        result = result.withTarget(this.target);
+        result = this.copyOnWrite != null
+                ? result.withCopyOnWriteTarget(this.copyOnWrite)
+                : result.withTarget(this.target);
         result.converter = converter;
 
         return result;
@@ -641,6 +669,18 @@ public class StructureModifier<T> {
         return copy;
     }
 
+    /**
+     * Retrieves a structure modifier of the same type for a target that is shared until it is first written to.
+     *
+     * @param target - the copy-on-write target of the same type.
+     * @return Structure modifier with the new target.
+     */
+    public StructureModifier<T> withCopyOnWriteTarget(CopyOnWriteTarget target) {
+        StructureModifier<T> copy = this.withTarget(target.get());
+        copy.copyOnWrite = target;
+        return copy;
+    }
+
     /**
      * Retrieves a structure modifier with the same type and target, but using a new object converter.
      *
@@ -649,7 +689,9 @@ public class StructureModifier<T> {
      */
     @SuppressWarnings("unchecked")
     private <V> StructureModifier<V> withConverter(EquivalentConverter<V> converter) {
-        StructureModifier<V> copy = (StructureModifier<V>) this.withTarget(this.target);
+        StructureModifier<V> copy = (StructureModifier<V>) (this.copyOnWrite != null
+                ? this.withCopyOnWriteTarget(this.copyOnWrite)
+                : this.withTarget(this.target));
         copy.setConverter(converter);
         return copy;
     }
@@ -2,19 +2,25 @@ package com.comphenix.protocol.reflect.accessors;
 
 import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Method;
-import java.lang.reflect.Modifier;
 
 final class DefaultMethodAccessor implements MethodAccessor {
 
+    // the highest number of parameters for which an exact arity handle is created
+    static final int MAX_EXACT_ARITY = 2;
+
     private final Method method;
     private final boolean staticMethod;
+    private final int parameterCount;
 
     private final MethodHandle methodHandle;
+    private final MethodHandle exactHandle;
 
-    public DefaultMethodAccessor(Method method, MethodHandle methodHandle, boolean staticMethod) {
+    public DefaultMethodAccessor(Method method, MethodHandle methodHandle, MethodHandle exactHandle, boolean staticMethod) {
         this.method = method;
         this.methodHandle = methodHandle;
+        this.exactHandle = exactHandle;
         this.staticMethod = staticMethod;
+        this.parameterCount = method.getParameterCount();
     }
 
     @Override
@@ -26,6 +32,45 @@ final class DefaultMethodAccessor implements MethodAccessor {
         }
     }
 
+    @Override
+    public Object invoke(Object target) {
+        if (this.parameterCount != 0) {
+            return this.invoke(target, new Object[0]);
+        }
+
+        try {
+            return (Object) this.exactHandle.invokeExact(target);
+        } catch (Throwable throwable) {
+            throw new IllegalStateException("Unable to invoke method " + this.method, throwable);
+        }
+    }
+
+    @Override
+    public Object invoke(Object target, Object arg) {
+        if (this.parameterCount != 1) {
+            return this.invoke(target, new Object[]{arg});
+        }
+
+        try {
+            return (Object) this.exactHandle.invokeExact(target, arg);
+        } catch (Throwable throwable) {
+            throw new IllegalStateException("Unable to invoke method " + this.method, throwable);
+        }
+    }
+
+    @Override
+    public Object invoke(Object target, Object first, Object second) {
+        if (this.parameterCount != 2) {
+            return this.invoke(target, new Object[]{first, second});
+        }
+
+        try {
+            return (Object) this.exactHandle.invokeExact(target, first, second);
+        } catch (Throwable throwable) {
+            throw new IllegalStateException("Unable to invoke method " + this.method, throwable);
+        }
+    }
+
     @Override
     public Method getMethod() {
         return this.method;
@@ -0,0 +1,233 @@
+package com.comphenix.protocol.reflect.accessors;
+
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import com.comphenix.protocol.ProtocolLogger;
+import net.bytebuddy.jar.asm.ClassWriter;
+import net.bytebuddy.jar.asm.MethodVisitor;
+import net.bytebuddy.jar.asm.Opcodes;
+import net.bytebuddy.jar.asm.Type;
+
+/**
+ * A field accessor that reads and writes the field through a hidden class defined with
+ * {@code Lookup.defineHiddenClass}.
+ * <p>
+ * The LambdaMetafactory only accepts method implementations, so the get and put instructions are spun directly. The
+ * hidden class is a nestmate of the declaring class, which grants it access to private fields. It implements the
+ * functional interfaces of the JDK, as it can't see our classes. Final fields can't be written outside a constructor,
+ * so they are written by the given fallback accessor.
+ */
+@SuppressWarnings("unchecked")
+final class HiddenFieldAccessor implements FieldAccessor {
+
+    private static final Method DEFINE_HIDDEN_CLASS;
+    private static final Object NESTMATE_OPTIONS;
+
+    static {
+        Method defineHiddenClass = null;
+        Object options = null;
+        try {
+            Class<?> optionType = Class.forName("java.lang.invoke.MethodHandles$Lookup$ClassOption");
+            options = Array.newInstance(optionType, 1);
+            Array.set(options, 0, optionType.getField("NESTMATE").get(null));
+            defineHiddenClass = Lookup.class.getMethod("defineHiddenClass", byte[].class, boolean.class, options.getClass());
+        } catch (ReflectiveOperationException ignored) {
+            // hidden classes were added in java 15
+        }
+
+        DEFINE_HIDDEN_CLASS = defineHiddenClass;
+        NESTMATE_OPTIONS = options;
+    }
+
+    private final Field field;
+    private final FieldAccessor fallback;
+    private final boolean staticField;
+
+    private final Object getter;
+    private final Object setter;
+
+    private HiddenFieldAccessor(Field field, FieldAccessor fallback, Object accessor, boolean writable) {
+        this.field = field;
+        this.fallback = fallback;
+        this.staticField = Modifier.isStatic(field.getModifiers());
+        this.getter = accessor;
+        this.setter = writable ? accessor : null;
+    }
+
+    /**
+     * Spin an accessor for the given field, if hidden classes are supported.
+     *
+     * @param lookup   - a lookup with full access to the declaring class of the field.
+     * @param field    - the field to access.
+     * @param fallback - the accessor used to write final fields.
+     * @return The new accessor, or NULL if hidden classes aren't supported.
+     */
+    static FieldAccessor create(Lookup lookup, Field field, FieldAccessor fallback) {
+        if (DEFINE_HIDDEN_CLASS == null) {
+            return null;
+        }
+
+        boolean writable = !Modifier.isFinal(field.getModifiers());
+        try {
+            byte[] bytes = spin(field, writable);
+            Lookup hidden = (Lookup) DEFINE_HIDDEN_CLASS.invoke(lookup.in(field.getDeclaringClass()), bytes, true, NESTMATE_OPTIONS);
+            Object accessor = hidden.findConstructor(hidden.lookupClass(), MethodType.methodType(void.class)).invoke();
+            return new HiddenFieldAccessor(field, fallback, accessor, writable);
+        } catch (Throwable throwable) {
+            ProtocolLogger.debug("Unable to spin hidden accessor for " + field, throwable);
+            return null;
+        }
+    }
+
+    private static byte[] spin(Field field, boolean writable) {
+        boolean staticField = Modifier.isStatic(field.getModifiers());
+        String owner = Type.getInternalName(field.getDeclaringClass());
+        String descriptor = Type.getDescriptor(field.getType());
+        Type fieldType = Type.getType(field.getType());
+
+        // hidden classes must be defined in the package of the lookup class
+        int packageEnd = owner.lastIndexOf('/');
+        String name = (packageEnd >= 0 ? owner.substring(0, packageEnd + 1) : "") + "ProtocolLibFieldAccessor";
+
+        String getterType = Type.getInternalName(staticField ? Supplier.class : Function.class);
+        String setterType = Type.getInternalName(staticField ? Consumer.class : BiConsumer.class);
+        String[] interfaces = writable ? new String[]{getterType, setterType} : new String[]{getterType};
+
+        ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        writer.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL | Opcodes.ACC_SUPER, name, null,
+                "java/lang/Object", interfaces);
+
+        MethodVisitor constructor = writer.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+        constructor.visitCode();
+        constructor.visitVarInsn(Opcodes.ALOAD, 0);
+        constructor.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        constructor.visitInsn(Opcodes.RETURN);
+        constructor.visitMaxs(0, 0);
+        constructor.visitEnd();
+
+        // "public Object get()" or "public Object apply(Object instance)"
+        MethodVisitor get = writer.visitMethod(Opcodes.ACC_PUBLIC, staticField ? "get" : "apply",
+                staticField ? "()Ljava/lang/Object;" : "(Ljava/lang/Object;)Ljava/lang/Object;", null, null);
+        get.visitCode();
+        if (staticField) {
+            get.visitFieldInsn(Opcodes.GETSTATIC, owner, field.getName(), descriptor);
+        } else {
+            get.visitVarInsn(Opcodes.ALOAD, 1);
+            get.visitTypeInsn(Opcodes.CHECKCAST, owner);
+            get.visitFieldInsn(Opcodes.GETFIELD, owner, field.getName(), descriptor);
+        }
+        box(get, fieldType);
+        get.visitInsn(Opcodes.ARETURN);
+        get.visitMaxs(0, 0);
+        get.visitEnd();
+
+        if (writable) {
+            // "public void accept(Object value)" or "public void accept(Object instance, Object value)"
+            MethodVisitor set = writer.visitMethod(Opcodes.ACC_PUBLIC, "accept",
+                    staticField ? "(Ljava/lang/Object;)V" : "(Ljava/lang/Object;Ljava/lang/Object;)V", null, null);
+            set.visitCode();
+            if (staticField) {
+                set.visitVarInsn(Opcodes.ALOAD, 1);
+                unbox(set, fieldType);
+                set.visitFieldInsn(Opcodes.PUTSTATIC, owner, field.getName(), descriptor);
+            } else {
+                set.visitVarInsn(Opcodes.ALOAD, 1);
+                set.visitTypeInsn(Opcodes.CHECKCAST, owner);
+                set.visitVarInsn(Opcodes.ALOAD, 2);
+                unbox(set, fieldType);
+                set.visitFieldInsn(Opcodes.PUTFIELD, owner, field.getName(), descriptor);
+            }
+            set.visitInsn(Opcodes.RETURN);
+            set.visitMaxs(0, 0);
+            set.visitEnd();
+        }
+
+        writer.visitEnd();
+        return writer.toByteArray();
+    }
+
+    private static void box(MethodVisitor visitor, Type type) {
+        String wrapper = getWrapper(type);
+        if (wrapper != null) {
+            visitor.visitMethodInsn(Opcodes.INVOKESTATIC, wrapper, "valueOf",
+                    "(" + type.getDescriptor() + ")L" + wrapper + ";", false);
+        }
+    }
+
+    private static void unbox(MethodVisitor visitor, Type type) {
+        String wrapper = getWrapper(type);
+        if (wrapper != null) {
+            visitor.visitTypeInsn(Opcodes.CHECKCAST, wrapper);
+            visitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, wrapper, type.getClassName() + "Value",
+                    "()" + type.getDescriptor(), false);
+        } else if (!"java/lang/Object".equals(type.getInternalName())) {
+            visitor.visitTypeInsn(Opcodes.CHECKCAST, type.getInternalName());
+        }
+    }
+
+    private static String getWrapper(Type type) {
+        switch (type.getSort()) {
+            case Type.BOOLEAN:
+                return "java/lang/Boolean";
+            case Type.BYTE:
+                return "java/lang/Byte";
+            case Type.CHAR:
+                return "java/lang/Character";
+            case Type.SHORT:
+                return "java/lang/Short";
+            case Type.INT:
+                return "java/lang/Integer";
+            case Type.LONG:
+                return "java/lang/Long";
+            case Type.FLOAT:
+                return "java/lang/Float";
+            case Type.DOUBLE:
+                return "java/lang/Double";
+            default:
+                return null;
+        }
+    }
+
+    @Override
+    public Object get(Object instance) {
+        try {
+            return this.staticField
+                    ? ((Supplier<Object>) this.getter).get()
+                    : ((Function<Object, Object>) this.getter).apply(instance);
+        } catch (Throwable throwable) {
+            throw new IllegalStateException("Unable to read field value of " + this.field, throwable);
+        }
+    }
+
+    @Override
+    public void set(Object instance, Object value) {
+        if (this.setter == null) {
+            this.fallback.set(instance, value);
+            return;
+        }
+
+        try {
+            if (this.staticField) {
+                ((Consumer<Object>) this.setter).accept(value);
+            } else {
+                ((BiConsumer<Object, Object>) this.setter).accept(instance, value);
+            }
+        } catch (Throwable throwable) {
+            throw new IllegalStateException("Unable to set value of field " + this.field, throwable);
+        }
+    }
+
+    @Override
+    public Field getField() {
+        return this.field;
+    }
+}
@@ -0,0 +1,184 @@
+package com.comphenix.protocol.reflect.accessors;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import com.comphenix.protocol.ProtocolLogger;
+
+/**
+ * A method accessor that invokes the method through a class spun by the {@link LambdaMetafactory}.
+ * <p>
+ * The spun class calls the method directly, which the JIT can inline just like a regular call. Only the functional
+ * interfaces of the JDK are used, as the spun class is defined next to the target class and can't see our classes.
+ * That limits the supported methods to those taking at most two arguments including the target instance. Any other
+ * call is delegated to the given fallback accessor.
+ */
+@SuppressWarnings("unchecked")
+final class LambdaMethodAccessor implements MethodAccessor {
+
+    private final Method method;
+    private final MethodAccessor fallback;
+
+    private final Object function;
+    private final boolean staticMethod;
+    private final boolean voidMethod;
+    private final int parameterCount;
+
+    private LambdaMethodAccessor(Method method, MethodAccessor fallback, Object function) {
+        this.method = method;
+        this.fallback = fallback;
+        this.function = function;
+        this.staticMethod = Modifier.isStatic(method.getModifiers());
+        this.voidMethod = method.getReturnType() == void.class;
+        this.parameterCount = method.getParameterCount();
+    }
+
+    /**
+     * Spin an accessor for the given method, if the method is supported.
+     *
+     * @param lookup         - a lookup with full access to the declaring class of the method.
+     * @param method         - the method to access.
+     * @param implementation - the direct method handle of the method.
+     * @param fallback       - the accessor to use for calls the spun class doesn't support.
+     * @return The new accessor, or NULL if the method isn't supported.
+     */
+    static MethodAccessor create(Lookup lookup, Method method, MethodHandle implementation, MethodAccessor fallback) {
+        int arity = method.getParameterCount() + (Modifier.isStatic(method.getModifiers()) ? 0 : 1);
+        if (arity > 2 || method.isVarArgs()) {
+            return null;
+        }
+
+        boolean voidMethod = method.getReturnType() == void.class;
+        Class<?> functionType = getFunctionType(arity, voidMethod);
+        MethodType samType = MethodType.genericMethodType(arity);
+        // the instantiated type casts and unboxes our erased arguments to the types of the method
+        MethodType instantiatedType = implementation.type().wrap();
+        if (voidMethod) {
+            samType = samType.changeReturnType(void.class);
+            instantiatedType = instantiatedType.changeReturnType(void.class);
+        }
+
+        try {
+            CallSite site = LambdaMetafactory.metafactory(
+                    lookup.in(method.getDeclaringClass()),
+                    getFunctionMethodName(arity, voidMethod),
+                    MethodType.methodType(functionType),
+                    samType,
+                    implementation,
+                    instantiatedType);
+            return new LambdaMethodAccessor(method, fallback, site.getTarget().invoke());
+        } catch (Throwable throwable) {
+            ProtocolLogger.debug("Unable to spin lambda accessor for " + method, throwable);
+            return null;
+        }
+    }
+
+    private static Class<?> getFunctionType(int arity, boolean voidMethod) {
+        switch (arity) {
+            case 0:
+                return voidMethod ? Runnable.class : Supplier.class;
+            case 1:
+                return voidMethod ? Consumer.class : Function.class;
+            default:
+                return voidMethod ? BiConsumer.class : BiFunction.class;
+        }
+    }
+
+    private static String getFunctionMethodName(int arity, boolean voidMethod) {
+        if (arity == 0) {
+            return voidMethod ? "run" : "get";
+        }
+        return voidMethod ? "accept" : "apply";
+    }
+
+    @Override
+    public Object invoke(Object target, Object... args) {
+        if (args == null || args.length != this.parameterCount) {
+            return this.fallback.invoke(target, args);
+        }
+
+        switch (args.length) {
+            case 0:
+                return this.invoke(target);
+            case 1:
+                return this.invoke(target, args[0]);
+            default:
+                return this.invoke(target, args[0], args[1]);
+        }
+    }
+
+    @Override
+    public Object invoke(Object target) {
+        if (this.parameterCount != 0) {
+            return this.fallback.invoke(target);
+        }
+        return this.staticMethod ? this.apply0() : this.apply1(target);
+    }
+
+    @Override
+    public Object invoke(Object target, Object arg) {
+        if (this.parameterCount != 1) {
+            return this.fallback.invoke(target, arg);
+        }
+        return this.staticMethod ? this.apply1(arg) : this.apply2(target, arg);
+    }
+
+    @Override
+    public Object invoke(Object target, Object first, Object second) {
+        if (this.parameterCount != 2 || !this.staticMethod) {
+            return this.fallback.invoke(target, first, second);
+        }
+        return this.apply2(first, second);
+    }
+
+    private Object apply0() {
+        try {
+            if (this.voidMethod) {
+                ((Runnable) this.function).run();
+                return null;
+            }
+            return ((Supplier<Object>) this.function).get();
+        } catch (Throwable throwable) {
+            throw new IllegalStateException("Unable to invoke method " + this.method, throwable);
+        }
+    }
+
+    private Object apply1(Object arg) {
+        try {
+            if (this.voidMethod) {
+                ((Consumer<Object>) this.function).accept(arg);
+                return null;
+            }
+            return ((Function<Object, Object>) this.function).apply(arg);
+        } catch (Throwable throwable) {
+            throw new IllegalStateException("Unable to invoke method " + this.method, throwable);
+        }
+    }
+
+    private Object apply2(Object first, Object second) {
+        try {
+            if (this.voidMethod) {
+                ((BiConsumer<Object, Object>) this.function).accept(first, second);
+                return null;
+            }
+            return ((BiFunction<Object, Object, Object>) this.function).apply(first, second);
+        } catch (Throwable throwable) {
+            throw new IllegalStateException("Unable to invoke method " + this.method, throwable);
+        }
+    }
+
+    @Override
+    public Method getMethod() {
+        return this.method;
+    }
+}
@@ -18,6 +18,45 @@ public interface MethodAccessor {
      */
     Object invoke(Object target, Object... args);
 
+    /**
+     * Invoke the underlying method without any arguments.
+     * <p>
+     * Unlike {@link #invoke(Object, Object...)}, this doesn't need to allocate an argument array.
+     *
+     * @param target - the target instance, or NULL for a static method.
+     * @return The return value, or NULL for void methods.
+     */
+    default Object invoke(Object target) {
+        return this.invoke(target, new Object[0]);
+    }
+
+    /**
+     * Invoke the underlying method with a single argument.
+     * <p>
+     * Unlike {@link #invoke(Object, Object...)}, this doesn't need to allocate an argument array.
+     *
+     * @param target - the target instance, or NULL for a static method.
+     * @param arg    - the argument to pass to the method.
+     * @return The return value, or NULL for void methods.
+     */
+    default Object invoke(Object target, Object arg) {
+        return this.invoke(target, new Object[]{arg});
+    }
+
+    /**
+     * Invoke the underlying method with two arguments.
+     * <p>
+     * Unlike {@link #invoke(Object, Object...)}, this doesn't need to allocate an argument array.
+     *
+     * @param target - the target instance, or NULL for a static method.
+     * @param first  - the first argument to pass to the method.
+     * @param second - the second argument to pass to the method.
+     * @return The return value, or NULL for void methods.
+     */
+    default Object invoke(Object target, Object first, Object second) {
+        return this.invoke(target, new Object[]{first, second});
+    }
+
     /**
      * Retrieve the underlying method.
      *
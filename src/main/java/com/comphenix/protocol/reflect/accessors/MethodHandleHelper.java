@@ -15,7 +15,17 @@ import com.google.common.base.Preconditions;
 
 final class MethodHandleHelper {
 
+    /**
+     * The system property that selects the backend of accessors, either "method_handle" (the default) or "lambda".
+     * <p>
+     * The lambda backend spins a class for every accessor: methods through the LambdaMetafactory, and fields as
+     * hidden classes on Java 15 and newer. Whether it is faster depends on the JVM, which can be measured with the
+     * benchmark in AccessorsTest.
+     */
+    static final String BACKEND_PROPERTY = "protocollib.accessors.backend";
+
     private static final Lookup LOOKUP;
+    private static final boolean LAMBDA_BACKEND = "lambda".equalsIgnoreCase(System.getProperty(BACKEND_PROPERTY));
 
     // static fields, converted as "public Object get()" and "public void set(Object value)"
     private static final MethodType STATIC_FIELD_GETTER = MethodType.methodType(Object.class);
@@ -53,6 +63,10 @@ final class MethodHandleHelper {
     }
 
     public static MethodAccessor getMethodAccessor(Method method) {
+        return getMethodAccessor(method, LAMBDA_BACKEND);
+    }
+
+    static MethodAccessor getMethodAccessor(Method method, boolean lambdaBackend) {
         Preconditions.checkNotNull(method, "method");
 
         try {
@@ -60,7 +74,16 @@ final class MethodHandleHelper {
             boolean staticMethod = Modifier.isStatic(method.getModifiers());
 
             MethodHandle generified = convertToGeneric(unreflected, staticMethod, false);
-            return new DefaultMethodAccessor(method, generified, staticMethod);
+            MethodHandle exact = convertToExactArity(unreflected, staticMethod);
+            MethodAccessor accessor = new DefaultMethodAccessor(method, generified, exact, staticMethod);
+
+            if (lambdaBackend) {
+                MethodAccessor lambda = LambdaMethodAccessor.create(LOOKUP, method, unreflected, accessor);
+                if (lambda != null) {
+                    return lambda;
+                }
+            }
+            return accessor;
         } catch (IllegalAccessException ex) {
             throw new IllegalStateException("Unable to access method " + method, ex);
         }
@@ -80,6 +103,10 @@ final class MethodHandleHelper {
     }
 
     public static FieldAccessor getFieldAccessor(Field field) {
+        return getFieldAccessor(field, LAMBDA_BACKEND);
+    }
+
+    static FieldAccessor getFieldAccessor(Field field, boolean lambdaBackend) {
         Preconditions.checkNotNull(field, "field");
 
         try {
@@ -113,13 +140,35 @@ final class MethodHandleHelper {
                 throw new IllegalStateException("Unable to access field " + field + ". Could not find setter");
             }
 
-            return new DefaultFieldAccessor(field, setter, getter, staticField);
+            FieldAccessor accessor = new DefaultFieldAccessor(field, setter, getter, staticField);
+            if (lambdaBackend) {
+                FieldAccessor hidden = HiddenFieldAccessor.create(LOOKUP, field, accessor);
+                if (hidden != null) {
+                    return hidden;
+                }
+            }
+            return accessor;
         } catch (IllegalAccessException | NoSuchFieldException ex) {
             // NoSuchFieldException can never happen, the field always exists
             throw new IllegalStateException("Unable to access field " + field, ex);
         }
     }
 
+    private static MethodHandle convertToExactArity(MethodHandle handle, boolean staticMethod) {
+        int paramCount = handle.type().parameterCount() - (staticMethod ? 0 : 1);
+        if (paramCount > DefaultMethodAccessor.MAX_EXACT_ARITY) {
+            return null;
+        }
+
+        MethodHandle target = handle.asFixedArity();
+        // adds a leading 'this' argument which we can ignore
+        if (staticMethod) {
+            target = MethodHandles.dropArguments(target, 0, Object.class);
+        }
+        // converted as "public Object invoke(Object instance, Object... args)" with the args inlined
+        return target.asType(MethodType.genericMethodType(paramCount + 1));
+    }
+
     private static MethodHandle convertToGeneric(MethodHandle handle, boolean staticMethod, boolean ctor) {
         MethodHandle target = handle.asFixedArity();
         // special thing - we do not need the trailing array if we have 0 arguments anyway
@@ -22,14 +22,17 @@ import com.comphenix.protocol.reflect.instances.ExistingGenerator;
 import com.comphenix.protocol.reflect.instances.InstanceProvider;
 import com.google.common.base.Function;
 
-import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Implements a cloning procedure by trying multiple methods in turn until one is successful.
+ * <p>
+ * The cloner that is selected for a class is remembered, so whether a cloner can clone an object may only depend on the
+ * class of that object.
  *
  * @author Kristian
  */
@@ -166,11 +169,19 @@ public class AggregateCloner implements Cloner {
             andThen(FieldCloner.class).
             build();
 
+    // Marks a class whose cloner has not been selected yet
+    private static final int UNKNOWN_CLONER = -1;
+
     // List of clone methods
     private List<Cloner> cloners;
 
-    private WeakReference<Object> lastObject;
-    private int lastResult;
+    // The index of the first cloner capable of cloning each class
+    private final ClassValue<AtomicInteger> clonerIndex = new ClassValue<AtomicInteger>() {
+        @Override
+        protected AtomicInteger computeValue(Class<?> type) {
+            return new AtomicInteger(UNKNOWN_CLONER);
+        }
+    };
 
     /**
      * Begins constructing a new aggregate cloner.
@@ -205,10 +216,27 @@ public class AggregateCloner implements Cloner {
 
     @Override
     public boolean canClone(Object source) {
-        // Optimize a bit
-        lastResult = getFirstCloner(source);
-        lastObject = new WeakReference<>(source);
-        return lastResult >= 0 && lastResult < cloners.size();
+        return getCachedCloner(source) < cloners.size();
+    }
+
+    /**
+     * Retrieve the index of the first cloner capable of cloning the given object, selecting it once per class.
+     * @param source - the object to clone.
+     * @return The index of the cloner object.
+     */
+    private int getCachedCloner(Object source) {
+        if (source == null) {
+            return getFirstCloner(null);
+        }
+
+        AtomicInteger cached = clonerIndex.get(source.getClass());
+        int index = cached.get();
+
+        if (index == UNKNOWN_CLONER) {
+            index = getFirstCloner(source);
+            cached.set(index);
+        }
+        return index;
     }
 
     /**
@@ -231,14 +259,7 @@ public class AggregateCloner implements Cloner {
     public Object clone(Object source) {
         if (source == null)
             throw new IllegalAccessError("source cannot be NULL.");
-        int index = 0;
-
-        // Are we dealing with the same object?
-        if (lastObject != null && lastObject.get() == source) {
-            index = lastResult;
-        } else {
-            index = getFirstCloner(source);
-        }
+        int index = getCachedCloner(source);
 
         // Make sure the object is valid
         if (index < cloners.size()) {
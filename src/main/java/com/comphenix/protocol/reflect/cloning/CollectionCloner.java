@@ -158,7 +158,7 @@ public class CollectionCloner implements Cloner {
      * @param source - the array itself.
      * @return The cloned array.
      */
-    private Object clonePrimitive(Class<?> component, Object source) {
+    static Object clonePrimitive(Class<?> component, Object source) {
         // Cast and call the correct version
         if (byte.class.equals(component))
             return ((byte[]) source).clone();
@@ -17,6 +17,9 @@
 
 package com.comphenix.protocol.reflect.cloning;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import com.comphenix.protocol.reflect.ObjectWriter;
 import com.comphenix.protocol.reflect.StructureModifier;
 import com.comphenix.protocol.reflect.instances.InstanceProvider;
@@ -33,6 +36,10 @@ public class FieldCloner implements Cloner {
     
     // Used to clone objects
     protected ObjectWriter writer;
+
+    // Replaced by the copy plans, unless a subclass sets a different writer
+    private final ObjectWriter defaultWriter;
+    private final Map<Class<?>, FieldCopyPlan> copyPlans = new ConcurrentHashMap<>();
     
     /**
      * Constructs a field cloner that copies objects by reading and writing the internal fields directly.
@@ -48,9 +55,10 @@ public class FieldCloner implements Cloner {
             @Override
             protected void transformField(StructureModifier<Object> modifierSource,
                     StructureModifier<Object> modifierDest, int fieldIndex) {
-                defaultTransform(modifierDest, modifierDest, getDefaultCloner(), fieldIndex);
+                defaultTransform(modifierSource, modifierDest, getDefaultCloner(), fieldIndex);
             }
         };
+        this.defaultWriter = this.writer;
     }
 
     /**
@@ -88,7 +96,11 @@ public class FieldCloner implements Cloner {
         Object copy = instanceProvider.create(source.getClass());
         
         // Copy public and private fields alike. Skip static fields.
-        writer.copyTo(source, copy, source.getClass());
+        if (writer == defaultWriter) {
+            copyPlans.computeIfAbsent(source.getClass(), FieldCopyPlan::compile).copy(source, copy, defaultCloner);
+        } else {
+            writer.copyTo(source, copy, source.getClass());
+        }
         return copy;
     }
     
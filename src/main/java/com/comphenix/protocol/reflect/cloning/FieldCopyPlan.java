@@ -0,0 +1,99 @@
+package com.comphenix.protocol.reflect.cloning;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.comphenix.protocol.reflect.accessors.Accessors;
+import com.comphenix.protocol.reflect.accessors.FieldAccessor;
+import com.google.common.primitives.Primitives;
+
+/**
+ * Describes how to deeply copy every instance field of a class, decided once from the declared field types.
+ * <p>
+ * Fields holding primitives, their wrappers, strings or enums are copied as they are, primitive arrays are copied with
+ * their clone method, and everything else is given to the cloner.
+ */
+final class FieldCopyPlan {
+
+    private static final FieldAccessor[] NO_FIELDS = new FieldAccessor[0];
+
+    private final Class<?> type;
+
+    private final FieldAccessor[] copiedFields;
+    private final FieldAccessor[] arrayFields;
+    private final FieldAccessor[] clonedFields;
+
+    private FieldCopyPlan(Class<?> type, List<FieldAccessor> copied, List<FieldAccessor> arrays, List<FieldAccessor> cloned) {
+        this.type = type;
+        this.copiedFields = copied.toArray(NO_FIELDS);
+        this.arrayFields = arrays.toArray(NO_FIELDS);
+        this.clonedFields = cloned.toArray(NO_FIELDS);
+    }
+
+    /**
+     * Compile the copy plan for every non-static field of the given class and its superclasses.
+     *
+     * @param type - the class to copy.
+     * @return The copy plan.
+     */
+    static FieldCopyPlan compile(Class<?> type) {
+        List<FieldAccessor> copied = new ArrayList<>();
+        List<FieldAccessor> arrays = new ArrayList<>();
+        List<FieldAccessor> cloned = new ArrayList<>();
+
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+
+                Class<?> fieldType = field.getType();
+                FieldAccessor accessor = Accessors.getFieldAccessor(field);
+
+                if (isCopiedAsIs(fieldType)) {
+                    copied.add(accessor);
+                } else if (fieldType.isArray() && fieldType.getComponentType().isPrimitive()) {
+                    arrays.add(accessor);
+                } else {
+                    cloned.add(accessor);
+                }
+            }
+        }
+
+        return new FieldCopyPlan(type, copied, arrays, cloned);
+    }
+
+    // every value such a field can hold is considered immutable by the immutable detector
+    private static boolean isCopiedAsIs(Class<?> fieldType) {
+        return fieldType.isPrimitive() || Primitives.isWrapperType(fieldType) || String.class.equals(fieldType)
+                || fieldType.isEnum();
+    }
+
+    /**
+     * Copy every field from the source to the destination.
+     *
+     * @param source      - the object to copy.
+     * @param destination - the new object of the same class.
+     * @param cloner      - the cloner used for fields that may hold mutable values, must accept NULL.
+     */
+    void copy(Object source, Object destination, Cloner cloner) {
+        try {
+            for (FieldAccessor accessor : this.copiedFields) {
+                accessor.set(destination, accessor.get(source));
+            }
+
+            for (FieldAccessor accessor : this.arrayFields) {
+                Object array = accessor.get(source);
+                accessor.set(destination, array == null ? null : CollectionCloner.clonePrimitive(array.getClass().getComponentType(), array));
+            }
+
+            for (FieldAccessor accessor : this.clonedFields) {
+                accessor.set(destination, cloner.clone(accessor.get(source)));
+            }
+        } catch (Exception e) {
+            throw new RuntimeException("Unable to copy fields from " + this.type.getName(), e);
+        }
+    }
+}
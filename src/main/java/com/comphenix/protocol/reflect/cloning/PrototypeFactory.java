@@ -0,0 +1,85 @@
+package com.comphenix.protocol.reflect.cloning;
+
+import java.lang.reflect.Field;
+import java.util.function.Supplier;
+
+import com.comphenix.protocol.ProtocolLogger;
+import com.google.common.base.Preconditions;
+
+/**
+ * Creates new instances of a class by copying a prototype instance that was created once.
+ * <p>
+ * New instances are allocated without running a constructor, and then receive the field values of the prototype. Fields
+ * that may hold mutable values are given to a cloner, so the new instances don't share any state with the prototype.
+ */
+public final class PrototypeFactory implements Supplier<Object> {
+
+    private static final sun.misc.Unsafe UNSAFE = findUnsafe();
+
+    private final Object prototype;
+    private final FieldCopyPlan copyPlan;
+    private final Cloner cloner;
+
+    private PrototypeFactory(Object prototype, Cloner cloner) {
+        this.prototype = prototype;
+        this.copyPlan = FieldCopyPlan.compile(prototype.getClass());
+        this.cloner = cloner;
+    }
+
+    private static sun.misc.Unsafe findUnsafe() {
+        try {
+            Field theUnsafe = sun.misc.Unsafe.class.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            return (sun.misc.Unsafe) theUnsafe.get(null);
+        } catch (Exception ex) {
+            ProtocolLogger.debug("Unable to retrieve unsafe, prototypes are disabled", ex);
+            return null;
+        }
+    }
+
+    /**
+     * Determine if instances can be allocated without running a constructor in this environment.
+     *
+     * @return TRUE if they can, FALSE otherwise.
+     */
+    public static boolean isSupported() {
+        return UNSAFE != null;
+    }
+
+    /**
+     * Allocate a new instance of the given class without running any constructor, leaving every field at its default.
+     *
+     * @param type - the class to allocate.
+     * @return The new instance.
+     * @throws IllegalStateException If the class cannot be allocated.
+     */
+    public static Object allocateInstance(Class<?> type) {
+        Preconditions.checkState(UNSAFE != null, "Allocating instances is not supported");
+        try {
+            return UNSAFE.allocateInstance(type);
+        } catch (InstantiationException ex) {
+            throw new IllegalStateException("Unable to allocate " + type, ex);
+        }
+    }
+
+    /**
+     * Create a factory that copies the given prototype.
+     *
+     * @param prototype - the prototype, which must not be modified afterwards.
+     * @param cloner    - the cloner used for fields that may hold mutable values, must accept NULL.
+     * @return The factory.
+     */
+    public static PrototypeFactory fromPrototype(Object prototype, Cloner cloner) {
+        Preconditions.checkNotNull(prototype, "prototype cannot be NULL");
+        Preconditions.checkNotNull(cloner, "cloner cannot be NULL");
+        Preconditions.checkState(UNSAFE != null, "Allocating instances is not supported");
+        return new PrototypeFactory(prototype, cloner);
+    }
+
+    @Override
+    public Object get() {
+        Object instance = allocateInstance(this.prototype.getClass());
+        this.copyPlan.copy(this.prototype, instance, this.cloner);
+        return instance;
+    }
+}
@@ -14,7 +14,7 @@ import javax.annotation.Nonnull;
  * @param <T> - type that it matches.
  * @author Kristian
  */
-public abstract class AbstractFuzzyMember<T extends Member> implements AbstractFuzzyMatcher<T> {
+public abstract class AbstractFuzzyMember<T extends Member> implements AbstractFuzzyMatcher<T>, ValueMatcher {
 
     // Accessibility matchers
     protected int modifiersRequired;
@@ -157,6 +157,17 @@ public abstract class AbstractFuzzyMember<T extends Member> implements AbstractF
         return map;
     }
 
+    /**
+     * Determine if this contract and every matcher it consists of compare by value, so equal contracts built at
+     * different call sites are equal. Contracts containing a lambda matcher only equal themselves.
+     *
+     * @return TRUE if they do, FALSE otherwise.
+     */
+    @Override
+    public boolean hasValueEquality() {
+        return FuzzyMatchers.hasValueEquality(this.declaringMatcher);
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) {
@@ -7,7 +7,7 @@ import java.util.regex.Pattern;
  *
  * @author Kristian
  */
-final class ClassRegexMatcher implements AbstractFuzzyMatcher<Class<?>> {
+final class ClassRegexMatcher implements AbstractFuzzyMatcher<Class<?>>, ValueMatcher {
 
     private final Pattern regex;
 
@@ -24,6 +24,22 @@ final class ClassRegexMatcher implements AbstractFuzzyMatcher<Class<?>> {
         }
     }
 
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        } else if (obj instanceof ClassRegexMatcher) {
+            return FuzzyMatchers.checkPattern(this.regex, ((ClassRegexMatcher) obj).regex);
+        } else {
+            return false;
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        return this.regex != null ? this.regex.pattern().hashCode() : 0;
+    }
+
     @Override
     public String toString() {
         return "{ type matches \"" + this.regex.pattern() + "\" }";
@@ -7,7 +7,7 @@ import java.util.Set;
  *
  * @author Kristian
  */
-final class ClassSetMatcher implements AbstractFuzzyMatcher<Class<?>> {
+final class ClassSetMatcher implements AbstractFuzzyMatcher<Class<?>>, ValueMatcher {
 
     private final Set<Class<?>> classes;
 
@@ -20,6 +20,22 @@ final class ClassSetMatcher implements AbstractFuzzyMatcher<Class<?>> {
         return this.classes.contains(value);
     }
 
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        } else if (obj instanceof ClassSetMatcher) {
+            return this.classes.equals(((ClassSetMatcher) obj).classes);
+        } else {
+            return false;
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        return this.classes.hashCode();
+    }
+
     @Override
     public String toString() {
         return "{ type any of " + this.classes + " }";
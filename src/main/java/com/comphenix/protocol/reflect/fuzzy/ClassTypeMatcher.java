@@ -1,11 +1,13 @@
 package com.comphenix.protocol.reflect.fuzzy;
 
+import java.util.Objects;
+
 /**
  * Used to check class equality.
  *
  * @author Kristian
  */
-final class ClassTypeMatcher implements AbstractFuzzyMatcher<Class<?>> {
+final class ClassTypeMatcher implements AbstractFuzzyMatcher<Class<?>>, ValueMatcher {
 
     /**
      * Match any class.
@@ -77,6 +79,23 @@ final class ClassTypeMatcher implements AbstractFuzzyMatcher<Class<?>> {
         return this.variant;
     }
 
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        } else if (obj instanceof ClassTypeMatcher) {
+            ClassTypeMatcher other = (ClassTypeMatcher) obj;
+            return this.variant == other.variant && Objects.equals(this.matcher, other.matcher);
+        } else {
+            return false;
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.matcher, this.variant);
+    }
+
     @Override
     public String toString() {
         switch (this.variant) {
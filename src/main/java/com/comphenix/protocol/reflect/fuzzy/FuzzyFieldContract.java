@@ -2,6 +2,7 @@ package com.comphenix.protocol.reflect.fuzzy;
 
 import java.lang.reflect.Field;
 import java.util.Map;
+import java.util.Objects;
 import java.util.regex.Pattern;
 import javax.annotation.Nonnull;
 
@@ -75,6 +76,27 @@ public class FuzzyFieldContract extends AbstractFuzzyMember<Field> {
         return member;
     }
 
+    @Override
+    public boolean hasValueEquality() {
+        return super.hasValueEquality() && FuzzyMatchers.hasValueEquality(this.typeMatcher);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        } else if (obj instanceof FuzzyFieldContract && super.equals(obj)) {
+            return Objects.equals(this.typeMatcher, ((FuzzyFieldContract) obj).typeMatcher);
+        } else {
+            return false;
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), this.typeMatcher);
+    }
+
     /**
      * Represents a builder for a field matcher.
      *
@@ -1,7 +1,10 @@
 package com.comphenix.protocol.reflect.fuzzy;
 
 import com.comphenix.protocol.reflect.fuzzy.ClassTypeMatcher.MatchVariant;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Sets;
+import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import java.util.regex.Pattern;
 
@@ -26,27 +29,20 @@ public class FuzzyMatchers {
      * @return A new array matcher.
      */
     public static AbstractFuzzyMatcher<Class<?>> matchArray(AbstractFuzzyMatcher<Class<?>> componentMatcher) {
-        return (value, parent) -> value.isArray() && componentMatcher.isMatch(value.getComponentType(), parent);
+        return new ArrayMatcher(componentMatcher);
     }
 
     public static AbstractFuzzyMatcher<Class<?>> except(Class<?> clazz) {
-        return (value, parent) -> !clazz.isAssignableFrom(value);
+        return new AssignableMatcher(clazz, true);
     }
 
     public static AbstractFuzzyMatcher<Class<?>> assignable(Class<?> clazz) {
-        return (value, parent) -> clazz.isAssignableFrom(value);
+        return new AssignableMatcher(clazz, false);
     }
 
     @SafeVarargs
     public static AbstractFuzzyMatcher<Class<?>> and(AbstractFuzzyMatcher<Class<?>>... matchers) {
-        return (value, parent) -> {
-            for (AbstractFuzzyMatcher<Class<?>> matcher : matchers) {
-                if (!matcher.isMatch(value, parent)) {
-                    return false;
-                }
-            }
-            return true;
-        };
+        return new AndMatcher(ImmutableList.copyOf(matchers));
     }
 
     /**
@@ -128,6 +124,19 @@ public class FuzzyMatchers {
         return FuzzyMatchers.matchRegex(Pattern.compile(regex));
     }
 
+    /**
+     * Determine if the given matcher compares by value.
+     *
+     * @param matcher - the matcher, or NULL.
+     * @return TRUE if it does, FALSE if it only compares by identity.
+     */
+    static boolean hasValueEquality(Object matcher) {
+        if (matcher == null || matcher == MATCH_ALL) {
+            return true;
+        }
+        return matcher instanceof ValueMatcher && ((ValueMatcher) matcher).hasValueEquality();
+    }
+
     /**
      * Determine if two patterns are the same.
      * <p>
@@ -148,4 +157,121 @@ public class FuzzyMatchers {
             return a.pattern().equals(b.pattern());
         }
     }
+
+    private static final class ArrayMatcher implements AbstractFuzzyMatcher<Class<?>>, ValueMatcher {
+
+        private final AbstractFuzzyMatcher<Class<?>> componentMatcher;
+
+        ArrayMatcher(AbstractFuzzyMatcher<Class<?>> componentMatcher) {
+            this.componentMatcher = componentMatcher;
+        }
+
+        @Override
+        public boolean isMatch(Class<?> value, Object parent) {
+            return value.isArray() && this.componentMatcher.isMatch(value.getComponentType(), parent);
+        }
+
+        @Override
+        public boolean hasValueEquality() {
+            return FuzzyMatchers.hasValueEquality(this.componentMatcher);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return this == obj || obj instanceof ArrayMatcher
+                    && this.componentMatcher.equals(((ArrayMatcher) obj).componentMatcher);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.componentMatcher.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return "{ array of " + this.componentMatcher + " }";
+        }
+    }
+
+    private static final class AssignableMatcher implements AbstractFuzzyMatcher<Class<?>>, ValueMatcher {
+
+        private final Class<?> type;
+        private final boolean inverted;
+
+        AssignableMatcher(Class<?> type, boolean inverted) {
+            this.type = type;
+            this.inverted = inverted;
+        }
+
+        @Override
+        public boolean isMatch(Class<?> value, Object parent) {
+            return this.type.isAssignableFrom(value) != this.inverted;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            } else if (obj instanceof AssignableMatcher) {
+                AssignableMatcher other = (AssignableMatcher) obj;
+                return this.inverted == other.inverted && this.type.equals(other.type);
+            } else {
+                return false;
+            }
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.type, this.inverted);
+        }
+
+        @Override
+        public String toString() {
+            return "{ type " + (this.inverted ? "not " : "") + "assignable to " + this.type + " }";
+        }
+    }
+
+    private static final class AndMatcher implements AbstractFuzzyMatcher<Class<?>>, ValueMatcher {
+
+        private final List<AbstractFuzzyMatcher<Class<?>>> matchers;
+
+        AndMatcher(List<AbstractFuzzyMatcher<Class<?>>> matchers) {
+            this.matchers = matchers;
+        }
+
+        @Override
+        public boolean isMatch(Class<?> value, Object parent) {
+            for (AbstractFuzzyMatcher<Class<?>> matcher : this.matchers) {
+                if (!matcher.isMatch(value, parent)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public boolean hasValueEquality() {
+            for (AbstractFuzzyMatcher<Class<?>> matcher : this.matchers) {
+                if (!FuzzyMatchers.hasValueEquality(matcher)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return this == obj || obj instanceof AndMatcher && this.matchers.equals(((AndMatcher) obj).matchers);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.matchers.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return "{ all of " + this.matchers + " }";
+        }
+    }
 }
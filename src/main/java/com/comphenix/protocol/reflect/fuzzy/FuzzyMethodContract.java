@@ -5,6 +5,7 @@ import com.google.common.collect.ImmutableList;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.regex.Pattern;
 import javax.annotation.Nonnull;
 
@@ -186,6 +187,50 @@ public class FuzzyMethodContract extends AbstractFuzzyMember<MethodInfo> {
         return member;
     }
 
+    @Override
+    public boolean hasValueEquality() {
+        return super.hasValueEquality()
+                && FuzzyMatchers.hasValueEquality(this.returnMatcher)
+                && hasValueEquality(this.paramMatchers)
+                && hasValueEquality(this.exceptionMatchers);
+    }
+
+    private static boolean hasValueEquality(List<ParameterClassMatcher> matchers) {
+        if (matchers != null) {
+            for (ParameterClassMatcher matcher : matchers) {
+                if (!FuzzyMatchers.hasValueEquality(matcher.typeMatcher)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        } else if (obj instanceof FuzzyMethodContract && super.equals(obj)) {
+            FuzzyMethodContract other = (FuzzyMethodContract) obj;
+            return Objects.equals(this.paramCount, other.paramCount)
+                    && Objects.equals(this.returnMatcher, other.returnMatcher)
+                    && Objects.equals(this.paramMatchers, other.paramMatchers)
+                    && Objects.equals(this.exceptionMatchers, other.exceptionMatchers);
+        } else {
+            return false;
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(
+                super.hashCode(),
+                this.paramCount,
+                this.returnMatcher,
+                this.paramMatchers,
+                this.exceptionMatchers);
+    }
+
     private static final class ParameterClassMatcher implements AbstractFuzzyMatcher<Class<?>[]> {
 
         /**
@@ -236,6 +281,24 @@ public class FuzzyMethodContract extends AbstractFuzzyMember<MethodInfo> {
             throw new UnsupportedOperationException();
         }
 
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            } else if (obj instanceof ParameterClassMatcher) {
+                ParameterClassMatcher other = (ParameterClassMatcher) obj;
+                return Objects.equals(this.indexMatch, other.indexMatch)
+                        && Objects.equals(this.typeMatcher, other.typeMatcher);
+            } else {
+                return false;
+            }
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.typeMatcher, this.indexMatch);
+        }
+
         @Override
         public String toString() {
             return String.format("{ Parameter Type: %s, Index: %s }", this.typeMatcher, this.indexMatch);
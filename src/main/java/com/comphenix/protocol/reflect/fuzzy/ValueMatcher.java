@@ -0,0 +1,17 @@
+package com.comphenix.protocol.reflect.fuzzy;
+
+/**
+ * A matcher that compares by value, so equal matchers built at different call sites are interchangeable.
+ */
+interface ValueMatcher {
+
+    /**
+     * Determine if this matcher and every matcher it is composed of compare by value. Matchers such as lambdas only
+     * compare by identity, which makes the composed matcher compare by identity as well.
+     *
+     * @return TRUE if it does, FALSE otherwise.
+     */
+    default boolean hasValueEquality() {
+        return true;
+    }
+}
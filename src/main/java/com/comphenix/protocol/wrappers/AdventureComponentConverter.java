@@ -43,10 +43,15 @@ public class AdventureComponentConverter {
 
     /**
      * Converts a {@link WrappedChatComponent} into a {@link Component}
+     * <p>
+     * On 1.19 and later, the component tree is converted directly instead of through JSON where possible.
      * @param wrapper ProtocolLib wrapper
      * @return Component
      */
     public static Component fromWrapper(WrappedChatComponent wrapper) {
+        if (DirectComponentConverter.isSupported()) {
+            return DirectComponentConverter.fromHandle(wrapper.getHandle(), SERIALIZER);
+        }
         return SERIALIZER.deserialize(wrapper.getJson());
     }
 
@@ -79,10 +84,15 @@ public class AdventureComponentConverter {
 
     /**
      * Converts a {@link Component} into a ProtocolLib wrapper
+     * <p>
+     * On 1.19 and later, the component tree is converted directly instead of through JSON where possible.
      * @param component Component
      * @return ProtocolLib wrapper
      */
     public static WrappedChatComponent fromComponent(Component component) {
+        if (DirectComponentConverter.isSupported()) {
+            return WrappedChatComponent.fromHandle(DirectComponentConverter.toHandle(component, SERIALIZER));
+        }
         return WrappedChatComponent.fromJson(SERIALIZER.serialize(component));
     }
 
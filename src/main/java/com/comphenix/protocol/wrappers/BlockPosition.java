@@ -157,11 +157,17 @@ public class BlockPosition {
         return new BlockPosition(x / divisor, y / divisor, z / divisor);
     }
     
+    private static final EquivalentConverter<BlockPosition> CONVERTER = createConverter();
+
     /**
      * Used to convert between NMS ChunkPosition and the wrapper instance.
-     * @return A new converter.
+     * @return The shared converter.
      */
     public static EquivalentConverter<BlockPosition> getConverter() {
+        return CONVERTER;
+    }
+
+    private static EquivalentConverter<BlockPosition> createConverter() {
         return new EquivalentConverter<BlockPosition>() {
             @Override
             public Object getGeneric(BlockPosition specific) {
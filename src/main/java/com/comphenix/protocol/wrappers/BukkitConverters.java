@@ -16,7 +16,6 @@
  */
 package com.comphenix.protocol.wrappers;
 
-import java.lang.ref.WeakReference;
 import java.lang.reflect.Array;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
@@ -61,6 +60,7 @@ import com.comphenix.protocol.wrappers.Either.Right;
 import com.comphenix.protocol.wrappers.EnumWrappers.Dimension;
 import com.comphenix.protocol.wrappers.EnumWrappers.FauxEnumConverter;
 import com.comphenix.protocol.wrappers.WrappedProfilePublicKey.WrappedProfileKeyData;
+import com.comphenix.protocol.wrappers.collection.ConvertedList;
 import com.comphenix.protocol.wrappers.nbt.NbtBase;
 import com.comphenix.protocol.wrappers.nbt.NbtFactory;
 
@@ -113,6 +113,17 @@ public class BukkitConverters {
     
     // Used for fetching the CraftWorld associated with a WorldServer
     private static FieldAccessor craftWorldField;
+
+    // Composed converters, shared between calls
+    private static final ConverterCache MAP_CONVERTERS = new ConverterCache();
+    private static final ConverterCache LIST_CONVERTERS = new ConverterCache();
+    private static final ConverterCache TYPED_LIST_CONVERTERS = new ConverterCache();
+    private static final ConverterCache SET_CONVERTERS = new ConverterCache();
+    private static final ConverterCache ARRAY_CONVERTERS = new ConverterCache();
+    private static final ConverterCache PAIR_CONVERTERS = new ConverterCache();
+    private static final ConverterCache EITHER_CONVERTERS = new ConverterCache();
+    // The entity converters reference their world, which must not be kept loaded
+    private static final ConverterCache ENTITY_CONVERTERS = new ConverterCache(true);
     
     static {
         try {
@@ -233,6 +244,11 @@ public class BukkitConverters {
 
     public static <K, V> EquivalentConverter<Map<K, V>> getMapConverter(EquivalentConverter<K> keyConverter,
                                                                             EquivalentConverter<V> valConverter) {
+        return MAP_CONVERTERS.get(keyConverter, valConverter, BukkitConverters::createMapConverter);
+    }
+
+    private static <K, V> EquivalentConverter<Map<K, V>> createMapConverter(EquivalentConverter<K> keyConverter,
+                                                                            EquivalentConverter<V> valConverter) {
         return new EquivalentConverter<Map<K, V>>() {
             @Override
             public Map<K, V> getSpecific(Object generic) {
@@ -337,6 +353,10 @@ public class BukkitConverters {
     }
 
     public static <T> EquivalentConverter<List<T>> getListConverter(final Class<?> listClass, final EquivalentConverter<T> itemConverter) {
+        return TYPED_LIST_CONVERTERS.get(listClass, itemConverter, BukkitConverters::createTypedListConverter);
+    }
+
+    private static <T> EquivalentConverter<List<T>> createTypedListConverter(final Class<?> listClass, final EquivalentConverter<T> itemConverter) {
         return ignoreNull(new EquivalentConverter<List<T>>() {
             @Override
             public List<T> getSpecific(Object generic) {
@@ -364,6 +384,10 @@ public class BukkitConverters {
      * @return An equivalent converter.
      */
     public static <T> EquivalentConverter<List<T>> getListConverter(final EquivalentConverter<T> itemConverter) {
+        return LIST_CONVERTERS.get(itemConverter, BukkitConverters::createListConverter);
+    }
+
+    private static <T> EquivalentConverter<List<T>> createListConverter(final EquivalentConverter<T> itemConverter) {
         // Convert to and from the wrapper
         return ignoreNull(new EquivalentConverter<List<T>>() {
             @Override
@@ -385,9 +409,14 @@ public class BukkitConverters {
         });
     }
 
-    @SuppressWarnings("rawtypes")
     public static <A, B> EquivalentConverter<Pair<A, B>> getPairConverter(final EquivalentConverter<A> firstConverter,
                                                                           final EquivalentConverter<B> secondConverter) {
+        return PAIR_CONVERTERS.get(firstConverter, secondConverter, BukkitConverters::createPairConverter);
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static <A, B> EquivalentConverter<Pair<A, B>> createPairConverter(final EquivalentConverter<A> firstConverter,
+                                                                              final EquivalentConverter<B> secondConverter) {
         return ignoreNull(new EquivalentConverter<Pair<A, B>>() {
             @Override
             public Object getGeneric(Pair<A, B> specific) {
@@ -425,6 +454,11 @@ public class BukkitConverters {
      */
     public static <A, B> EquivalentConverter<Either<A, B>> getEitherConverter(EquivalentConverter<A> leftConverter,
                                                                               EquivalentConverter<B> rightConverter) {
+        return EITHER_CONVERTERS.get(leftConverter, rightConverter, BukkitConverters::createEitherConverter);
+    }
+
+    private static <A, B> EquivalentConverter<Either<A, B>> createEitherConverter(EquivalentConverter<A> leftConverter,
+                                                                                  EquivalentConverter<B> rightConverter) {
         return ignoreNull(new EquivalentConverter<Either<A, B>>() {
             @Override
             public Object getGeneric(Either<A, B> specific) {
@@ -458,8 +492,12 @@ public class BukkitConverters {
      * @param itemConverter - an equivalent converter for the generic type.
      * @return An equivalent converter.
      */
-    @SuppressWarnings("unchecked")
     public static <T> EquivalentConverter<Set<T>> getSetConverter(final EquivalentConverter<T> itemConverter) {
+        return SET_CONVERTERS.get(itemConverter, BukkitConverters::createSetConverter);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> EquivalentConverter<Set<T>> createSetConverter(final EquivalentConverter<T> itemConverter) {
         // Convert to and from the wrapper
         return ignoreNull(new EquivalentConverter<Set<T>>() {
 
@@ -528,6 +566,11 @@ public class BukkitConverters {
      */
     public static <T> EquivalentConverter<Iterable<? extends T>> getArrayConverter(final Class<?> genericItemType,
                                                                                    final EquivalentConverter<T> itemConverter) {
+        return ARRAY_CONVERTERS.get(genericItemType, itemConverter, BukkitConverters::createArrayConverter);
+    }
+
+    private static <T> EquivalentConverter<Iterable<? extends T>> createArrayConverter(final Class<?> genericItemType,
+                                                                                       final EquivalentConverter<T> itemConverter) {
         // Convert to and from the wrapper
         return ignoreNull(new EquivalentConverter<Iterable<? extends T>>() {
             @Override
@@ -569,28 +612,34 @@ public class BukkitConverters {
         });
     }
     
+    private static final EquivalentConverter<WrappedGameProfile> WRAPPED_GAME_PROFILE_CONVERTER = ignoreNull(handle(WrappedGameProfile::getHandle, WrappedGameProfile::fromHandle, WrappedGameProfile.class));
+
     /**
      * Retrieve a converter for wrapped game profiles.
      * @return Wrapped game profile converter.
      */
     public static EquivalentConverter<WrappedGameProfile> getWrappedGameProfileConverter() {
-        return ignoreNull(handle(WrappedGameProfile::getHandle, WrappedGameProfile::fromHandle, WrappedGameProfile.class));
+        return WRAPPED_GAME_PROFILE_CONVERTER;
     }
     
+    private static final EquivalentConverter<WrappedChatComponent> WRAPPED_CHAT_COMPONENT_CONVERTER = ignoreNull(handle(WrappedChatComponent::getHandle, WrappedChatComponent::fromHandle, WrappedChatComponent.class));
+
     /**
      * Retrieve a converter for wrapped chat components.
      * @return Wrapped chat component.
      */
     public static EquivalentConverter<WrappedChatComponent> getWrappedChatComponentConverter() {
-        return ignoreNull(handle(WrappedChatComponent::getHandle, WrappedChatComponent::fromHandle, WrappedChatComponent.class));
+        return WRAPPED_CHAT_COMPONENT_CONVERTER;
     }
     
+    private static final EquivalentConverter<WrappedBlockData> WRAPPED_BLOCK_DATA_CONVERTER = ignoreNull(handle(WrappedBlockData::getHandle, WrappedBlockData::fromHandle, WrappedBlockData.class));
+
     /**
      * Retrieve a converter for wrapped block data.
      * @return Wrapped block data.
      */
     public static EquivalentConverter<WrappedBlockData> getWrappedBlockDataConverter() {
-        return ignoreNull(handle(WrappedBlockData::getHandle, WrappedBlockData::fromHandle, WrappedBlockData.class));
+        return WRAPPED_BLOCK_DATA_CONVERTER;
     }
 
     /**
@@ -609,12 +658,14 @@ public class BukkitConverters {
         );
     }
 
+    private static final EquivalentConverter<WrappedAttribute> WRAPPED_ATTRIBUTE_CONVERTER = ignoreNull(handle(WrappedAttribute::getHandle, WrappedAttribute::fromHandle, WrappedAttribute.class));
+
     /**
      * Retrieve a converter for wrapped attribute snapshots.
      * @return Wrapped attribute snapshot converter.
      */
     public static EquivalentConverter<WrappedAttribute> getWrappedAttributeConverter() {
-        return ignoreNull(handle(WrappedAttribute::getHandle, WrappedAttribute::fromHandle, WrappedAttribute.class));
+        return WRAPPED_ATTRIBUTE_CONVERTER;
     }
 
     public static EquivalentConverter<WrappedProfilePublicKey> getWrappedProfilePublicKeyConverter() {
@@ -659,87 +710,95 @@ public class BukkitConverters {
         return ignoreNull(handle(WrappedNumberFormat::getHandle, WrappedNumberFormat::fromHandle, WrappedNumberFormat.class));
     }
 
+    private static final EquivalentConverter<PacketContainer> PACKET_CONTAINER_CONVERTER = ignoreNull(handle(PacketContainer::getHandle, PacketContainer::fromPacket, PacketContainer.class));
+
     public static EquivalentConverter<PacketContainer> getPacketContainerConverter() {
-        return ignoreNull(handle(PacketContainer::getHandle, PacketContainer::fromPacket, PacketContainer.class));
+        return PACKET_CONTAINER_CONVERTER;
     }
 
+    private static final EquivalentConverter<WrappedWatchableObject> WATCHABLE_OBJECT_CONVERTER = ignoreNull(new EquivalentConverter<WrappedWatchableObject>() {
+        @Override
+        public Object getGeneric(WrappedWatchableObject specific) {
+            return specific.getHandle();
+        }
+
+        @Override
+        public WrappedWatchableObject getSpecific(Object generic) {
+            if (MinecraftReflection.is(MinecraftReflection.getDataWatcherItemClass(), generic))
+                return new WrappedWatchableObject(generic);
+            else if (generic instanceof WrappedWatchableObject)
+                return (WrappedWatchableObject) generic;
+            else
+                throw new IllegalArgumentException("Unrecognized type " + generic.getClass());
+        }
+
+        @Override
+        public Class<WrappedWatchableObject> getSpecificType() {
+            return WrappedWatchableObject.class;
+        }
+    });
+
     /**
      * Retrieve a converter for watchable objects and the respective wrapper.
      * @return A watchable object converter.
      */
     public static EquivalentConverter<WrappedWatchableObject> getWatchableObjectConverter() {
-        return ignoreNull(new EquivalentConverter<WrappedWatchableObject>() {
-            @Override
-            public Object getGeneric(WrappedWatchableObject specific) {
-                return specific.getHandle();
-            }
+        return WATCHABLE_OBJECT_CONVERTER;
+    }
 
-            @Override
-            public WrappedWatchableObject getSpecific(Object generic) {
-                if (MinecraftReflection.is(MinecraftReflection.getDataWatcherItemClass(), generic))
-                    return new WrappedWatchableObject(generic);
-                else if (generic instanceof WrappedWatchableObject)
-                    return (WrappedWatchableObject) generic;
-                else
-                    throw new IllegalArgumentException("Unrecognized type " + generic.getClass());
-            }
+    private static final EquivalentConverter<WrappedDataValue> DATA_VALUE_CONVERTER = ignoreNull(new EquivalentConverter<WrappedDataValue>() {
+        @Override
+        public Object getGeneric(WrappedDataValue specific) {
+            return specific.getHandle();
+        }
 
-            @Override
-            public Class<WrappedWatchableObject> getSpecificType() {
-                return WrappedWatchableObject.class;
-            }
-        });
-    }
+        @Override
+        public WrappedDataValue getSpecific(Object generic) {
+            return new WrappedDataValue(generic);
+        }
+
+        @Override
+        public Class<WrappedDataValue> getSpecificType() {
+            return WrappedDataValue.class;
+        }
+    });
 
     /**
      * Retrieve a converter for data values in 1.19.3+.
      * @return A data value converter.
      */
     public static EquivalentConverter<WrappedDataValue> getDataValueConverter() {
-        return ignoreNull(new EquivalentConverter<WrappedDataValue>() {
-            @Override
-            public Object getGeneric(WrappedDataValue specific) {
-                return specific.getHandle();
-            }
-
-            @Override
-            public WrappedDataValue getSpecific(Object generic) {
-                return new WrappedDataValue(generic);
-            }
-
-            @Override
-            public Class<WrappedDataValue> getSpecificType() {
-                return WrappedDataValue.class;
-            }
-        });
+        return DATA_VALUE_CONVERTER;
     }
     
+    private static final EquivalentConverter<WrappedDataWatcher> DATA_WATCHER_CONVERTER = ignoreNull(new EquivalentConverter<WrappedDataWatcher>() {
+        @Override
+        public Object getGeneric(WrappedDataWatcher specific) {
+            return specific.getHandle();
+        }
+
+        @Override
+        public WrappedDataWatcher getSpecific(Object generic) {
+            if (MinecraftReflection.isDataWatcher(generic))
+                return new WrappedDataWatcher(generic);
+            else if (generic instanceof WrappedDataWatcher)
+                return (WrappedDataWatcher) generic;
+            else
+                throw new IllegalArgumentException("Unrecognized type " + generic.getClass());
+        }
+
+        @Override
+        public Class<WrappedDataWatcher> getSpecificType() {
+            return WrappedDataWatcher.class;
+        }
+    });
+
     /**
      * Retrieve a converter for the NMS DataWatcher class and our wrapper.
      * @return A DataWatcher converter.
      */
     public static EquivalentConverter<WrappedDataWatcher> getDataWatcherConverter() {
-        return ignoreNull(new EquivalentConverter<WrappedDataWatcher>() {
-            @Override
-            public Object getGeneric(WrappedDataWatcher specific) {
-                return specific.getHandle();
-            }
-
-            @Override
-            public WrappedDataWatcher getSpecific(Object generic) {
-                if (MinecraftReflection.isDataWatcher(generic))
-                    return new WrappedDataWatcher(generic);
-                else if (generic instanceof WrappedDataWatcher)
-                    return (WrappedDataWatcher) generic;
-                else
-                    throw new IllegalArgumentException("Unrecognized type " + generic.getClass());
-            }
-
-            @Override
-            public Class<WrappedDataWatcher> getSpecificType() {
-                return WrappedDataWatcher.class;
-            }
-        });
+        return DATA_WATCHER_CONVERTER;
     }
     
     /**
@@ -800,30 +859,32 @@ public class BukkitConverters {
         });
     }
     
+    private static final EquivalentConverter<NbtBase<?>> NBT_CONVERTER = ignoreNull(new EquivalentConverter<NbtBase<?>>() {
+        @Override
+        public Object getGeneric(NbtBase<?> specific) {
+            return NbtFactory.fromBase(specific).getHandle();
+        }
+
+        @Override
+        public NbtBase<?> getSpecific(Object generic) {
+            return NbtFactory.fromNMS(generic, null);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Class<NbtBase<?>> getSpecificType() {
+            // Damn you Java AGAIN
+            Class<?> dummy = NbtBase.class;
+            return (Class<NbtBase<?>>) dummy;
+        }
+    });
+
     /**
      * Retrieve an equivalent converter for net.minecraft.server NBT classes and their wrappers.
      * @return An equivalent converter for NBT.
      */
     public static EquivalentConverter<NbtBase<?>> getNbtConverter() {
-        return ignoreNull(new EquivalentConverter<NbtBase<?>>() {
-            @Override
-            public Object getGeneric(NbtBase<?> specific) {
-                return NbtFactory.fromBase(specific).getHandle();
-            }
-
-            @Override
-            public NbtBase<?> getSpecific(Object generic) {
-                return NbtFactory.fromNMS(generic, null);
-            }
-
-            @Override
-            @SuppressWarnings("unchecked")
-            public Class<NbtBase<?>> getSpecificType() {
-                // Damn you Java AGAIN
-                Class<?> dummy = NbtBase.class;
-                return (Class<NbtBase<?>>) dummy;
-            }
-        });
+        return NBT_CONVERTER;
     }
     
     /**
@@ -832,8 +893,10 @@ public class BukkitConverters {
      * @return A converter between the underlying NMS entity and Bukkit's wrapper.
      */
     public static EquivalentConverter<Entity> getEntityConverter(World world) {
-        final WeakReference<ProtocolManager> managerRef = new WeakReference<>(ProtocolLibrary.getProtocolManager());
+        return ENTITY_CONVERTERS.get(world, BukkitConverters::createEntityConverter);
+    }
 
+    private static EquivalentConverter<Entity> createEntityConverter(World world) {
         return new WorldSpecificConverter<Entity>(world) {
             @Override
             public Object getGeneric(Entity specific) {
@@ -845,7 +908,7 @@ public class BukkitConverters {
             public Entity getSpecific(Object generic) {
                 try {
                     Integer id = (Integer) generic;
-                    ProtocolManager manager = managerRef.get();
+                    ProtocolManager manager = ProtocolLibrary.getProtocolManager();
                     
                     // Use the entity ID to get a reference to the entity
                     if (id != null && id >= 0 && manager != null) {
@@ -914,27 +977,92 @@ public class BukkitConverters {
         });
     }
     
+    private static final EquivalentConverter<ItemStack> ITEM_STACK_CONVERTER = new EquivalentConverter<ItemStack>() {
+        @Override
+        public ItemStack getSpecific(Object generic) {
+            return MinecraftReflection.getBukkitItemStack(generic);
+        }
+
+        @Override
+        public Object getGeneric(ItemStack specific) {
+            return MinecraftReflection.getMinecraftItemStack(specific);
+        }
+
+        @Override
+        public Class<ItemStack> getSpecificType() {
+            return ItemStack.class;
+        }
+    };
+
     /**
      * Retrieve the converter used to convert NMS ItemStacks to Bukkit's ItemStack.
      * @return Item stack converter.
      */
     public static EquivalentConverter<ItemStack> getItemStackConverter() {
-        return new EquivalentConverter<ItemStack>() {
-            @Override
-            public ItemStack getSpecific(Object generic) {
-                return MinecraftReflection.getBukkitItemStack(generic);
-            }
+        return ITEM_STACK_CONVERTER;
+    }
 
-            @Override
-            public Object getGeneric(ItemStack specific) {
-                return MinecraftReflection.getMinecraftItemStack(specific);
-            }
+    private static final EquivalentConverter<List<ItemStack>> ITEM_LIST_MIRROR_CONVERTER = ignoreNull(new EquivalentConverter<List<ItemStack>>() {
+        @Override
+        @SuppressWarnings("unchecked")
+        public List<ItemStack> getSpecific(Object generic) {
+            return new ItemStackMirrorList((List<Object>) generic);
+        }
 
-            @Override
-            public Class<ItemStack> getSpecificType() {
-                return ItemStack.class;
+        @Override
+        public Object getGeneric(List<ItemStack> specific) {
+            if (specific instanceof ItemStackMirrorList) {
+                // write back by reference
+                return ((ItemStackMirrorList) specific).handle;
             }
-        };
+            return getListConverter(ITEM_STACK_CONVERTER).getGeneric(specific);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Class<List<ItemStack>> getSpecificType() {
+            Class<?> dummy = List.class;
+            return (Class<List<ItemStack>>) dummy;
+        }
+    });
+
+    /**
+     * Retrieve a converter for lists of NMS ItemStacks that reads a view of the list instead of copying it.
+     * <p>
+     * Reading returns a list that is backed by the NMS list, and converts each stack only when it is accessed. Stacks
+     * are CraftBukkit mirrors of the NMS stacks, so modifying them modifies the list directly, and setting an element
+     * stores it in the NMS list. Writing such a view back returns its NMS list by reference, while any other list is
+     * copied as in {@link #getListConverter(EquivalentConverter)}.
+     * <p>
+     * Empty slots are read as new AIR stacks, which must be set back to change the slot. Setting an element to NULL
+     * empties the slot, as the NMS list does not permit NULL. The view has the size of the NMS list, which is usually
+     * fixed, so adding or removing elements may throw an UnsupportedOperationException. A copy is still needed if the
+     * stacks or the view are kept after the packet is sent, or if the same packet is sent to several players that must
+     * not see each others modifications.
+     * @return Item stack list converter.
+     */
+    public static EquivalentConverter<List<ItemStack>> getItemListMirrorConverter() {
+        return ITEM_LIST_MIRROR_CONVERTER;
+    }
+
+    private static final class ItemStackMirrorList extends ConvertedList<Object, ItemStack> {
+        private final List<Object> handle;
+
+        ItemStackMirrorList(List<Object> handle) {
+            super(handle);
+            this.handle = handle;
+        }
+
+        @Override
+        protected Object toInner(ItemStack outer) {
+            // null is stored as the empty stack, like an AIR stack
+            return MinecraftReflection.getMinecraftItemStack(outer != null ? outer : new ItemStack(Material.AIR));
+        }
+
+        @Override
+        protected ItemStack toOuter(Object inner) {
+            return MinecraftReflection.getBukkitItemStack(inner);
+        }
     }
 
     /**
@@ -0,0 +1,168 @@
+package com.comphenix.protocol.wrappers;
+
+import java.util.function.Function;
+
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
+/**
+ * An opt-in cache of the chat components parsed and serialized by {@link WrappedChatComponent}.
+ * <p>
+ * A JSON string is parsed only once, and every later request receives a copy of the parsed Minecraft component, so
+ * that callers can modify it. Copying is far cheaper than parsing, but it is only supported for text and translatable
+ * components in 1.19 and later. Other components are parsed every time, and the cache does nothing before 1.19.
+ * <p>
+ * The JSON of a component is only remembered for the copies produced by this cache, and only returned as long as the
+ * copy is still equal to the parsed component. Every other component is serialized again. Both caches are bounded and
+ * evict the least recently used entries first.
+ */
+public final class ChatComponentCache {
+
+    // marks JSON strings of components that can't be copied, which are parsed every time
+    private static final Object UNCOPYABLE = new Object();
+
+    private static volatile ChatComponentCache instance;
+
+    private final Cache<String, Object> parsed;
+    private final Cache<Object, Produced> serialized;
+
+    private ChatComponentCache(int maximumSize) {
+        this.parsed = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        // weak keys are compared by identity, and do not keep the copies alive
+        this.serialized = CacheBuilder.newBuilder()
+                .weakKeys()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Enable caching of chat components, replacing the current cache if there is one.
+     *
+     * @param maximumSize - the maximum number of parsed components, and of serialized components, to keep.
+     */
+    public static void enable(int maximumSize) {
+        Preconditions.checkArgument(maximumSize > 0, "maximumSize must be positive");
+        instance = new ChatComponentCache(maximumSize);
+    }
+
+    /**
+     * Disable caching of chat components, and discard every cached component.
+     */
+    public static void disable() {
+        instance = null;
+    }
+
+    /**
+     * Retrieve the current cache.
+     *
+     * @return The cache, or NULL if caching is disabled.
+     */
+    public static ChatComponentCache getInstance() {
+        return instance;
+    }
+
+    static Object parse(String json, Function<String, Object> parser) {
+        ChatComponentCache cache = instance;
+        if (cache == null || !DirectComponentConverter.isSupported()) {
+            return parser.apply(json);
+        }
+
+        Object parsed = cache.parsed.getIfPresent(json);
+        if (parsed == UNCOPYABLE) {
+            return parser.apply(json);
+        }
+
+        if (parsed == null) {
+            Object handle = parser.apply(json);
+            Object copy = DirectComponentConverter.copy(handle);
+            if (copy == null) {
+                cache.parsed.put(json, UNCOPYABLE);
+                return handle;
+            }
+
+            // the copy is kept instead, as the caller may modify the returned component
+            cache.parsed.put(json, copy);
+            cache.serialized.put(handle, new Produced(copy, json));
+            return handle;
+        }
+
+        Object copy = DirectComponentConverter.copy(parsed);
+        cache.serialized.put(copy, new Produced(parsed, json));
+        return copy;
+    }
+
+    static String serialize(Object handle, Function<Object, String> serializer) {
+        ChatComponentCache cache = instance;
+        if (cache == null) {
+            return serializer.apply(handle);
+        }
+
+        Produced produced = cache.serialized.getIfPresent(handle);
+        if (produced != null) {
+            if (produced.parsed.equals(handle)) {
+                return produced.json;
+            }
+            // the copy was modified since
+            cache.serialized.invalidate(handle);
+        }
+        return serializer.apply(handle);
+    }
+
+    /**
+     * Retrieve the statistics of parsing JSON strings.
+     *
+     * @return The statistics.
+     */
+    public CacheStats getParseStats() {
+        return this.parsed.stats();
+    }
+
+    /**
+     * Retrieve the statistics of serializing components.
+     *
+     * @return The statistics.
+     */
+    public CacheStats getSerializeStats() {
+        return this.serialized.stats();
+    }
+
+    /**
+     * Retrieve the fraction of both parse and serialize requests that were answered from the cache.
+     *
+     * @return The hit rate, between 0 and 1.
+     */
+    public double getHitRate() {
+        CacheStats stats = this.getParseStats().plus(this.getSerializeStats());
+        return stats.hitRate();
+    }
+
+    /**
+     * Discard every cached component, without disabling the cache.
+     */
+    public void invalidateAll() {
+        this.parsed.invalidateAll();
+        this.serialized.invalidateAll();
+    }
+
+    @Override
+    public String toString() {
+        return "ChatComponentCache[parse=" + this.getParseStats() + ", serialize=" + this.getSerializeStats() + "]";
+    }
+
+    private static final class Produced {
+
+        private final Object parsed;
+        private final String json;
+
+        Produced(Object parsed, String json) {
+            this.parsed = parsed;
+            this.json = json;
+        }
+    }
+}
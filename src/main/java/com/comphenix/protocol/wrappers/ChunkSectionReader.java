@@ -0,0 +1,275 @@
+package com.comphenix.protocol.wrappers;
+
+import com.comphenix.protocol.injector.netty.WirePacket;
+import com.google.common.base.Preconditions;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+/**
+ * Reads the chunk sections of a {@link WrappedLevelChunkData.ChunkData} buffer in 1.18 and later, without copying it.
+ * <p>
+ * Each section consists of its non-air block count, and a paletted container of its 4096 block states and its 64
+ * biomes. Only the palettes are decoded while moving to the next section, the packed entries are read directly from the
+ * buffer when requested. The views returned by this reader are only valid until the next call to {@link #next()}.
+ */
+public final class ChunkSectionReader {
+
+    /**
+     * The number of block states in a section.
+     */
+    public static final int BLOCK_STATES = 4096;
+
+    /**
+     * The number of biomes in a section.
+     */
+    public static final int BIOMES = 64;
+
+    // the largest number of bits per entry that still uses a palette
+    static final int MAX_INDIRECT_BLOCK_BITS = 8;
+    static final int MAX_INDIRECT_BIOME_BITS = 3;
+
+    private final ByteBuf buffer;
+
+    private final PalettedContainer blockStates = new PalettedContainer(BLOCK_STATES, MAX_INDIRECT_BLOCK_BITS);
+    private final PalettedContainer biomes = new PalettedContainer(BIOMES, MAX_INDIRECT_BIOME_BITS);
+
+    private int sectionIndex = -1;
+    private short blockCount;
+
+    /**
+     * Construct a reader over the given chunk buffer.
+     *
+     * @param buffer - the buffer, starting at the first section. It's read from its reader index onwards.
+     */
+    public ChunkSectionReader(ByteBuf buffer) {
+        this.buffer = Preconditions.checkNotNull(buffer, "buffer cannot be null");
+    }
+
+    /**
+     * Construct a reader over the given chunk data.
+     *
+     * @param buffer - the chunk data, as returned by {@link WrappedLevelChunkData.ChunkData#getBuffer()}.
+     */
+    public ChunkSectionReader(byte[] buffer) {
+        this(Unpooled.wrappedBuffer(buffer));
+    }
+
+    /**
+     * Move to the next section.
+     *
+     * @return TRUE if there was another section, FALSE if the end of the buffer was reached.
+     */
+    public boolean next() {
+        if (!this.buffer.isReadable()) {
+            return false;
+        }
+
+        this.sectionIndex++;
+        this.blockCount = this.buffer.readShort();
+        this.blockStates.read(this.buffer);
+        this.biomes.read(this.buffer);
+        return true;
+    }
+
+    /**
+     * Retrieve the index of the current section, counted from the bottom of the world.
+     *
+     * @return The section index.
+     */
+    public int getSectionIndex() {
+        return this.sectionIndex;
+    }
+
+    /**
+     * Retrieve the number of non-air blocks in the current section.
+     *
+     * @return The block count.
+     */
+    public short getBlockCount() {
+        return this.blockCount;
+    }
+
+    /**
+     * Retrieve the block states of the current section.
+     *
+     * @return The block states.
+     */
+    public PalettedContainer getBlockStates() {
+        return this.blockStates;
+    }
+
+    /**
+     * Retrieve the biomes of the current section.
+     *
+     * @return The biomes.
+     */
+    public PalettedContainer getBiomes() {
+        return this.biomes;
+    }
+
+    /**
+     * Retrieve the buffer this reader reads from.
+     *
+     * @return The buffer.
+     */
+    ByteBuf getBuffer() {
+        return this.buffer;
+    }
+
+    /**
+     * A view of a paletted container in the chunk buffer.
+     * <p>
+     * The container is either single valued, using a palette of up to 2^bits values, or directly stores the global IDs
+     * of its entries. Entries are packed into longs without spanning two longs.
+     */
+    public static final class PalettedContainer {
+
+        private final int entryCount;
+        private final int maxIndirectBits;
+
+        private ByteBuf buffer;
+        private int bitsPerEntry;
+
+        private int[] palette = new int[16];
+        private int paletteSize;
+
+        private int start;
+        private int dataOffset;
+        private int dataLength;
+
+        PalettedContainer(int entryCount, int maxIndirectBits) {
+            this.entryCount = entryCount;
+            this.maxIndirectBits = maxIndirectBits;
+        }
+
+        void read(ByteBuf input) {
+            this.buffer = input;
+            this.start = input.readerIndex();
+            this.bitsPerEntry = input.readUnsignedByte();
+
+            if (this.bitsPerEntry == 0) {
+                this.paletteSize = 1;
+                this.palette[0] = WirePacket.readVarInt(input);
+            } else if (this.bitsPerEntry <= this.maxIndirectBits) {
+                this.paletteSize = WirePacket.readVarInt(input);
+                if (this.palette.length < this.paletteSize) {
+                    this.palette = new int[Math.max(this.paletteSize, this.palette.length * 2)];
+                }
+                for (int i = 0; i < this.paletteSize; i++) {
+                    this.palette[i] = WirePacket.readVarInt(input);
+                }
+            } else {
+                this.paletteSize = 0;
+            }
+
+            this.dataLength = WirePacket.readVarInt(input);
+            this.dataOffset = input.readerIndex();
+            input.skipBytes(this.dataLength * Long.BYTES);
+        }
+
+        /**
+         * Retrieve the number of bits used per entry.
+         *
+         * @return The number of bits, or 0 if the container is single valued.
+         */
+        public int getBitsPerEntry() {
+            return this.bitsPerEntry;
+        }
+
+        /**
+         * Determine if the container stores a single value for every entry.
+         *
+         * @return TRUE if it does, FALSE otherwise.
+         */
+        public boolean isSingleValued() {
+            return this.bitsPerEntry == 0;
+        }
+
+        /**
+         * Determine if the entries are global IDs instead of palette indices.
+         *
+         * @return TRUE if they are, FALSE otherwise.
+         */
+        public boolean isDirect() {
+            return this.bitsPerEntry > this.maxIndirectBits;
+        }
+
+        /**
+         * Retrieve the number of palette entries, which is 1 for single valued containers and 0 for direct ones.
+         *
+         * @return The palette size.
+         */
+        public int getPaletteSize() {
+            return this.paletteSize;
+        }
+
+        /**
+         * Retrieve the global ID of a palette entry.
+         *
+         * @param index - the palette index.
+         * @return The global ID.
+         */
+        public int getPaletteEntry(int index) {
+            Preconditions.checkElementIndex(index, this.paletteSize, "palette index");
+            return this.palette[index];
+        }
+
+        /**
+         * Retrieve the number of entries in this container.
+         *
+         * @return The number of entries.
+         */
+        public int getEntryCount() {
+            return this.entryCount;
+        }
+
+        /**
+         * Retrieve the raw value of an entry, which is a palette index unless the container is direct.
+         *
+         * @param index - the entry index, in YZX order.
+         * @return The raw value.
+         */
+        public int getRaw(int index) {
+            Preconditions.checkElementIndex(index, this.entryCount, "entry index");
+            if (this.bitsPerEntry == 0) {
+                return 0;
+            }
+
+            int entriesPerLong = 64 / this.bitsPerEntry;
+            long packed = this.buffer.getLong(this.dataOffset + (index / entriesPerLong) * Long.BYTES);
+            int shift = (index % entriesPerLong) * this.bitsPerEntry;
+            return (int) ((packed >>> shift) & ((1L << this.bitsPerEntry) - 1));
+        }
+
+        /**
+         * Retrieve the global ID of an entry.
+         *
+         * @param index - the entry index, in YZX order.
+         * @return The global ID.
+         */
+        public int get(int index) {
+            int raw = this.getRaw(index);
+            return this.isDirect() ? raw : this.palette[raw];
+        }
+
+        int[] getPalette() {
+            return this.palette;
+        }
+
+        int getStart() {
+            return this.start;
+        }
+
+        int getEnd() {
+            return this.dataOffset + this.dataLength * Long.BYTES;
+        }
+
+        int getDataOffset() {
+            return this.dataOffset;
+        }
+
+        int getDataLength() {
+            return this.dataLength;
+        }
+    }
+}
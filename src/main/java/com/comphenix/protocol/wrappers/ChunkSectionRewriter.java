@@ -0,0 +1,209 @@
+package com.comphenix.protocol.wrappers;
+
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+
+import com.comphenix.protocol.injector.netty.WirePacket;
+import com.comphenix.protocol.wrappers.ChunkSectionReader.PalettedContainer;
+import com.google.common.base.Preconditions;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.bukkit.Material;
+
+/**
+ * Rewrites the block states of every chunk section in a chunk buffer while streaming it, in 1.18 and later.
+ * <p>
+ * Containers with a palette only have their palette remapped, and their packed entries are copied as they are. Only
+ * containers storing global IDs directly are unpacked and packed again, with more bits if a remapped ID needs them.
+ * Biomes are copied without decoding them.
+ * <p>
+ * The client treats a section with a non-air block count of zero as empty, and never looks at its block states. So the
+ * count is computed again whenever a block is remapped to or from air, which requires the block states to be unpacked.
+ */
+public final class ChunkSectionRewriter {
+
+    private ChunkSectionRewriter() {
+    }
+
+    /**
+     * Replace the buffer of the given chunk data with a copy whose block states are remapped.
+     *
+     * @param data     - the chunk data.
+     * @param remapper - maps a global block state ID to the ID that is sent instead.
+     */
+    public static void remapBlockStates(WrappedLevelChunkData.ChunkData data, IntUnaryOperator remapper) {
+        remapBlockStates(data, remapper, AirStates.IS_AIR);
+    }
+
+    /**
+     * Replace the buffer of the given chunk data with a copy whose block states are remapped.
+     *
+     * @param data     - the chunk data.
+     * @param remapper - maps a global block state ID to the ID that is sent instead.
+     * @param isAir    - determines if a global block state ID is air, for the non-air block count.
+     */
+    public static void remapBlockStates(WrappedLevelChunkData.ChunkData data, IntUnaryOperator remapper, IntPredicate isAir) {
+        data.setBuffer(remapBlockStates(data.getBuffer(), remapper, isAir));
+    }
+
+    /**
+     * Remap the block states of the given chunk buffer.
+     *
+     * @param buffer   - the chunk buffer.
+     * @param remapper - maps a global block state ID to the ID that is sent instead.
+     * @return The remapped chunk buffer.
+     */
+    public static byte[] remapBlockStates(byte[] buffer, IntUnaryOperator remapper) {
+        return remapBlockStates(buffer, remapper, AirStates.IS_AIR);
+    }
+
+    /**
+     * Remap the block states of the given chunk buffer.
+     *
+     * @param buffer   - the chunk buffer.
+     * @param remapper - maps a global block state ID to the ID that is sent instead.
+     * @param isAir    - determines if a global block state ID is air, for the non-air block count.
+     * @return The remapped chunk buffer.
+     */
+    public static byte[] remapBlockStates(byte[] buffer, IntUnaryOperator remapper, IntPredicate isAir) {
+        // palettes rarely grow by more than a few bytes
+        ByteBuf output = Unpooled.buffer(buffer.length + 64);
+        remapBlockStates(Unpooled.wrappedBuffer(buffer), output, remapper, isAir);
+
+        byte[] result = new byte[output.readableBytes()];
+        output.readBytes(result);
+        return result;
+    }
+
+    /**
+     * Remap the block states of every section from the input, and write the sections to the output.
+     *
+     * @param input    - the chunk buffer, read from its reader index until it's exhausted.
+     * @param output   - the output buffer.
+     * @param remapper - maps a global block state ID to the ID that is sent instead.
+     */
+    public static void remapBlockStates(ByteBuf input, ByteBuf output, IntUnaryOperator remapper) {
+        remapBlockStates(input, output, remapper, AirStates.IS_AIR);
+    }
+
+    /**
+     * Remap the block states of every section from the input, and write the sections to the output.
+     *
+     * @param input    - the chunk buffer, read from its reader index until it's exhausted.
+     * @param output   - the output buffer.
+     * @param remapper - maps a global block state ID to the ID that is sent instead.
+     * @param isAir    - determines if a global block state ID is air, for the non-air block count.
+     */
+    public static void remapBlockStates(ByteBuf input, ByteBuf output, IntUnaryOperator remapper, IntPredicate isAir) {
+        Preconditions.checkNotNull(output, "output cannot be null");
+        Preconditions.checkNotNull(remapper, "remapper cannot be null");
+        Preconditions.checkNotNull(isAir, "isAir cannot be null");
+
+        ChunkSectionReader reader = new ChunkSectionReader(input);
+        int[] remapped = new int[ChunkSectionReader.BLOCK_STATES];
+        while (reader.next()) {
+            PalettedContainer blockStates = reader.getBlockStates();
+            if (blockStates.isDirect()) {
+                writeDirect(input, blockStates, output, remapper, isAir, remapped);
+            } else {
+                writePaletted(reader, output, remapper, isAir, remapped);
+            }
+
+            PalettedContainer biomes = reader.getBiomes();
+            output.writeBytes(input, biomes.getStart(), biomes.getEnd() - biomes.getStart());
+        }
+    }
+
+    private static void writePaletted(ChunkSectionReader reader, ByteBuf output, IntUnaryOperator remapper,
+                                      IntPredicate isAir, int[] palette) {
+        PalettedContainer container = reader.getBlockStates();
+        int paletteSize = container.getPaletteSize();
+
+        boolean airChanged = false;
+        for (int i = 0; i < paletteSize; i++) {
+            int original = container.getPaletteEntry(i);
+            palette[i] = remapper.applyAsInt(original);
+            airChanged |= isAir.test(original) != isAir.test(palette[i]);
+        }
+
+        int blockCount = reader.getBlockCount();
+        if (airChanged) {
+            blockCount = 0;
+            for (int i = 0; i < ChunkSectionReader.BLOCK_STATES; i++) {
+                if (!isAir.test(palette[container.getRaw(i)])) {
+                    blockCount++;
+                }
+            }
+        }
+
+        output.writeShort(blockCount);
+        output.writeByte(container.getBitsPerEntry());
+        if (container.isSingleValued()) {
+            WirePacket.writeVarInt(output, palette[0]);
+        } else {
+            WirePacket.writeVarInt(output, paletteSize);
+            for (int i = 0; i < paletteSize; i++) {
+                WirePacket.writeVarInt(output, palette[i]);
+            }
+        }
+
+        // the packed palette indices stay the same
+        WirePacket.writeVarInt(output, container.getDataLength());
+        output.writeBytes(reader.getBuffer(), container.getDataOffset(), container.getDataLength() * Long.BYTES);
+    }
+
+    private static void writeDirect(ByteBuf input, PalettedContainer container, ByteBuf output, IntUnaryOperator remapper,
+                                    IntPredicate isAir, int[] remapped) {
+        int bits = container.getBitsPerEntry();
+        long mask = (1L << bits) - 1;
+        int entriesPerLong = 64 / bits;
+
+        int blockCount = 0;
+        int usedBits = 0;
+        int index = 0;
+        for (int i = 0; i < container.getDataLength() && index < remapped.length; i++) {
+            long packed = input.getLong(container.getDataOffset() + i * Long.BYTES);
+            for (int entry = 0; entry < entriesPerLong && index < remapped.length; entry++) {
+                int id = remapper.applyAsInt((int) ((packed >>> (entry * bits)) & mask));
+                Preconditions.checkArgument(id >= 0, "Block state %s cannot be negative", id);
+
+                remapped[index++] = id;
+                usedBits |= id;
+                if (!isAir.test(id)) {
+                    blockCount++;
+                }
+            }
+        }
+
+        // only widen the entries if a remapped ID doesn't fit
+        bits = Math.max(bits, 32 - Integer.numberOfLeadingZeros(usedBits));
+        entriesPerLong = 64 / bits;
+        int dataLength = (remapped.length + entriesPerLong - 1) / entriesPerLong;
+
+        output.writeShort(blockCount);
+        output.writeByte(bits);
+        WirePacket.writeVarInt(output, dataLength);
+
+        index = 0;
+        for (int i = 0; i < dataLength; i++) {
+            long packed = 0;
+            for (int entry = 0; entry < entriesPerLong && index < remapped.length; entry++) {
+                packed |= (long) remapped[index++] << (entry * bits);
+            }
+            output.writeLong(packed);
+        }
+    }
+
+    // resolved on first use, as it requires the server
+    private static final class AirStates {
+
+        static final IntPredicate IS_AIR;
+
+        static {
+            int air = WrappedBlockData.createData(Material.AIR).getStateId();
+            int caveAir = WrappedBlockData.createData(Material.CAVE_AIR).getStateId();
+            int voidAir = WrappedBlockData.createData(Material.VOID_AIR).getStateId();
+            IS_AIR = id -> id == air || id == caveAir || id == voidAir;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.comphenix.protocol.wrappers;
+
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Caches converters that are composed of other converters, such as a list converter for item stacks.
+ * <p>
+ * The components are compared by identity and weakly referenced, while the composed converters are held strongly, so
+ * that they survive garbage collection in between calls. A composed converter usually references its components, which
+ * keeps their entries alive as well - the cache is therefore bounded, so that converters composed from short-lived
+ * components (such as a caller's own lambdas) are evicted eventually. The factories should not capture anything, so
+ * that a cache hit doesn't allocate.
+ */
+@SuppressWarnings("unchecked")
+final class ConverterCache {
+
+    private static final int MAXIMUM_SIZE = 256;
+
+    private final boolean weakValues;
+    private final Cache<Object, Object> composed;
+    private final Cache<Object, ConverterCache> nested = CacheBuilder.newBuilder()
+            .weakKeys()
+            .maximumSize(MAXIMUM_SIZE)
+            .build();
+
+    /**
+     * Construct a cache that holds the composed converters strongly.
+     */
+    ConverterCache() {
+        this(false);
+    }
+
+    /**
+     * Construct a cache of composed converters.
+     *
+     * @param weakValues - whether to hold the composed converters weakly, for converters that must not keep their
+     *                   component alive.
+     */
+    ConverterCache(boolean weakValues) {
+        CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder().weakKeys().maximumSize(MAXIMUM_SIZE);
+        if (weakValues) {
+            builder = builder.weakValues();
+        }
+
+        this.weakValues = weakValues;
+        this.composed = builder.build();
+    }
+
+    /**
+     * Retrieve the cached converter composed of the given component, or create it.
+     *
+     * @param component - the component of the converter.
+     * @param factory   - creates the converter from the component.
+     * @param <A>       - the component type.
+     * @param <R>       - the converter type.
+     * @return The cached or created converter.
+     */
+    <A, R> R get(A component, Function<A, R> factory) {
+        if (component == null) {
+            return factory.apply(null);
+        }
+
+        Object result = this.composed.getIfPresent(component);
+        if (result == null) {
+            result = factory.apply(component);
+            this.composed.put(component, result);
+        }
+        return (R) result;
+    }
+
+    /**
+     * Retrieve the cached converter composed of the given components, or create it.
+     *
+     * @param first   - the first component of the converter.
+     * @param second  - the second component of the converter.
+     * @param factory - creates the converter from the components.
+     * @param <A>     - the first component type.
+     * @param <B>     - the second component type.
+     * @param <R>     - the converter type.
+     * @return The cached or created converter.
+     */
+    <A, B, R> R get(A first, B second, BiFunction<A, B, R> factory) {
+        if (first == null || second == null) {
+            return factory.apply(first, second);
+        }
+
+        ConverterCache inner = this.nested.asMap().computeIfAbsent(first, key -> new ConverterCache(this.weakValues));
+        Object result = inner.composed.getIfPresent(second);
+        if (result == null) {
+            result = factory.apply(first, second);
+            inner.composed.put(second, result);
+        }
+        return (R) result;
+    }
+}
@@ -39,6 +39,10 @@ import com.google.common.base.Preconditions;
 @SuppressWarnings("unchecked")
 public class Converters {
 
+    // Composed converters, shared between calls
+    private static final ConverterCache ARRAY_CONVERTERS = new ConverterCache();
+    private static final ConverterCache OPTIONAL_CONVERTERS = new ConverterCache();
+
     /**
      * Returns a converter that ignores null elements, so that the underlying converter doesn't have to worry about them.
      * @param converter Underlying converter
@@ -127,6 +131,10 @@ public class Converters {
      * @return An array converter
      */
     public static <T> EquivalentConverter<T[]> array(final Class<?> nmsClass, final EquivalentConverter<T> converter) {
+        return ARRAY_CONVERTERS.get(nmsClass, converter, Converters::createArray);
+    }
+
+    private static <T> EquivalentConverter<T[]> createArray(final Class<?> nmsClass, final EquivalentConverter<T> converter) {
         return new EquivalentConverter<T[]>() {
             @Override
             public T[] getSpecific(Object generic) {
@@ -162,6 +170,10 @@ public class Converters {
     }
 
     public static <T> EquivalentConverter<Optional<T>> optional(final EquivalentConverter<T> converter) {
+        return OPTIONAL_CONVERTERS.get(converter, Converters::createOptional);
+    }
+
+    private static <T> EquivalentConverter<Optional<T>> createOptional(final EquivalentConverter<T> converter) {
         return new EquivalentConverter<Optional<T>>() {
             @Override
             public Object getGeneric(Optional<T> specific) {
@@ -0,0 +1,531 @@
+package com.comphenix.protocol.wrappers;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import com.comphenix.protocol.ProtocolLogger;
+import com.comphenix.protocol.reflect.FuzzyReflection;
+import com.comphenix.protocol.reflect.accessors.Accessors;
+import com.comphenix.protocol.reflect.accessors.ConstructorAccessor;
+import com.comphenix.protocol.reflect.accessors.FieldAccessor;
+import com.comphenix.protocol.reflect.accessors.MethodAccessor;
+import com.comphenix.protocol.reflect.fuzzy.FuzzyMethodContract;
+import com.comphenix.protocol.utility.MinecraftVersion;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.ComponentLike;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.TranslatableComponent;
+import net.kyori.adventure.text.event.ClickEvent;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.Style;
+import net.kyori.adventure.text.format.TextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+import net.kyori.adventure.text.serializer.gson.GsonComponentSerializer;
+
+/**
+ * Converts between Adventure components and Minecraft components by walking the component tree, in 1.19 and later.
+ * <p>
+ * Text and translatable components are converted directly, along with their colors, decorations, insertions and click
+ * events. Any other part of a component, such as hover events, fonts or other content types, is converted through JSON
+ * instead, which only affects the subtree it appears in.
+ * <p>
+ * The layout of the Minecraft classes is discovered once by deserializing a few sample components, so this does not
+ * depend on any obfuscated name. If that fails, {@link #isSupported()} returns FALSE and callers should use JSON.
+ */
+final class DirectComponentConverter {
+
+    private static final TextDecoration[] DECORATIONS = {
+            TextDecoration.BOLD, TextDecoration.ITALIC, TextDecoration.UNDERLINED,
+            TextDecoration.STRIKETHROUGH, TextDecoration.OBFUSCATED
+    };
+
+    private static final Layout LAYOUT = Layout.resolve();
+
+    private DirectComponentConverter() {
+    }
+
+    /**
+     * Determine if components can be converted without JSON.
+     *
+     * @return TRUE if they can, FALSE otherwise.
+     */
+    static boolean isSupported() {
+        return LAYOUT != null;
+    }
+
+    /**
+     * Convert an Adventure component into a Minecraft component.
+     *
+     * @param component - the Adventure component.
+     * @param serializer - the serializer used for parts that cannot be converted directly.
+     * @return The Minecraft component.
+     */
+    static Object toHandle(Component component, GsonComponentSerializer serializer) {
+        Object contents;
+        if (component instanceof TextComponent) {
+            contents = LAYOUT.literalConstructor.invoke(((TextComponent) component).content());
+        } else if (component instanceof TranslatableComponent) {
+            contents = toTranslatableContents((TranslatableComponent) component, serializer);
+        } else {
+            contents = null;
+        }
+
+        Object style = contents != null ? toStyle(component.style()) : null;
+        if (style == null) {
+            return fallbackToHandle(component, serializer);
+        }
+
+        List<Object> siblings = new ArrayList<>(component.children().size());
+        for (Component child : component.children()) {
+            siblings.add(toHandle(child, serializer));
+        }
+        return LAYOUT.componentConstructor.invoke(contents, siblings, style);
+    }
+
+    /**
+     * Create a deep copy of a Minecraft component. Only the contents and styles, which are immutable, are shared.
+     *
+     * @param handle - the Minecraft component.
+     * @return The copy, or NULL if the component cannot be copied directly.
+     */
+    static Object copy(Object handle) {
+        if (!isSupported() || handle.getClass() != LAYOUT.componentClass) {
+            return null;
+        }
+
+        Object contents = LAYOUT.componentContents.get(handle);
+        if (contents.getClass() == LAYOUT.translatableClass) {
+            Object[] args = ((Object[]) LAYOUT.translatableArgs.get(contents)).clone();
+            for (int i = 0; i < args.length; i++) {
+                if (LAYOUT.componentClass.isInstance(args[i])) {
+                    args[i] = copy(args[i]);
+                    if (args[i] == null) {
+                        return null;
+                    }
+                }
+            }
+            contents = LAYOUT.translatableConstructor.invoke(LAYOUT.translatableKey.get(contents),
+                    LAYOUT.translatableFallback.get(contents), args);
+        } else if (contents.getClass() != LAYOUT.literalClass) {
+            // other contents may refer to further components
+            return null;
+        }
+
+        List<?> siblings = (List<?>) LAYOUT.componentSiblings.get(handle);
+        List<Object> copied = new ArrayList<>(siblings.size());
+        for (Object sibling : siblings) {
+            Object copy = copy(sibling);
+            if (copy == null) {
+                return null;
+            }
+            copied.add(copy);
+        }
+        return LAYOUT.componentConstructor.invoke(contents, copied, LAYOUT.componentStyle.get(handle));
+    }
+
+    private static Object toTranslatableContents(TranslatableComponent component, GsonComponentSerializer serializer) {
+        Object[] args = new Object[component.args().size()];
+        for (int i = 0; i < args.length; i++) {
+            args[i] = toHandle(component.args().get(i), serializer);
+        }
+        return LAYOUT.translatableConstructor.invoke(component.key(), component.fallback(), args);
+    }
+
+    private static Object toStyle(Style style) {
+        if (style.isEmpty()) {
+            return LAYOUT.emptyStyle;
+        }
+        if (style.hoverEvent() != null || style.font() != null) {
+            return null;
+        }
+
+        Object clickEvent = null;
+        if (style.clickEvent() != null) {
+            ClickEvent click = style.clickEvent();
+            Object action = LAYOUT.clickActions.get(click.action().name());
+            if (action == null) {
+                return null;
+            }
+            clickEvent = LAYOUT.clickConstructor.invoke(action, click.value());
+        }
+
+        // every other argument, such as the hover event and font, is left unset
+        Object[] args = new Object[LAYOUT.styleArgumentCount];
+        args[LAYOUT.styleColorIndex] = toColor(style.color());
+        for (int i = 0; i < DECORATIONS.length; i++) {
+            TextDecoration.State state = style.decoration(DECORATIONS[i]);
+            args[LAYOUT.styleDecorationIndices[i]] = state == TextDecoration.State.NOT_SET ? null : state == TextDecoration.State.TRUE;
+        }
+        args[LAYOUT.styleClickEventIndex] = clickEvent;
+        args[LAYOUT.styleInsertionIndex] = style.insertion();
+        return LAYOUT.styleConstructor.invoke(args);
+    }
+
+    private static Object toColor(TextColor color) {
+        if (color == null) {
+            return null;
+        }
+
+        Object named = color instanceof NamedTextColor ? LAYOUT.namedColors.get(color.value()) : null;
+        return named != null ? named : LAYOUT.colorFromRgb.invoke(null, color.value());
+    }
+
+    private static Object fallbackToHandle(Component component, GsonComponentSerializer serializer) {
+        return WrappedChatComponent.fromJson(serializer.serialize(component)).getHandle();
+    }
+
+    /**
+     * Convert a Minecraft component into an Adventure component.
+     *
+     * @param handle - the Minecraft component.
+     * @param serializer - the serializer used for parts that cannot be converted directly.
+     * @return The Adventure component.
+     */
+    static Component fromHandle(Object handle, GsonComponentSerializer serializer) {
+        if (handle.getClass() != LAYOUT.componentClass) {
+            return fallbackFromHandle(handle, serializer);
+        }
+
+        Object contents = LAYOUT.componentContents.get(handle);
+        Style style = fromStyle(LAYOUT.componentStyle.get(handle));
+        if (style == null) {
+            return fallbackFromHandle(handle, serializer);
+        }
+
+        Component result;
+        if (contents.getClass() == LAYOUT.literalClass) {
+            result = Component.text((String) LAYOUT.literalText.get(contents), style);
+        } else if (contents.getClass() == LAYOUT.translatableClass) {
+            Object[] args = (Object[]) LAYOUT.translatableArgs.get(contents);
+            List<Component> converted = new ArrayList<>(args.length);
+            for (Object arg : args) {
+                if (arg instanceof String) {
+                    converted.add(Component.text((String) arg));
+                } else if (LAYOUT.componentClass.isInstance(arg)) {
+                    converted.add(fromHandle(arg, serializer));
+                } else {
+                    return fallbackFromHandle(handle, serializer);
+                }
+            }
+            result = Component.translatable((String) LAYOUT.translatableKey.get(contents),
+                    (String) LAYOUT.translatableFallback.get(contents), style, converted);
+        } else {
+            return fallbackFromHandle(handle, serializer);
+        }
+
+        List<?> siblings = (List<?>) LAYOUT.componentSiblings.get(handle);
+        if (siblings.isEmpty()) {
+            return result;
+        }
+
+        List<ComponentLike> children = new ArrayList<>(siblings.size());
+        for (Object sibling : siblings) {
+            children.add(fromHandle(sibling, serializer));
+        }
+        return result.children(children);
+    }
+
+    private static Style fromStyle(Object style) {
+        for (FieldAccessor other : LAYOUT.styleOthers) {
+            if (other.get(style) != null) {
+                return null;
+            }
+        }
+
+        Style.Builder builder = Style.style();
+        Object color = LAYOUT.styleColor.get(style);
+        if (color != null) {
+            int value = (Integer) LAYOUT.colorValue.get(color);
+            Object name = LAYOUT.colorName.get(color);
+            TextColor named = name != null ? NamedTextColor.NAMES.value((String) name) : null;
+            builder.color(named != null ? named : TextColor.color(value));
+        }
+
+        for (int i = 0; i < DECORATIONS.length; i++) {
+            Boolean value = (Boolean) LAYOUT.styleDecorations[i].get(style);
+            builder.decoration(DECORATIONS[i], TextDecoration.State.byBoolean(value));
+        }
+
+        Object clickEvent = LAYOUT.styleClickEvent.get(style);
+        if (clickEvent != null) {
+            Enum<?> action = (Enum<?>) LAYOUT.clickAction.get(clickEvent);
+            ClickEvent.Action adventureAction;
+            try {
+                adventureAction = ClickEvent.Action.valueOf(action.name());
+            } catch (IllegalArgumentException ex) {
+                return null;
+            }
+            builder.clickEvent(ClickEvent.clickEvent(adventureAction, (String) LAYOUT.clickValue.get(clickEvent)));
+        }
+
+        builder.insertion((String) LAYOUT.styleInsertion.get(style));
+        return builder.build();
+    }
+
+    private static Component fallbackFromHandle(Object handle, GsonComponentSerializer serializer) {
+        return serializer.deserialize(WrappedChatComponent.fromHandle(handle).getJson());
+    }
+
+    /**
+     * The classes and fields of Minecraft components, found by inspecting deserialized samples.
+     */
+    private static final class Layout {
+
+        Class<?> componentClass;
+        ConstructorAccessor componentConstructor;
+        FieldAccessor componentContents;
+        FieldAccessor componentSiblings;
+        FieldAccessor componentStyle;
+
+        Class<?> literalClass;
+        ConstructorAccessor literalConstructor;
+        FieldAccessor literalText;
+
+        Class<?> translatableClass;
+        ConstructorAccessor translatableConstructor;
+        FieldAccessor translatableKey;
+        FieldAccessor translatableFallback;
+        FieldAccessor translatableArgs;
+
+        Class<?> styleClass;
+        Object emptyStyle;
+        FieldAccessor styleColor;
+        FieldAccessor[] styleDecorations = new FieldAccessor[DECORATIONS.length];
+        FieldAccessor styleClickEvent;
+        FieldAccessor styleInsertion;
+
+        // the constructor takes every field in declaration order
+        ConstructorAccessor styleConstructor;
+        int styleArgumentCount;
+        int styleColorIndex;
+        int[] styleDecorationIndices = new int[DECORATIONS.length];
+        int styleClickEventIndex;
+        int styleInsertionIndex;
+        // every other field, which must be unset to convert the style directly
+        List<FieldAccessor> styleOthers = new ArrayList<>();
+
+        MethodAccessor colorFromRgb;
+        FieldAccessor colorValue;
+        FieldAccessor colorName;
+        Map<Integer, Object> namedColors = new HashMap<>();
+
+        ConstructorAccessor clickConstructor;
+        FieldAccessor clickAction;
+        FieldAccessor clickValue;
+        Map<String, Object> clickActions = new HashMap<>();
+
+        static Layout resolve() {
+            if (!MinecraftVersion.WILD_UPDATE.atOrAbove()) {
+                return null;
+            }
+
+            try {
+                Layout layout = new Layout();
+                layout.inspect();
+                return layout;
+            } catch (Throwable ex) {
+                ProtocolLogger.debug("Unable to convert components directly, falling back to JSON", ex);
+                return null;
+            }
+        }
+
+        private void inspect() throws ReflectiveOperationException {
+            Object text = parse("{\"text\":\"a\",\"color\":\"#123456\",\"bold\":true,\"insertion\":\"b\","
+                    + "\"clickEvent\":{\"action\":\"open_url\",\"value\":\"https://c\"}}");
+            Object translatable = parse("{\"translate\":\"d\",\"fallback\":\"e\",\"with\":[{\"text\":\"f\",\"italic\":true}]}");
+
+            this.componentClass = text.getClass();
+            List<Field> componentFields = instanceFields(this.componentClass);
+            Field contentsField = componentFields.stream()
+                    .filter(field -> !field.getType().isPrimitive() && field.getType().isInterface() && field.getType() != List.class)
+                    .findFirst().orElseThrow(() -> new IllegalStateException("No contents field"));
+            this.componentContents = Accessors.getFieldAccessor(contentsField);
+            this.componentSiblings = accessor(componentFields, List.class, 0);
+
+            Object textContents = this.componentContents.get(text);
+            Object textStyle = null;
+            for (Field field : componentFields) {
+                Object value = Accessors.getFieldAccessor(field).get(text);
+                if (value != null && field.getType() != List.class && field != contentsField
+                        && instanceFields(field.getType()).size() > 5) {
+                    this.componentStyle = Accessors.getFieldAccessor(field);
+                    textStyle = value;
+                    break;
+                }
+            }
+            if (textStyle == null) {
+                throw new IllegalStateException("No style field in " + this.componentClass);
+            }
+            this.styleClass = textStyle.getClass();
+            for (Field field : this.styleClass.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) && field.getType() == this.styleClass) {
+                    this.emptyStyle = Accessors.getFieldAccessor(field).get(null);
+                    break;
+                }
+            }
+            check(this.emptyStyle != null, "empty style");
+
+            Constructor<?> constructor = this.componentClass.getDeclaredConstructor(
+                    contentsField.getType(), List.class, this.styleClass);
+            this.componentConstructor = Accessors.getConstructorAccessor(constructor);
+
+            // literal contents, holding nothing but their text
+            this.literalClass = textContents.getClass();
+            this.literalText = accessor(instanceFields(this.literalClass), String.class, 0);
+            this.literalConstructor = Accessors.getConstructorAccessor(this.literalClass.getDeclaredConstructor(String.class));
+
+            // translatable contents, with the key before the fallback
+            Object translatableContents = this.componentContents.get(translatable);
+            this.translatableClass = translatableContents.getClass();
+            List<Field> translatableFields = instanceFields(this.translatableClass);
+            this.translatableKey = accessor(translatableFields, String.class, 0);
+            this.translatableFallback = accessor(translatableFields, String.class, 1);
+            this.translatableArgs = accessor(translatableFields, Object[].class, 0);
+            this.translatableConstructor = Accessors.getConstructorAccessor(
+                    this.translatableClass.getDeclaredConstructor(String.class, String.class, Object[].class));
+            check("d".equals(this.translatableKey.get(translatableContents)), "translatable key");
+            check("e".equals(this.translatableFallback.get(translatableContents)), "translatable fallback");
+
+            this.inspectStyle(textStyle);
+            this.inspectColors();
+            check("a".equals(this.literalText.get(textContents)), "literal text");
+        }
+
+        private void inspectStyle(Object style) throws ReflectiveOperationException {
+            List<Field> styleFields = instanceFields(this.styleClass);
+            int decoration = 0;
+            for (int index = 0; index < styleFields.size(); index++) {
+                Field field = styleFields.get(index);
+                FieldAccessor accessor = Accessors.getFieldAccessor(field);
+                Object value = accessor.get(style);
+
+                if (field.getType() == Boolean.class && decoration < DECORATIONS.length) {
+                    this.styleDecorationIndices[decoration] = index;
+                    this.styleDecorations[decoration++] = accessor;
+                } else if (field.getType() == String.class && this.styleInsertion == null) {
+                    this.styleInsertionIndex = index;
+                    this.styleInsertion = accessor;
+                } else if (value != null && this.styleColor == null && hasField(field.getType(), int.class)) {
+                    this.styleColorIndex = index;
+                    this.styleColor = accessor;
+                } else if (value != null && this.styleClickEvent == null && hasField(field.getType(), String.class)
+                        && hasEnumField(field.getType())) {
+                    this.styleClickEventIndex = index;
+                    this.styleClickEvent = accessor;
+                } else {
+                    this.styleOthers.add(accessor);
+                }
+            }
+
+            check(decoration == DECORATIONS.length, "decorations");
+            check(this.styleInsertion != null && "b".equals(this.styleInsertion.get(style)), "insertion");
+            check(this.styleColor != null && this.styleClickEvent != null, "color and click event");
+
+            Class<?>[] parameterTypes = styleFields.stream().map(Field::getType).toArray(Class<?>[]::new);
+            this.styleConstructor = Accessors.getConstructorAccessor(this.styleClass.getDeclaredConstructor(parameterTypes));
+            this.styleArgumentCount = parameterTypes.length;
+            check(style.equals(this.copyStyle(style, styleFields)), "style constructor");
+
+            // every decoration must be read from its own field, and passed to the constructor in its place
+            for (int i = 0; i < DECORATIONS.length; i++) {
+                Object decorated = this.componentStyle.get(
+                        parse("{\"text\":\"\",\"" + TextDecoration.NAMES.key(DECORATIONS[i]) + "\":true}"));
+                for (int j = 0; j < DECORATIONS.length; j++) {
+                    Object expected = i == j ? Boolean.TRUE : null;
+                    check(Objects.equals(expected, this.styleDecorations[j].get(decorated)), "decoration " + DECORATIONS[j]);
+                }
+                check(decorated.equals(this.copyStyle(decorated, styleFields)), "decoration " + DECORATIONS[i]);
+            }
+
+            // click events
+            Object clickEvent = this.styleClickEvent.get(style);
+            Class<?> clickClass = clickEvent.getClass();
+            List<Field> clickFields = instanceFields(clickClass);
+            Field actionField = clickFields.stream().filter(field -> field.getType().isEnum()).findFirst().get();
+            this.clickAction = Accessors.getFieldAccessor(actionField);
+            this.clickValue = accessor(clickFields, String.class, 0);
+            this.clickConstructor = Accessors.getConstructorAccessor(
+                    clickClass.getDeclaredConstructor(actionField.getType(), String.class));
+            check("https://c".equals(this.clickValue.get(clickEvent)), "click value");
+
+            for (Object constant : actionField.getType().getEnumConstants()) {
+                this.clickActions.put(((Enum<?>) constant).name(), constant);
+            }
+            check(this.clickActions.containsKey(ClickEvent.Action.OPEN_URL.name()), "click actions");
+
+            // colors
+            Object color = this.styleColor.get(style);
+            Class<?> colorClass = color.getClass();
+            List<Field> colorFields = instanceFields(colorClass);
+            this.colorValue = accessor(colorFields, int.class, 0);
+            this.colorName = accessor(colorFields, String.class, 0);
+            this.colorFromRgb = Accessors.getMethodAccessor(FuzzyReflection.fromClass(colorClass, true)
+                    .getMethod(FuzzyMethodContract.newBuilder()
+                            .requireModifier(Modifier.STATIC)
+                            .returnTypeExact(colorClass)
+                            .parameterExactArray(int.class)
+                            .build()));
+            check(Integer.valueOf(0x123456).equals(this.colorValue.get(color)), "color value");
+        }
+
+        private Object copyStyle(Object style, List<Field> styleFields) {
+            Object[] args = new Object[styleFields.size()];
+            for (int i = 0; i < args.length; i++) {
+                args[i] = Accessors.getFieldAccessor(styleFields.get(i)).get(style);
+            }
+            return this.styleConstructor.invoke(args);
+        }
+
+        private void inspectColors() {
+            for (NamedTextColor named : NamedTextColor.NAMES.values()) {
+                Object parsed = parse("{\"text\":\"\",\"color\":\"" + NamedTextColor.NAMES.key(named) + "\"}");
+                Object color = this.styleColor.get(this.componentStyle.get(parsed));
+                this.namedColors.put(named.value(), color);
+            }
+        }
+
+        private static Object parse(String json) {
+            return WrappedChatComponent.fromJson(json).getHandle();
+        }
+
+        private static void check(boolean condition, String what) {
+            if (!condition) {
+                throw new IllegalStateException("Unexpected layout of " + what);
+            }
+        }
+
+        private static boolean hasField(Class<?> type, Class<?> fieldType) {
+            return instanceFields(type).stream().anyMatch(field -> field.getType() == fieldType);
+        }
+
+        private static boolean hasEnumField(Class<?> type) {
+            return instanceFields(type).stream().anyMatch(field -> field.getType().isEnum());
+        }
+
+        private static List<Field> instanceFields(Class<?> type) {
+            List<Field> result = new ArrayList<>();
+            for (Field field : type.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    result.add(field);
+                }
+            }
+            return result;
+        }
+
+        private static FieldAccessor accessor(List<Field> fields, Class<?> type, int index) {
+            int remaining = index;
+            for (Field field : fields) {
+                if (field.getType() == type && remaining-- == 0) {
+                    return Accessors.getFieldAccessor(field);
+                }
+            }
+            throw new IllegalStateException("No field of type " + type + " with index " + index);
+        }
+    }
+}
@@ -1101,6 +1101,7 @@ public abstract class EnumWrappers {
     public static class EnumConverter<T extends Enum<T>> implements EquivalentConverter<T> {
         private final Class<?> genericType;
         private final Class<T> specificType;
+        private final EnumTranslation translation;
 
         public EnumConverter(Class<?> genericType, Class<T> specificType) {
             Validate.notNull(specificType, "specificType cannot be null");
@@ -1108,16 +1109,26 @@ public abstract class EnumWrappers {
 
             this.genericType = genericType;
             this.specificType = specificType;
+            this.translation = EnumTranslation.byName(genericType, specificType);
         }
 
         @Override
         public T getSpecific(Object generic) {
-            return Enum.valueOf(specificType, ((Enum) generic).name());
+            Enum<?> value = (Enum<?>) generic;
+            T specific = (T) EnumTranslation.of(this.translation, value, this.specificType, false).getSpecific(value);
+            if (specific == null) {
+                throw new IllegalArgumentException("No enum constant " + specificType.getCanonicalName() + "." + value.name());
+            }
+            return specific;
         }
 
         @Override
         public Object getGeneric(T specific) {
-            return Enum.valueOf((Class) genericType, specific.name());
+            Object generic = EnumTranslation.checkGeneric(this.translation, genericType).getGeneric(specific);
+            if (generic == null) {
+                throw new IllegalArgumentException("No enum constant " + genericType.getCanonicalName() + "." + specific.name());
+            }
+            return generic;
         }
 
         @Override
@@ -1136,56 +1147,31 @@ public abstract class EnumWrappers {
     public static class AliasedEnumConverter<T extends Enum<T> & AliasedEnum> implements EquivalentConverter<T> {
         private final Class<?> genericType;
         private final Class<T> specificType;
-
-        private final Map<T, Object> genericMap = new ConcurrentHashMap<>();
-        private final Map<Object, T> specificMap = new ConcurrentHashMap<>();
+        private final EnumTranslation translation;
 
         public AliasedEnumConverter(Class<?> genericType, Class<T> specificType) {
             this.genericType = genericType;
             this.specificType = specificType;
+            this.translation = EnumTranslation.byName(genericType, specificType);
         }
 
         @Override
         public T getSpecific(Object generic) {
-            return specificMap.computeIfAbsent(generic, x -> {
-                String name = ((Enum) generic).name();
-
-                try {
-                    return Enum.valueOf(specificType, name);
-                } catch (Exception ex) {
-                    for (T elem : specificType.getEnumConstants()) {
-                        for (String alias : elem.getAliases()) {
-                            if (alias.equals(name)) {
-                                return elem;
-                            }
-                        }
-                    }
-                }
-
-                throw new IllegalArgumentException("Unknown enum constant " + name);
-            });
+            Enum<?> value = (Enum<?>) generic;
+            T specific = (T) EnumTranslation.of(this.translation, value, this.specificType, false).getSpecific(value);
+            if (specific == null) {
+                throw new IllegalArgumentException("Unknown enum constant " + value.name());
+            }
+            return specific;
         }
 
         @Override
         public Object getGeneric(T specific) {
-            return genericMap.computeIfAbsent(specific, x -> {
-                String name = specific.name();
-
-                try {
-                    return Enum.valueOf((Class) genericType, specific.name());
-                } catch (Exception ex) {
-                    for (Object rawElem : genericType.getEnumConstants()) {
-                        Enum elem = (Enum) rawElem;
-                        for (String alias : specific.getAliases()) {
-                            if (alias.equals(elem.name())) {
-                                return elem;
-                            }
-                        }
-                    }
-                }
-
-                throw new IllegalArgumentException("Unknown enum constant " + name);
-            });
+            Object generic = EnumTranslation.checkGeneric(this.translation, genericType).getGeneric(specific);
+            if (generic == null) {
+                throw new IllegalArgumentException("Unknown enum constant " + specific.name());
+            }
+            return generic;
         }
 
         @Override
@@ -1250,39 +1236,186 @@ public abstract class EnumWrappers {
     public static class IndexedEnumConverter<T extends Enum<T>> implements EquivalentConverter<T> {
         private final Class<T> specificClass;
         private final Class<?> genericClass;
+        private final EnumTranslation translation;
 
         public IndexedEnumConverter(Class<T> specificClass, Class<?> genericClass) {
             this.specificClass = specificClass;
             this.genericClass = genericClass;
+            this.translation = EnumTranslation.byOrdinal(genericClass, specificClass);
         }
 
         @Override
         public Object getGeneric(T specific) {
+            return EnumTranslation.checkGeneric(this.translation, genericClass).getGeneric(specific);
+        }
+
+        @Override
+        public T getSpecific(Object generic) {
+            Enum<?> value = (Enum<?>) generic;
+            return (T) EnumTranslation.of(this.translation, value, this.specificClass, true).getSpecific(value);
+        }
+
+        @Override
+        public Class<T> getSpecificType() {
+            return specificClass;
+        }
+    }
+
+    /**
+     * Translates the constants of two enums in both directions with an array load, indexed by ordinal.
+     * <p>
+     * Translations are computed once for each pair of enums, as converters are usually created anew for every
+     * structure modifier.
+     */
+    static final class EnumTranslation {
+        // translations from a specific type, by generic type
+        private static final ClassValue<Map<Class<?>, EnumTranslation>> BY_NAME = new TranslationCache();
+        private static final ClassValue<Map<Class<?>, EnumTranslation>> BY_ORDINAL = new TranslationCache();
+
+        private final Class<?> genericType;
+        private final Object[] generics; // by specific ordinal
+        private final Enum<?>[] specifics; // by generic ordinal
+
+        private EnumTranslation(Class<?> genericType, Object[] generics, Enum<?>[] specifics) {
+            this.genericType = genericType;
+            this.generics = generics;
+            this.specifics = specifics;
+        }
+
+        /**
+         * Retrieve the translation of constants with the same name, or with a name listed by {@link AliasedEnum#getAliases()}.
+         * @param genericType - the generic enum.
+         * @param specificType - the specific enum.
+         * @return The translation, or NULL if the generic type is not an enum.
+         */
+        static EnumTranslation byName(Class<?> genericType, Class<?> specificType) {
+            if (genericType == null || !genericType.isEnum()) {
+                return null;
+            }
+            return BY_NAME.get(specificType).computeIfAbsent(genericType, type -> matchNames(type, specificType));
+        }
+
+        /**
+         * Retrieve the translation of constants with the same ordinal.
+         * @param genericType - the generic enum.
+         * @param specificType - the specific enum.
+         * @return The translation, or NULL if the generic type is not an enum.
+         */
+        static EnumTranslation byOrdinal(Class<?> genericType, Class<?> specificType) {
+            if (genericType == null || !genericType.isEnum()) {
+                return null;
+            }
+            return BY_ORDINAL.get(specificType).computeIfAbsent(genericType, type -> matchOrdinals(type, specificType));
+        }
+
+        /**
+         * Retrieve the given translation, or the translation of the type of the given generic constant if it differs.
+         * @param translation - the translation, or NULL.
+         * @param generic - the generic constant.
+         * @param specificType - the specific enum.
+         * @param byOrdinal - whether the translation matches ordinals instead of names.
+         * @return The translation.
+         */
+        static EnumTranslation of(EnumTranslation translation, Enum<?> generic, Class<?> specificType, boolean byOrdinal) {
+            Class<?> type = generic.getDeclaringClass();
+            if (translation != null && translation.genericType == type) {
+                return translation;
+            }
+            return byOrdinal ? byOrdinal(type, specificType) : byName(type, specificType);
+        }
+
+        static EnumTranslation checkGeneric(EnumTranslation translation, Class<?> genericType) {
+            if (translation == null) {
+                throw new IllegalStateException("Generic type " + genericType + " is not an enum");
+            }
+            return translation;
+        }
+
+        Object getGeneric(Enum<?> specific) {
             int ordinal = specific.ordinal();
-            for (Object elem : genericClass.getEnumConstants()) {
-                if (((Enum<?>) elem).ordinal() == ordinal) {
-                    return elem;
+            return ordinal < this.generics.length ? this.generics[ordinal] : null;
+        }
+
+        Enum<?> getSpecific(Enum<?> generic) {
+            int ordinal = generic.ordinal();
+            return ordinal < this.specifics.length ? this.specifics[ordinal] : null;
+        }
+
+        private static EnumTranslation matchNames(Class<?> genericType, Class<?> specificType) {
+            Enum<?>[] genericConstants = (Enum<?>[]) genericType.getEnumConstants();
+            Enum<?>[] specificConstants = (Enum<?>[]) specificType.getEnumConstants();
+            Map<String, Enum<?>> genericNames = names(genericConstants);
+            Map<String, Enum<?>> specificNames = names(specificConstants);
+
+            Object[] generics = new Object[specificConstants.length];
+            for (Enum<?> specific : specificConstants) {
+                Enum<?> generic = genericNames.get(specific.name());
+                if (generic == null && specific instanceof AliasedEnum) {
+                    generic = findAliased(genericConstants, (AliasedEnum) specific);
                 }
+                generics[specific.ordinal()] = generic;
             }
 
-            return null;
+            Enum<?>[] specifics = new Enum<?>[genericConstants.length];
+            for (Enum<?> generic : genericConstants) {
+                Enum<?> specific = specificNames.get(generic.name());
+                if (specific == null) {
+                    specific = findAliasOwner(specificConstants, generic.name());
+                }
+                specifics[generic.ordinal()] = specific;
+            }
+            return new EnumTranslation(genericType, generics, specifics);
         }
 
-        @Override
-        public T getSpecific(Object generic) {
-            int ordinal = ((Enum<?>) generic).ordinal();
-            for (T elem : specificClass.getEnumConstants()) {
-                if (elem.ordinal() == ordinal) {
-                    return elem;
+        private static EnumTranslation matchOrdinals(Class<?> genericType, Class<?> specificType) {
+            Enum<?>[] genericConstants = (Enum<?>[]) genericType.getEnumConstants();
+            Enum<?>[] specificConstants = (Enum<?>[]) specificType.getEnumConstants();
+
+            Object[] generics = new Object[specificConstants.length];
+            System.arraycopy(genericConstants, 0, generics, 0, Math.min(genericConstants.length, generics.length));
+
+            Enum<?>[] specifics = new Enum<?>[genericConstants.length];
+            System.arraycopy(specificConstants, 0, specifics, 0, Math.min(specificConstants.length, specifics.length));
+            return new EnumTranslation(genericType, generics, specifics);
+        }
+
+        private static Map<String, Enum<?>> names(Enum<?>[] constants) {
+            Map<String, Enum<?>> names = new HashMap<>();
+            for (Enum<?> constant : constants) {
+                names.put(constant.name(), constant);
+            }
+            return names;
+        }
+
+        private static Enum<?> findAliased(Enum<?>[] genericConstants, AliasedEnum specific) {
+            for (Enum<?> generic : genericConstants) {
+                for (String alias : specific.getAliases()) {
+                    if (alias.equals(generic.name())) {
+                        return generic;
+                    }
                 }
             }
+            return null;
+        }
 
+        private static Enum<?> findAliasOwner(Enum<?>[] specificConstants, String name) {
+            for (Enum<?> specific : specificConstants) {
+                if (specific instanceof AliasedEnum) {
+                    for (String alias : ((AliasedEnum) specific).getAliases()) {
+                        if (alias.equals(name)) {
+                            return specific;
+                        }
+                    }
+                }
+            }
             return null;
         }
 
-        @Override
-        public Class<T> getSpecificType() {
-            return specificClass;
+        private static final class TranslationCache extends ClassValue<Map<Class<?>, EnumTranslation>> {
+            @Override
+            protected Map<Class<?>, EnumTranslation> computeValue(Class<?> type) {
+                return new ConcurrentHashMap<>();
+            }
         }
     }
 }
@@ -0,0 +1,320 @@
+package com.comphenix.protocol.wrappers;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.comphenix.protocol.PacketType;
+import com.comphenix.protocol.events.PacketContainer;
+import com.comphenix.protocol.injector.netty.WirePacket;
+import com.comphenix.protocol.reflect.FuzzyReflection;
+import com.comphenix.protocol.reflect.accessors.Accessors;
+import com.comphenix.protocol.reflect.accessors.ConstructorAccessor;
+import com.comphenix.protocol.reflect.accessors.MethodAccessor;
+import com.comphenix.protocol.reflect.fuzzy.FuzzyMethodContract;
+import com.comphenix.protocol.utility.MinecraftReflection;
+import com.comphenix.protocol.wrappers.WrappedDataWatcher.Registry;
+import com.comphenix.protocol.wrappers.WrappedDataWatcher.Serializer;
+import com.google.common.base.Preconditions;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+/**
+ * Builds the data values of an entity metadata packet in 1.19.3 and later.
+ * <p>
+ * The serializers of primitive values are looked up once, and the Minecraft data values are only created when the list
+ * is built, without an intermediate {@link WrappedDataValue} for each entry. Setting an index twice replaces the
+ * previous value. A builder can be reused for many packets, as it never shares the built list.
+ * <p>
+ * Metadata that only consists of primitive values and strings can also be written as a {@link WirePacket}, which skips
+ * the Minecraft packet and its encoder altogether.
+ */
+public final class MetadataBuilder {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    // the value types that can be written to the wire without their serializer
+    private static final int TYPE_OTHER = 0;
+    private static final int TYPE_BYTE = 1;
+    private static final int TYPE_INT = 2;
+    private static final int TYPE_LONG = 3;
+    private static final int TYPE_FLOAT = 4;
+    private static final int TYPE_STRING = 5;
+    private static final int TYPE_BOOLEAN = 6;
+
+    private int size;
+    private int[] indices = new int[INITIAL_CAPACITY];
+    private int[] types = new int[INITIAL_CAPACITY];
+    private Object[] serializers = new Object[INITIAL_CAPACITY];
+    private Object[] values = new Object[INITIAL_CAPACITY];
+
+    /**
+     * Set a byte value, such as the entity flags at index 0.
+     *
+     * @param index - the metadata index.
+     * @param value - the value.
+     * @return This builder, for chaining.
+     */
+    public MetadataBuilder setByte(int index, byte value) {
+        return this.set(index, TYPE_BYTE, Serializers.BYTE, value);
+    }
+
+    /**
+     * Set an integer value.
+     *
+     * @param index - the metadata index.
+     * @param value - the value.
+     * @return This builder, for chaining.
+     */
+    public MetadataBuilder setInt(int index, int value) {
+        return this.set(index, TYPE_INT, Serializers.INT, value);
+    }
+
+    /**
+     * Set a long value.
+     *
+     * @param index - the metadata index.
+     * @param value - the value.
+     * @return This builder, for chaining.
+     */
+    public MetadataBuilder setLong(int index, long value) {
+        return this.set(index, TYPE_LONG, Serializers.LONG, value);
+    }
+
+    /**
+     * Set a float value.
+     *
+     * @param index - the metadata index.
+     * @param value - the value.
+     * @return This builder, for chaining.
+     */
+    public MetadataBuilder setFloat(int index, float value) {
+        return this.set(index, TYPE_FLOAT, Serializers.FLOAT, value);
+    }
+
+    /**
+     * Set a boolean value.
+     *
+     * @param index - the metadata index.
+     * @param value - the value.
+     * @return This builder, for chaining.
+     */
+    public MetadataBuilder setBoolean(int index, boolean value) {
+        return this.set(index, TYPE_BOOLEAN, Serializers.BOOLEAN, value);
+    }
+
+    /**
+     * Set a string value.
+     *
+     * @param index - the metadata index.
+     * @param value - the value.
+     * @return This builder, for chaining.
+     */
+    public MetadataBuilder setString(int index, String value) {
+        return this.set(index, TYPE_STRING, Serializers.STRING, Preconditions.checkNotNull(value, "value cannot be null"));
+    }
+
+    /**
+     * Set a value with the given serializer. ProtocolLib wrappers are unwrapped implicitly.
+     *
+     * @param index      - the metadata index.
+     * @param serializer - the serializer of the value.
+     * @param value      - the value, wrapped in an Optional if the serializer is optional.
+     * @return This builder, for chaining.
+     */
+    public MetadataBuilder set(int index, Serializer serializer, Object value) {
+        Preconditions.checkNotNull(serializer, "serializer cannot be null");
+        Object raw = value == null ? null : WrappedWatchableObject.getUnwrapped(value);
+        return this.set(index, TYPE_OTHER, serializer.getHandle(), raw);
+    }
+
+    private MetadataBuilder set(int index, int type, Object serializer, Object value) {
+        Preconditions.checkArgument(index >= 0 && index < 255, "index must be between 0 and 254");
+
+        int position = 0;
+        while (position < this.size && this.indices[position] != index) {
+            position++;
+        }
+
+        if (position == this.size) {
+            if (this.size == this.indices.length) {
+                int capacity = this.size * 2;
+                this.indices = Arrays.copyOf(this.indices, capacity);
+                this.types = Arrays.copyOf(this.types, capacity);
+                this.serializers = Arrays.copyOf(this.serializers, capacity);
+                this.values = Arrays.copyOf(this.values, capacity);
+            }
+            this.size++;
+        }
+
+        this.indices[position] = index;
+        this.types[position] = type;
+        this.serializers[position] = serializer;
+        this.values[position] = value;
+        return this;
+    }
+
+    /**
+     * Remove every value from this builder.
+     *
+     * @return This builder, for chaining.
+     */
+    public MetadataBuilder clear() {
+        Arrays.fill(this.values, 0, this.size, null);
+        this.size = 0;
+        return this;
+    }
+
+    /**
+     * Retrieve the number of values in this builder.
+     *
+     * @return The number of values.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Create a new list of Minecraft data values from the values in this builder.
+     *
+     * @return The list of Minecraft data values.
+     */
+    public List<Object> build() {
+        ConstructorAccessor constructor = WrappedDataValue.getConstructor();
+
+        List<Object> result = new ArrayList<>(this.size);
+        for (int i = 0; i < this.size; i++) {
+            result.add(constructor.invoke(this.indices[i], this.serializers[i], this.values[i]));
+        }
+        return result;
+    }
+
+    /**
+     * Write the values in this builder to an entity metadata packet, replacing its current values.
+     *
+     * @param packet - the entity metadata packet.
+     * @return This builder, for chaining.
+     */
+    public MetadataBuilder writeTo(PacketContainer packet) {
+        Preconditions.checkArgument(packet.getType() == PacketType.Play.Server.ENTITY_METADATA,
+                "Expected an entity metadata packet, got %s", packet.getType());
+        packet.getModifier().withType(List.class).write(0, this.build());
+        return this;
+    }
+
+    /**
+     * Create a new entity metadata packet with the values in this builder.
+     *
+     * @param entityId - the ID of the entity.
+     * @return The new packet.
+     */
+    public PacketContainer toPacket(int entityId) {
+        PacketContainer packet = new PacketContainer(PacketType.Play.Server.ENTITY_METADATA);
+        packet.getIntegers().write(0, entityId);
+        this.writeTo(packet);
+        return packet;
+    }
+
+    /**
+     * Encode the values in this builder directly into an entity metadata wire packet.
+     *
+     * @param entityId - the ID of the entity.
+     * @return The wire packet.
+     * @throws IllegalStateException If a value was not set with one of the primitive setters.
+     */
+    public WirePacket toWirePacket(int entityId) {
+        ByteBuf buffer = Unpooled.buffer(16 + this.size * 8);
+        WirePacket.writeVarInt(buffer, entityId);
+
+        for (int i = 0; i < this.size; i++) {
+            Preconditions.checkState(this.types[i] != TYPE_OTHER,
+                    "Value at index %s cannot be encoded without its serializer", this.indices[i]);
+
+            buffer.writeByte(this.indices[i]);
+            WirePacket.writeVarInt(buffer, WireIds.get(this.types[i]));
+
+            Object value = this.values[i];
+            switch (this.types[i]) {
+                case TYPE_BYTE:
+                    buffer.writeByte((Byte) value);
+                    break;
+                case TYPE_INT:
+                    WirePacket.writeVarInt(buffer, (Integer) value);
+                    break;
+                case TYPE_LONG:
+                    writeVarLong(buffer, (Long) value);
+                    break;
+                case TYPE_FLOAT:
+                    buffer.writeFloat((Float) value);
+                    break;
+                case TYPE_BOOLEAN:
+                    buffer.writeBoolean((Boolean) value);
+                    break;
+                case TYPE_STRING:
+                    byte[] bytes = ((String) value).getBytes(StandardCharsets.UTF_8);
+                    WirePacket.writeVarInt(buffer, bytes.length);
+                    buffer.writeBytes(bytes);
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown value type " + this.types[i]);
+            }
+        }
+
+        // end of the metadata
+        buffer.writeByte(0xFF);
+
+        byte[] bytes = new byte[buffer.readableBytes()];
+        buffer.readBytes(bytes);
+        return new WirePacket(PacketType.Play.Server.ENTITY_METADATA, bytes);
+    }
+
+    private static void writeVarLong(ByteBuf output, long value) {
+        while ((value & ~0x7FL) != 0) {
+            output.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        output.writeByte((int) value);
+    }
+
+    // resolved on first use, the registry is only available on 1.19.3 and later
+    private static final class Serializers {
+
+        static final Object BYTE = Registry.get(Byte.class, false).getHandle();
+        static final Object INT = Registry.get(Integer.class, false).getHandle();
+        static final Object LONG = Registry.get(Long.class, false).getHandle();
+        static final Object FLOAT = Registry.get(Float.class, false).getHandle();
+        static final Object STRING = Registry.get(String.class, false).getHandle();
+        static final Object BOOLEAN = Registry.get(Boolean.class, false).getHandle();
+    }
+
+    // the network ids of the serializers, only needed for wire packets
+    private static final class WireIds {
+
+        private static final int[] IDS;
+
+        static {
+            Method getId = FuzzyReflection.fromClass(MinecraftReflection.getDataWatcherRegistryClass(), false)
+                    .getMethod(FuzzyMethodContract.newBuilder()
+                            .requireModifier(Modifier.STATIC)
+                            .returnTypeExact(int.class)
+                            .parameterExactArray(MinecraftReflection.getDataWatcherSerializerClass())
+                            .build());
+            MethodAccessor accessor = Accessors.getMethodAccessor(getId);
+
+            IDS = new int[TYPE_BOOLEAN + 1];
+            IDS[TYPE_BYTE] = (Integer) accessor.invoke(null, Serializers.BYTE);
+            IDS[TYPE_INT] = (Integer) accessor.invoke(null, Serializers.INT);
+            IDS[TYPE_LONG] = (Integer) accessor.invoke(null, Serializers.LONG);
+            IDS[TYPE_FLOAT] = (Integer) accessor.invoke(null, Serializers.FLOAT);
+            IDS[TYPE_STRING] = (Integer) accessor.invoke(null, Serializers.STRING);
+            IDS[TYPE_BOOLEAN] = (Integer) accessor.invoke(null, Serializers.BOOLEAN);
+        }
+
+        static int get(int type) {
+            return IDS[type];
+        }
+    }
+}
@@ -23,11 +23,14 @@ import org.bukkit.World;
 
 import com.comphenix.protocol.PacketType;
 import com.comphenix.protocol.reflect.EquivalentConverter;
-import com.comphenix.protocol.reflect.StructureModifier;
+import com.comphenix.protocol.reflect.accessors.Accessors;
+import com.comphenix.protocol.reflect.accessors.FieldAccessor;
 import com.comphenix.protocol.utility.MinecraftReflection;
 
 /**
  * Represents a single block change.
+ * <p>
+ * See {@link PackedBlockChanges} for reading and writing many block changes without an object per block.
  * 
  * @author dmulloy2
  */
@@ -189,14 +192,8 @@ public class MultiBlockChangeInfo {
 
             @Override
             public MultiBlockChangeInfo getSpecific(Object generic) {
-                StructureModifier<Object> modifier = new StructureModifier<>(generic.getClass(), null, false).withTarget(generic);
-
-                StructureModifier<Short> shorts = modifier.withType(short.class);
-                short location = shorts.read(0);
-
-                StructureModifier<WrappedBlockData> dataModifier = modifier.withType(MinecraftReflection.getIBlockDataClass(),
-                        BukkitConverters.getWrappedBlockDataConverter());
-                WrappedBlockData data = dataModifier.read(0);
+                short location = (Short) Fields.LOCATION.get(generic);
+                WrappedBlockData data = BukkitConverters.getWrappedBlockDataConverter().getSpecific(Fields.DATA.get(generic));
 
                 return new MultiBlockChangeInfo(location, data, chunk);
             }
@@ -228,4 +225,10 @@ public class MultiBlockChangeInfo {
             }
         };
     }
+
+    // resolved on first use, and safely published by the class initialization
+    private static final class Fields {
+        static final FieldAccessor LOCATION = Accessors.getFieldAccessor(nmsClass, short.class, true);
+        static final FieldAccessor DATA = Accessors.getFieldAccessor(nmsClass, MinecraftReflection.getIBlockDataClass(), true);
+    }
 }
@@ -0,0 +1,396 @@
+package com.comphenix.protocol.wrappers;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.function.IntUnaryOperator;
+
+import com.comphenix.protocol.PacketType;
+import com.comphenix.protocol.events.PacketContainer;
+import com.comphenix.protocol.utility.MinecraftReflection;
+import com.google.common.base.Preconditions;
+
+/**
+ * The block changes of a multi block change packet in 1.16.2 and later, stored as primitive arrays.
+ * <p>
+ * Unlike {@link MultiBlockChangeInfo}, no object is created for each changed block. Every change consists of its
+ * position relative to the section, packed into a short as {@code x << 8 | z << 4 | y}, and the network ID of its block
+ * state. A single instance can be reused for many packets, as its arrays only grow. The encoded form used by
+ * {@link #getEncoded(int)} is the one sent over the wire, {@code stateId << 12 | position}.
+ */
+public final class PackedBlockChanges {
+
+    private static final Class<?> BLOCK_DATA_ARRAY = MinecraftReflection.getArrayClass(MinecraftReflection.getIBlockDataClass());
+
+    private int sectionX;
+    private int sectionY;
+    private int sectionZ;
+
+    private int size;
+    private short[] positions;
+    private int[] stateIds;
+
+    /**
+     * Construct an empty list of block changes in the section at the origin.
+     */
+    public PackedBlockChanges() {
+        this(16);
+    }
+
+    /**
+     * Construct an empty list of block changes in the section at the origin.
+     *
+     * @param capacity - the initial number of changes that can be stored.
+     */
+    public PackedBlockChanges(int capacity) {
+        Preconditions.checkArgument(capacity >= 0, "capacity cannot be negative");
+        this.positions = new short[capacity];
+        this.stateIds = new int[capacity];
+    }
+
+    /**
+     * Read the block changes of the given packet into a new instance.
+     *
+     * @param packet - the multi block change packet.
+     * @return The block changes.
+     */
+    public static PackedBlockChanges fromPacket(PacketContainer packet) {
+        return new PackedBlockChanges(0).readFrom(packet);
+    }
+
+    /**
+     * Pack a position relative to a section into a short.
+     *
+     * @param x - the x coordinate, only the lowest 4 bits are used.
+     * @param y - the y coordinate, only the lowest 4 bits are used.
+     * @param z - the z coordinate, only the lowest 4 bits are used.
+     * @return The packed position.
+     */
+    public static short packPosition(int x, int y, int z) {
+        return (short) ((x & 15) << 8 | (z & 15) << 4 | (y & 15));
+    }
+
+    /**
+     * Replace the block changes in this instance with those of the given packet.
+     *
+     * @param packet - the multi block change packet.
+     * @return This instance, for chaining.
+     */
+    public PackedBlockChanges readFrom(PacketContainer packet) {
+        checkType(packet);
+
+        BlockPosition section = packet.getSectionPositions().read(0);
+        this.setSection(section.getX(), section.getY(), section.getZ());
+
+        short[] packetPositions = packet.getShortArrays().read(0);
+        Object[] packetStates = (Object[]) packet.getModifier().withType(BLOCK_DATA_ARRAY).read(0);
+
+        this.size = 0;
+        this.ensureCapacity(packetPositions.length);
+        System.arraycopy(packetPositions, 0, this.positions, 0, packetPositions.length);
+        for (int i = 0; i < packetStates.length; i++) {
+            this.stateIds[i] = WrappedBlockData.getStateId(packetStates[i]);
+        }
+
+        this.size = packetPositions.length;
+        return this;
+    }
+
+    /**
+     * Write the block changes in this instance to the given packet, replacing its section and changes.
+     *
+     * @param packet - the multi block change packet.
+     * @return This instance, for chaining.
+     */
+    public PackedBlockChanges writeTo(PacketContainer packet) {
+        checkType(packet);
+
+        Object[] packetStates = (Object[]) Array.newInstance(BLOCK_DATA_ARRAY.getComponentType(), this.size);
+        for (int i = 0; i < this.size; i++) {
+            packetStates[i] = WrappedBlockData.getStateHandle(this.stateIds[i]);
+        }
+
+        packet.getSectionPositions().write(0, new BlockPosition(this.sectionX, this.sectionY, this.sectionZ));
+        packet.getShortArrays().write(0, Arrays.copyOf(this.positions, this.size));
+        packet.getModifier().withType(BLOCK_DATA_ARRAY).write(0, packetStates);
+        return this;
+    }
+
+    /**
+     * Create a new multi block change packet with the block changes in this instance.
+     *
+     * @return The new packet.
+     */
+    public PacketContainer toPacket() {
+        PacketContainer packet = new PacketContainer(PacketType.Play.Server.MULTI_BLOCK_CHANGE);
+        this.writeTo(packet);
+        return packet;
+    }
+
+    private static void checkType(PacketContainer packet) {
+        Preconditions.checkNotNull(packet, "packet cannot be null");
+        Preconditions.checkArgument(packet.getType() == PacketType.Play.Server.MULTI_BLOCK_CHANGE,
+                "Expected a multi block change packet, got %s", packet.getType());
+    }
+
+    /**
+     * Set the section the block changes occur in.
+     *
+     * @param x - the section x coordinate, which is the block x coordinate shifted right by 4.
+     * @param y - the section y coordinate.
+     * @param z - the section z coordinate.
+     * @return This instance, for chaining.
+     */
+    public PackedBlockChanges setSection(int x, int y, int z) {
+        this.sectionX = x;
+        this.sectionY = y;
+        this.sectionZ = z;
+        return this;
+    }
+
+    /**
+     * Retrieve the section x coordinate.
+     *
+     * @return The section x coordinate.
+     */
+    public int getSectionX() {
+        return this.sectionX;
+    }
+
+    /**
+     * Retrieve the section y coordinate.
+     *
+     * @return The section y coordinate.
+     */
+    public int getSectionY() {
+        return this.sectionY;
+    }
+
+    /**
+     * Retrieve the section z coordinate.
+     *
+     * @return The section z coordinate.
+     */
+    public int getSectionZ() {
+        return this.sectionZ;
+    }
+
+    /**
+     * Add a block change at the given absolute block coordinates, which must be inside the current section.
+     *
+     * @param x       - the absolute x coordinate.
+     * @param y       - the absolute y coordinate.
+     * @param z       - the absolute z coordinate.
+     * @param stateId - the network ID of the block state.
+     * @return This instance, for chaining.
+     */
+    public PackedBlockChanges add(int x, int y, int z, int stateId) {
+        Preconditions.checkArgument(x >> 4 == this.sectionX && y >> 4 == this.sectionY && z >> 4 == this.sectionZ,
+                "Block %s %s %s is outside of the section", x, y, z);
+        return this.addRelative(packPosition(x, y, z), stateId);
+    }
+
+    /**
+     * Add a block change at a packed position relative to the section.
+     *
+     * @param position - the packed position.
+     * @param stateId  - the network ID of the block state.
+     * @return This instance, for chaining.
+     */
+    public PackedBlockChanges addRelative(short position, int stateId) {
+        this.ensureCapacity(this.size + 1);
+        this.positions[this.size] = position;
+        this.stateIds[this.size] = stateId;
+        this.size++;
+        return this;
+    }
+
+    /**
+     * Add every block change in the given arrays.
+     *
+     * @param positions - the packed positions.
+     * @param stateIds  - the network IDs of the block states.
+     * @param count     - the number of changes to add from the start of the arrays.
+     * @return This instance, for chaining.
+     */
+    public PackedBlockChanges addAll(short[] positions, int[] stateIds, int count) {
+        Preconditions.checkArgument(count >= 0 && count <= positions.length && count <= stateIds.length,
+                "count must be between 0 and the length of both arrays");
+
+        this.ensureCapacity(this.size + count);
+        System.arraycopy(positions, 0, this.positions, this.size, count);
+        System.arraycopy(stateIds, 0, this.stateIds, this.size, count);
+        this.size += count;
+        return this;
+    }
+
+    /**
+     * Replace the block changes with the given encoded changes, as they are sent over the wire.
+     *
+     * @param encoded - the encoded changes.
+     * @param count   - the number of changes to read from the start of the array.
+     * @return This instance, for chaining.
+     */
+    public PackedBlockChanges setEncoded(long[] encoded, int count) {
+        Preconditions.checkArgument(count >= 0 && count <= encoded.length, "count must be between 0 and the array length");
+
+        this.size = 0;
+        this.ensureCapacity(count);
+        for (int i = 0; i < count; i++) {
+            this.positions[i] = (short) (encoded[i] & 0xFFF);
+            this.stateIds[i] = (int) (encoded[i] >>> 12);
+        }
+        this.size = count;
+        return this;
+    }
+
+    /**
+     * Encode every block change as it is sent over the wire.
+     *
+     * @param target - the array to reuse if it's large enough, or NULL.
+     * @return An array starting with the encoded changes.
+     */
+    public long[] toEncoded(long[] target) {
+        long[] result = target != null && target.length >= this.size ? target : new long[this.size];
+        for (int i = 0; i < this.size; i++) {
+            result[i] = this.getEncoded(i);
+        }
+        return result;
+    }
+
+    /**
+     * Apply the given function to the block state of every change.
+     *
+     * @param remapper - maps a block state ID to its replacement.
+     * @return This instance, for chaining.
+     */
+    public PackedBlockChanges remapStateIds(IntUnaryOperator remapper) {
+        for (int i = 0; i < this.size; i++) {
+            this.stateIds[i] = remapper.applyAsInt(this.stateIds[i]);
+        }
+        return this;
+    }
+
+    /**
+     * Remove every block change.
+     *
+     * @return This instance, for chaining.
+     */
+    public PackedBlockChanges clear() {
+        this.size = 0;
+        return this;
+    }
+
+    /**
+     * Retrieve the number of block changes.
+     *
+     * @return The number of changes.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Retrieve the packed position of a change, relative to the section.
+     *
+     * @param index - the index of the change.
+     * @return The packed position.
+     */
+    public short getPosition(int index) {
+        Preconditions.checkElementIndex(index, this.size);
+        return this.positions[index];
+    }
+
+    /**
+     * Retrieve the absolute x coordinate of a change.
+     *
+     * @param index - the index of the change.
+     * @return The x coordinate.
+     */
+    public int getX(int index) {
+        return (this.sectionX << 4) + (this.getPosition(index) >>> 8 & 15);
+    }
+
+    /**
+     * Retrieve the absolute y coordinate of a change.
+     *
+     * @param index - the index of the change.
+     * @return The y coordinate.
+     */
+    public int getY(int index) {
+        return (this.sectionY << 4) + (this.getPosition(index) & 15);
+    }
+
+    /**
+     * Retrieve the absolute z coordinate of a change.
+     *
+     * @param index - the index of the change.
+     * @return The z coordinate.
+     */
+    public int getZ(int index) {
+        return (this.sectionZ << 4) + (this.getPosition(index) >>> 4 & 15);
+    }
+
+    /**
+     * Retrieve the block state ID of a change.
+     *
+     * @param index - the index of the change.
+     * @return The block state ID.
+     */
+    public int getStateId(int index) {
+        Preconditions.checkElementIndex(index, this.size);
+        return this.stateIds[index];
+    }
+
+    /**
+     * Set the block state ID of a change.
+     *
+     * @param index   - the index of the change.
+     * @param stateId - the new block state ID.
+     */
+    public void setStateId(int index, int stateId) {
+        Preconditions.checkElementIndex(index, this.size);
+        this.stateIds[index] = stateId;
+    }
+
+    /**
+     * Retrieve a change encoded as it is sent over the wire.
+     *
+     * @param index - the index of the change.
+     * @return The encoded change.
+     */
+    public long getEncoded(int index) {
+        Preconditions.checkElementIndex(index, this.size);
+        return (long) this.stateIds[index] << 12 | (this.positions[index] & 0xFFF);
+    }
+
+    /**
+     * Retrieve the packed positions, which may be longer than the number of changes.
+     *
+     * @return The backing array of positions.
+     */
+    public short[] getPositions() {
+        return this.positions;
+    }
+
+    /**
+     * Retrieve the block state IDs, which may be longer than the number of changes.
+     *
+     * @return The backing array of block state IDs.
+     */
+    public int[] getStateIds() {
+        return this.stateIds;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (this.positions.length < capacity) {
+            int newCapacity = Math.max(capacity, this.positions.length * 2);
+            this.positions = Arrays.copyOf(this.positions, newCapacity);
+            this.stateIds = Arrays.copyOf(this.stateIds, newCapacity);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "PackedBlockChanges[section=" + this.sectionX + "," + this.sectionY + "," + this.sectionZ + ", size=" + this.size + "]";
+    }
+}
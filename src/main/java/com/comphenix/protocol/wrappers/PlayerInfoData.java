@@ -197,11 +197,17 @@ public class PlayerInfoData {
         return this.remoteChatSessionData;
     }
 
+    private static final EquivalentConverter<PlayerInfoData> CONVERTER = createConverter();
+
     /**
      * Used to convert between NMS PlayerInfoData and the wrapper instance.
-     * @return A new converter.
+     * @return The shared converter.
      */
     public static EquivalentConverter<PlayerInfoData> getConverter() {
+        return CONVERTER;
+    }
+
+    private static EquivalentConverter<PlayerInfoData> createConverter() {
         return new EquivalentConverter<PlayerInfoData>() {
             @Override
             public Object getGeneric(PlayerInfoData specific) {
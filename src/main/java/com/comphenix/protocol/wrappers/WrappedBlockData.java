@@ -21,11 +21,14 @@ import java.lang.reflect.Modifier;
 import com.comphenix.protocol.reflect.FuzzyReflection;
 import com.comphenix.protocol.reflect.accessors.Accessors;
 import com.comphenix.protocol.reflect.accessors.MethodAccessor;
+import com.comphenix.protocol.reflect.fuzzy.FuzzyFieldContract;
 import com.comphenix.protocol.reflect.fuzzy.FuzzyMethodContract;
 import com.comphenix.protocol.utility.MinecraftReflection;
 import com.comphenix.protocol.utility.MinecraftVersion;
+import com.google.common.collect.Iterables;
 
 import org.bukkit.Material;
+import org.bukkit.block.data.BlockData;
 
 /**
  * Represents a wrapper around IBlockData.
@@ -113,12 +116,38 @@ public abstract class WrappedBlockData extends AbstractWrapper implements Clonab
             }
         }
 
+        // the network ID of the handle, or -1 if it has not been looked up yet
+        private int stateId = -1;
+
         private NewBlockData(Object handle) {
             super(handle);
         }
 
+        private NewBlockData(Object handle, int stateId) {
+            super(handle);
+            this.stateId = stateId;
+        }
+
+        @Override
+        protected void setHandle(Object handle) {
+            super.setHandle(handle);
+            this.stateId = -1;
+        }
+
+        @Override
+        public int getStateId() {
+            if (stateId < 0) {
+                stateId = getStateId(handle);
+            }
+            return stateId;
+        }
+
         @Override
         public Material getType() {
+            return StateCache.get(getStateId()).getType();
+        }
+
+        private static Material getType(Object handle) {
             Object block = GET_BLOCK.invoke(handle);
             return (Material) MATERIAL_FROM_BLOCK.invoke(null, block);
         }
@@ -146,7 +175,7 @@ public abstract class WrappedBlockData extends AbstractWrapper implements Clonab
 
         @Override
         public WrappedBlockData deepClone() {
-            return new NewBlockData(handle);
+            return new NewBlockData(handle, stateId);
         }
 
         private static WrappedBlockData createNewData(Material material) {
@@ -317,6 +346,168 @@ public abstract class WrappedBlockData extends AbstractWrapper implements Clonab
         return NewBlockData.createNewData(data);
     }
 
+    /**
+     * Retrieves the network ID of this block state in 1.13 and later.
+     * @return The block state ID
+     */
+    public int getStateId() {
+        return getStateId(handle);
+    }
+
+    /**
+     * Creates a new BlockData instance from the network ID of a block state in 1.13 and later.
+     * @param stateId Block state ID
+     * @return New BlockData
+     */
+    public static WrappedBlockData fromStateId(int stateId) {
+        return new NewBlockData(getStateHandle(stateId), stateId);
+    }
+
+    /**
+     * Retrieves the shared, unmodifiable BlockData of the block state with the given network ID in 1.13 and later.
+     * Use {@link #deepClone()} to obtain a copy that can be modified.
+     * @param stateId Block state ID
+     * @return The shared BlockData
+     */
+    public static WrappedBlockData getCanonical(int stateId) {
+        return StateCache.get(stateId).getCanonical();
+    }
+
+    /**
+     * Creates a new Bukkit BlockData of the block state with the given network ID in 1.13 and later.
+     * @param stateId Block state ID
+     * @return New Bukkit BlockData
+     */
+    public static BlockData getBukkitData(int stateId) {
+        return StateCache.get(stateId).getBukkitData().clone();
+    }
+
+    /**
+     * Creates a new Bukkit BlockData of this block state in 1.13 and later.
+     * @return New Bukkit BlockData
+     */
+    public BlockData toBukkitData() {
+        return getBukkitData(getStateId());
+    }
+
+    static int getStateId(Object handle) {
+        return (Integer) StateCache.GET_ID.invoke(null, handle);
+    }
+
+    static Object getStateHandle(int stateId) {
+        return StateCache.get(stateId).handle;
+    }
+
+    /**
+     * The block states indexed by their network ID, which are filled in when they are first requested.
+     */
+    private static final class StateCache {
+        static final MethodAccessor GET_ID = Accessors.getMethodAccessor(FuzzyReflection.fromClass(BLOCK)
+                .getMethod(FuzzyMethodContract.newBuilder()
+                        .requireModifier(Modifier.STATIC)
+                        .returnTypeExact(int.class)
+                        .parameterExactArray(IBLOCK_DATA)
+                        .build()));
+        static final MethodAccessor BY_ID = Accessors.getMethodAccessor(FuzzyReflection.fromClass(BLOCK)
+                .getMethod(FuzzyMethodContract.newBuilder()
+                        .requireModifier(Modifier.STATIC)
+                        .returnTypeExact(IBLOCK_DATA)
+                        .parameterExactArray(int.class)
+                        .build()));
+
+        private static final Class<?> CRAFT_BLOCK_DATA = MinecraftReflection.getCraftBukkitClass("block.data.CraftBlockData");
+        static final MethodAccessor TO_BUKKIT = Accessors.getMethodAccessor(FuzzyReflection.fromClass(CRAFT_BLOCK_DATA)
+                .getMethod(FuzzyMethodContract.newBuilder()
+                        .requireModifier(Modifier.STATIC)
+                        .returnTypeExact(CRAFT_BLOCK_DATA)
+                        .parameterExactArray(IBLOCK_DATA)
+                        .build()));
+
+        // the block state registry of Block, which assigns the network IDs and never changes after bootstrap
+        private static final Iterable<?> REGISTRY = (Iterable<?>) Accessors.getFieldAccessor(FuzzyReflection.fromClass(BLOCK, true)
+                .getField(FuzzyFieldContract.newBuilder()
+                        .requireModifier(Modifier.STATIC)
+                        .typeDerivedOf(Iterable.class)
+                        .build())).get(null);
+
+        // entries are immutable, so a racing reader either sees a complete entry or loads it again
+        private static final StateCache[] ENTRIES = new StateCache[Iterables.size(REGISTRY)];
+
+        private final int stateId;
+        private final Object handle;
+
+        private volatile Material type;
+        private volatile WrappedBlockData canonical;
+        private volatile BlockData bukkitData;
+
+        private StateCache(int stateId, Object handle) {
+            this.stateId = stateId;
+            this.handle = handle;
+        }
+
+        static StateCache get(int stateId) {
+            if (stateId < 0 || stateId >= ENTRIES.length) {
+                throw new IllegalArgumentException("Invalid block state ID " + stateId);
+            }
+
+            StateCache entry = ENTRIES[stateId];
+            return entry != null ? entry : load(stateId);
+        }
+
+        private static synchronized StateCache load(int stateId) {
+            StateCache entry = ENTRIES[stateId];
+            if (entry == null) {
+                Object handle = BY_ID.invoke(null, stateId);
+                if (handle == null) {
+                    throw new IllegalArgumentException("Unknown block state ID " + stateId);
+                }
+
+                entry = new StateCache(stateId, handle);
+                ENTRIES[stateId] = entry;
+            }
+            return entry;
+        }
+
+        Material getType() {
+            Material result = type;
+            if (result == null) {
+                type = result = NewBlockData.getType(handle);
+            }
+            return result;
+        }
+
+        WrappedBlockData getCanonical() {
+            WrappedBlockData result = canonical;
+            if (result == null) {
+                canonical = result = new CanonicalBlockData(handle, stateId);
+            }
+            return result;
+        }
+
+        BlockData getBukkitData() {
+            BlockData result = bukkitData;
+            if (result == null) {
+                bukkitData = result = (BlockData) TO_BUKKIT.invoke(null, handle);
+            }
+            return result;
+        }
+    }
+
+    private static final class CanonicalBlockData extends NewBlockData {
+
+        private CanonicalBlockData(Object handle, int stateId) {
+            super(handle, stateId);
+        }
+
+        @Override
+        protected void setHandle(Object handle) {
+            if (this.handle != null) {
+                throw new UnsupportedOperationException("Canonical block data cannot be modified, use deepClone()");
+            }
+            super.setHandle(handle);
+        }
+    }
+
     @Override
     public String toString() {
         return "WrappedBlockData[handle=" + handle + "]";
@@ -82,15 +82,23 @@ public class WrappedChatComponent extends AbstractWrapper implements ClonableWra
         }
     }
 
-    private static Object serialize(Object handle) {
+    private static String serialize(Object handle) {
+        return ChatComponentCache.serialize(handle, WrappedChatComponent::serializeUncached);
+    }
+
+    private static String serializeUncached(Object handle) {
     	if (MinecraftVersion.v1_20_5.atOrAbove()) {
-    		return SERIALIZE_COMPONENT.invoke(null, handle, MinecraftRegistryAccess.get());
+    		return (String) SERIALIZE_COMPONENT.invoke(null, handle, MinecraftRegistryAccess.get());
     	}
 
-		return SERIALIZE_COMPONENT.invoke(null, handle);
+		return (String) SERIALIZE_COMPONENT.invoke(null, handle);
     }
 
     private static Object deserialize(String json) {
+        return ChatComponentCache.parse(json, WrappedChatComponent::deserializeUncached);
+    }
+
+    private static Object deserializeUncached(String json) {
     	if (MinecraftVersion.v1_20_5.atOrAbove()) {
     		return DESERIALIZE.invoke(null, json, MinecraftRegistryAccess.get());
     	}
@@ -193,7 +201,7 @@ public class WrappedChatComponent extends AbstractWrapper implements ClonableWra
      */
     public String getJson() {
         if (cache == null) {
-            cache = (String) serialize(handle);
+            cache = serialize(handle);
         }
         return cache;
     }
@@ -209,10 +217,13 @@ public class WrappedChatComponent extends AbstractWrapper implements ClonableWra
 
     /**
      * Retrieve a deep copy of the current chat component.
+     * <p>
+     * The copy is never shared through the {@link ChatComponentCache}.
      * @return A copy of the current component.
      */
     public WrappedChatComponent deepClone() {
-        return fromJson(getJson());
+        String json = getJson();
+        return new WrappedChatComponent(deserializeUncached(json), json);
     }
 
     @Override
@@ -1,8 +1,10 @@
 package com.comphenix.protocol.wrappers;
 
+import com.comphenix.protocol.reflect.FuzzyReflection;
 import com.comphenix.protocol.reflect.StructureModifier;
 import com.comphenix.protocol.reflect.accessors.Accessors;
 import com.comphenix.protocol.reflect.accessors.ConstructorAccessor;
+import com.comphenix.protocol.reflect.fuzzy.FuzzyMethodContract;
 import com.comphenix.protocol.utility.MinecraftReflection;
 import com.comphenix.protocol.wrappers.WrappedDataWatcher.Registry;
 import com.comphenix.protocol.wrappers.WrappedDataWatcher.Serializer;
@@ -58,11 +60,22 @@ public class WrappedDataValue extends AbstractWrapper {
     }
 
     private static Object newHandle(int index, Serializer serializer, Object value) {
+        return getConstructor().invoke(index, serializer.getHandle(), value);
+    }
+
+    /**
+     * Retrieve the constructor of the NMS data value, which takes the index, the serializer handle and the raw value.
+     *
+     * @return The constructor.
+     */
+    static ConstructorAccessor getConstructor() {
         if (constructor == null) {
-            constructor = Accessors.getConstructorAccessor(HANDLE_TYPE.getConstructors()[0]);
+            constructor = Accessors.getConstructorAccessor(FuzzyReflection.fromClass(HANDLE_TYPE, false)
+                    .getConstructor(FuzzyMethodContract.newBuilder()
+                            .parameterExactArray(int.class, MinecraftReflection.getDataWatcherSerializerClass(), Object.class)
+                            .build()));
         }
-
-        return constructor.invoke(index, serializer.getHandle(), value);
+        return constructor;
     }
 
     /**
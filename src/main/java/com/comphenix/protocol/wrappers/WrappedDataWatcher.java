@@ -984,7 +984,7 @@ public class WrappedDataWatcher implements IDataWatcher {
      * @author dmulloy2
      */
     public static class Registry {
-        private static boolean INITIALIZED = false;
+        private static volatile boolean INITIALIZED = false;
 
         private static Map<Class<?>, Serializer> RAW_REGISTRY = null;
         private static Map<Class<?>, Serializer> OPTIONAL_REGISTRY = null;
@@ -1061,12 +1061,19 @@ public class WrappedDataWatcher implements IDataWatcher {
         }
 
         private static void initialize() {
-            if (!INITIALIZED) {
-                INITIALIZED = true;
-            } else {
+            if (INITIALIZED) {
                 return;
             }
 
+            synchronized (Registry.class) {
+                if (!INITIALIZED) {
+                    createRegistries();
+                    INITIALIZED = true;
+                }
+            }
+        }
+
+        private static void createRegistries() {
             Map<Class<?>, Serializer> rawRegistry = new HashMap<>();
             Map<Class<?>, Serializer> optionalRegistry = new HashMap<>();
 
@@ -332,15 +332,15 @@ public class NbtFactory {
      * @return A NBT wrapper.
      */
     public static <T> NbtWrapper<T> fromNMS(Object handle, String name) {
-        WrappedElement<T> partial = new WrappedElement<>(handle, name);
+        NbtType type = NbtHandles.getType(handle);
 
         // See if this is actually a compound tag
-        if (partial.getType() == NbtType.TAG_COMPOUND)
+        if (type == NbtType.TAG_COMPOUND)
             return (NbtWrapper<T>) new WrappedCompound(handle, name);
-        else if (partial.getType() == NbtType.TAG_LIST)
+        else if (type == NbtType.TAG_LIST)
             return new WrappedList(handle, name);
         else
-            return partial;
+            return new WrappedElement<>(handle, name);
     }
 
     /**
@@ -0,0 +1,114 @@
+package com.comphenix.protocol.wrappers.nbt;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.comphenix.protocol.reflect.FieldAccessException;
+import com.comphenix.protocol.reflect.FuzzyReflection;
+import com.comphenix.protocol.reflect.accessors.Accessors;
+import com.comphenix.protocol.reflect.accessors.FieldAccessor;
+import com.comphenix.protocol.reflect.accessors.MethodAccessor;
+import com.comphenix.protocol.utility.MinecraftReflection;
+
+/**
+ * Reads Minecraft NBT tags directly, without creating a wrapper for each tag.
+ * <p>
+ * The type and value field of every tag class are looked up once, and reused for every tag of that class.
+ */
+final class NbtHandles {
+
+    private static final Map<Class<?>, TagClass> TAG_CLASSES = new ConcurrentHashMap<>();
+
+    private static volatile MethodAccessor getTypeId;
+
+    private NbtHandles() {
+    }
+
+    static NbtType getType(Object handle) {
+        return getTagClass(handle).type;
+    }
+
+    static Object getValue(Object handle) {
+        TagClass tagClass = getTagClass(handle);
+        return tagClass.value != null ? tagClass.value.get(handle) : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    static List<Object> getList(Object handle) {
+        return (List<Object>) getTagClass(handle, NbtType.TAG_LIST).value.get(handle);
+    }
+
+    static NbtType getElementType(Object handle) {
+        return NbtType.getTypeFromID((Byte) getTagClass(handle, NbtType.TAG_LIST).elementType.get(handle));
+    }
+
+    @SuppressWarnings("unchecked")
+    static Map<String, Object> getCompound(Object handle) {
+        return (Map<String, Object>) getTagClass(handle, NbtType.TAG_COMPOUND).value.get(handle);
+    }
+
+    /**
+     * Retrieve the value of a numeric Minecraft tag.
+     *
+     * @param handle - the tag.
+     * @return The value.
+     * @throws IllegalStateException If the tag is not numeric.
+     */
+    static Number getNumber(Object handle) {
+        return toNumber(getValue(handle));
+    }
+
+    static Number toNumber(Object value) {
+        if (!(value instanceof Number)) {
+            throw new IllegalStateException("Cannot convert " + value + " to a number.");
+        }
+        return (Number) value;
+    }
+
+    private static TagClass getTagClass(Object handle, NbtType expected) {
+        TagClass tagClass = getTagClass(handle);
+        if (tagClass.type != expected) {
+            throw new IllegalArgumentException("Expected " + expected + ", got " + tagClass.type);
+        }
+        return tagClass;
+    }
+
+    private static TagClass getTagClass(Object handle) {
+        TagClass tagClass = TAG_CLASSES.get(handle.getClass());
+        if (tagClass == null) {
+            tagClass = TAG_CLASSES.computeIfAbsent(handle.getClass(), type -> new TagClass(handle));
+        }
+        return tagClass;
+    }
+
+    private static final class TagClass {
+
+        private final NbtType type;
+        private final FieldAccessor value;
+        private final FieldAccessor elementType;
+
+        TagClass(Object handle) {
+            if (getTypeId == null) {
+                getTypeId = Accessors.getMethodAccessor(FuzzyReflection.fromClass(MinecraftReflection.getNBTBaseClass())
+                        .getMethodByReturnTypeAndParameters("getTypeID", byte.class, new Class<?>[0]));
+            }
+
+            this.type = NbtType.getTypeFromID((Byte) getTypeId.invoke(handle));
+            // the end tag has no value
+            this.value = this.type != NbtType.TAG_END ? findField(handle.getClass(), this.type.getValueType()) : null;
+            this.elementType = this.type == NbtType.TAG_LIST ? findField(handle.getClass(), byte.class) : null;
+        }
+
+        private static FieldAccessor findField(Class<?> tagClass, Class<?> fieldType) {
+            for (Field field : tagClass.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers()) && field.getType() == fieldType) {
+                    return Accessors.getFieldAccessor(field);
+                }
+            }
+            throw new FieldAccessException("Unable to find a " + fieldType + " field in " + tagClass);
+        }
+    }
+}
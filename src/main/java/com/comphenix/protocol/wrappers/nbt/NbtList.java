@@ -120,6 +120,54 @@ public interface NbtList<TType> extends NbtBase<List<NbtBase<TType>>>, Iterable<
      */
     TType getValue(int index);
     
+    /**
+     * Retrieve the values of a list of numbers as integers.
+     * @return The values, in order.
+     * @throws IllegalStateException If the elements are not numbers.
+     */
+    default int[] toIntArray() {
+        int[] result = new int[size()];
+        for (int i = 0; i < result.length; i++)
+            result[i] = NbtHandles.toNumber(getValue(i)).intValue();
+        return result;
+    }
+
+    /**
+     * Retrieve the values of a list of numbers as longs.
+     * @return The values, in order.
+     * @throws IllegalStateException If the elements are not numbers.
+     */
+    default long[] toLongArray() {
+        long[] result = new long[size()];
+        for (int i = 0; i < result.length; i++)
+            result[i] = NbtHandles.toNumber(getValue(i)).longValue();
+        return result;
+    }
+
+    /**
+     * Retrieve the values of a list of numbers as floats.
+     * @return The values, in order.
+     * @throws IllegalStateException If the elements are not numbers.
+     */
+    default float[] toFloatArray() {
+        float[] result = new float[size()];
+        for (int i = 0; i < result.length; i++)
+            result[i] = NbtHandles.toNumber(getValue(i)).floatValue();
+        return result;
+    }
+
+    /**
+     * Retrieve the values of a list of numbers as doubles.
+     * @return The values, in order.
+     * @throws IllegalStateException If the elements are not numbers.
+     */
+    default double[] toDoubleArray() {
+        double[] result = new double[size()];
+        for (int i = 0; i < result.length; i++)
+            result[i] = NbtHandles.toNumber(getValue(i)).doubleValue();
+        return result;
+    }
+    
     /**
      * Retrieve the number of elements in this list.
      * @return The number of elements in this list.
@@ -0,0 +1,99 @@
+package com.comphenix.protocol.wrappers.nbt;
+
+import java.util.List;
+import java.util.Map;
+
+import com.comphenix.protocol.wrappers.nbt.io.NbtStreamVisitor;
+import com.comphenix.protocol.wrappers.nbt.io.NbtStreamWriter;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
+
+/**
+ * Walks the Minecraft tags behind an NBT wrapper in read-only mode, without creating a wrapper for any child tag.
+ * <p>
+ * The tags are reported to a {@link NbtStreamVisitor} just as {@link com.comphenix.protocol.wrappers.nbt.io.NbtStreamReader}
+ * reports binary NBT, so the same visitor can process both. For instance, walking a tag with a {@link NbtStreamWriter}
+ * serializes it without any intermediate wrappers. Array values are the arrays stored in the tags, and must not be
+ * modified. The tags must not be modified while they are walked either.
+ */
+public final class NbtSnapshot {
+
+    // the same limit Minecraft applies
+    private static final int MAX_DEPTH = 512;
+
+    private NbtSnapshot() {
+    }
+
+    /**
+     * Walk the given tag and its children, and report them to the given visitor.
+     *
+     * @param tag     - the tag. Tags that do not wrap a Minecraft tag are converted first.
+     * @param visitor - the visitor.
+     * @return The type of the tag.
+     */
+    public static NbtType accept(NbtBase<?> tag, NbtStreamVisitor visitor) {
+        Preconditions.checkNotNull(tag, "tag cannot be null");
+        Preconditions.checkNotNull(visitor, "visitor cannot be null");
+
+        Object handle = NbtFactory.fromBase(tag).getHandle();
+        walk(visitor, Strings.emptyToNull(tag.getName()), handle, 0);
+        return NbtHandles.getType(handle);
+    }
+
+    /**
+     * Walk the given Minecraft tag and its children, and report them to the given visitor.
+     *
+     * @param handle  - the Minecraft tag.
+     * @param visitor - the visitor.
+     * @return The type of the tag.
+     */
+    public static NbtType acceptHandle(Object handle, NbtStreamVisitor visitor) {
+        Preconditions.checkNotNull(handle, "handle cannot be null");
+        Preconditions.checkNotNull(visitor, "visitor cannot be null");
+
+        walk(visitor, null, handle, 0);
+        return NbtHandles.getType(handle);
+    }
+
+    private static boolean walk(NbtStreamVisitor visitor, String name, Object handle, int depth) {
+        NbtType type = NbtHandles.getType(handle);
+
+        switch (type) {
+            case TAG_COMPOUND: {
+                checkDepth(depth);
+
+                if (visitor.visitEnter(name, NbtType.TAG_COMPOUND, null, -1)) {
+                    for (Map.Entry<String, Object> entry : NbtHandles.getCompound(handle).entrySet()) {
+                        if (!walk(visitor, entry.getKey(), entry.getValue(), depth + 1)) {
+                            break;
+                        }
+                    }
+                }
+                return visitor.visitLeave(name, NbtType.TAG_COMPOUND);
+            }
+            case TAG_LIST: {
+                checkDepth(depth);
+
+                List<Object> elements = NbtHandles.getList(handle);
+                NbtType elementType = NbtHandles.getElementType(handle);
+
+                if (visitor.visitEnter(name, NbtType.TAG_LIST, elementType, elements.size())) {
+                    for (int i = 0; i < elements.size(); i++) {
+                        if (!walk(visitor, null, elements.get(i), depth + 1)) {
+                            break;
+                        }
+                    }
+                }
+                return visitor.visitLeave(name, NbtType.TAG_LIST);
+            }
+            default:
+                return visitor.visit(name, type, NbtHandles.getValue(handle));
+        }
+    }
+
+    private static void checkDepth(int depth) {
+        if (depth > MAX_DEPTH) {
+            throw new IllegalStateException("NBT tag is nested deeper than " + MAX_DEPTH);
+        }
+    }
+}
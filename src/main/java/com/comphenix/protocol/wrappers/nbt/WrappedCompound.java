@@ -38,6 +38,9 @@ class WrappedCompound implements NbtWrapper<Map<String, NbtBase<?>>>, NbtCompoun
     // Saved wrapper map
     private ConvertedMap<String, Object, NbtBase<?>> savedMap;
     
+    // Saved wrappers of the child tags
+    private WrapperCache savedWrappers;
+    
     /**
      * Construct a new NBT compound wrapper.
      * @param name - the name of the wrapper.
@@ -134,7 +137,8 @@ class WrappedCompound implements NbtWrapper<Map<String, NbtBase<?>>>, NbtCompoun
     public Map<String, NbtBase<?>> getValue() {
         // Return a wrapper map
         if (savedMap == null) {
-            savedMap = new ConvertedMap<String, Object, NbtBase<?>>(container.getValue()) {
+            final Map<String, Object> handles = container.getValue();
+            savedMap = new ConvertedMap<String, Object, NbtBase<?>>(handles) {
                 @Override
                 protected Object toInner(NbtBase<?> outer) {
                     if (outer == null) 
@@ -153,7 +157,9 @@ class WrappedCompound implements NbtWrapper<Map<String, NbtBase<?>>>, NbtCompoun
                 protected NbtBase<?> toOuter(String key, Object inner) {
                     if (inner == null)
                         return null;
-                    return NbtFactory.fromNMS(inner, key);
+                    if (savedWrappers == null)
+                        savedWrappers = new WrapperCache();
+                    return savedWrappers.get(inner, key, handles.size());
                 }
                 
                 @Override
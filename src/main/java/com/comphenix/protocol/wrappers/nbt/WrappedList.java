@@ -40,6 +40,9 @@ class WrappedList<TType> implements NbtWrapper<List<NbtBase<TType>>>, NbtList<TT
     // Saved wrapper list
     private ConvertedList<Object, NbtBase<TType>> savedList;
     
+    // Saved wrappers of the elements
+    private WrapperCache savedWrappers;
+    
     // Element type
     private NbtType elementType = NbtType.TAG_END;
     
@@ -163,7 +166,8 @@ class WrappedList<TType> implements NbtWrapper<List<NbtBase<TType>>>, NbtList<TT
     @Override
     public List<NbtBase<TType>> getValue() {
         if (savedList == null) {
-            savedList = new ConvertedList<Object, NbtBase<TType>>(container.getValue()) {
+            final List<Object> handles = container.getValue();
+            savedList = new ConvertedList<Object, NbtBase<TType>>(handles) {
                 // Check and see if the element is valid
                 private void verifyElement(NbtBase<TType> element) {
                     if (element == null)
@@ -216,7 +220,9 @@ class WrappedList<TType> implements NbtWrapper<List<NbtBase<TType>>>, NbtList<TT
                 protected NbtBase<TType> toOuter(Object inner) {
                     if (inner == null)
                         return null;
-                    return NbtFactory.fromNMS(inner, null);
+                    if (savedWrappers == null)
+                        savedWrappers = new WrapperCache();
+                    return savedWrappers.get(inner, null, handles.size());
                 }
                 
                 @Override
@@ -328,6 +334,48 @@ class WrappedList<TType> implements NbtWrapper<List<NbtBase<TType>>>, NbtList<TT
     public TType getValue(int index) {
         return getValue().get(index).getValue();
     }
+
+    // The bulk getters read the element tags directly, without wrapping them
+    
+    @Override
+    public int[] toIntArray() {
+        List<Object> handles = container.getValue();
+        int[] result = new int[handles.size()];
+        
+        for (int i = 0; i < result.length; i++)
+            result[i] = NbtHandles.getNumber(handles.get(i)).intValue();
+        return result;
+    }
+    
+    @Override
+    public long[] toLongArray() {
+        List<Object> handles = container.getValue();
+        long[] result = new long[handles.size()];
+        
+        for (int i = 0; i < result.length; i++)
+            result[i] = NbtHandles.getNumber(handles.get(i)).longValue();
+        return result;
+    }
+    
+    @Override
+    public float[] toFloatArray() {
+        List<Object> handles = container.getValue();
+        float[] result = new float[handles.size()];
+        
+        for (int i = 0; i < result.length; i++)
+            result[i] = NbtHandles.getNumber(handles.get(i)).floatValue();
+        return result;
+    }
+    
+    @Override
+    public double[] toDoubleArray() {
+        List<Object> handles = container.getValue();
+        double[] result = new double[handles.size()];
+        
+        for (int i = 0; i < result.length; i++)
+            result[i] = NbtHandles.getNumber(handles.get(i)).doubleValue();
+        return result;
+    }
     
     /**
      * Retrieve each NBT tag in this list.
@@ -0,0 +1,43 @@
+package com.comphenix.protocol.wrappers.nbt;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Remembers the wrappers of the child tags of a list or compound view, so repeatedly reading the same child tag returns
+ * the same wrapper instead of allocating a new one.
+ * <p>
+ * Wrappers are looked up by the identity of their Minecraft tag, so replacing a child tag always yields a new wrapper.
+ * Like the views themselves, this cache is not thread safe.
+ */
+final class WrapperCache {
+
+    // the number of stale wrappers tolerated before the cache is cleared
+    private static final int SLACK = 16;
+
+    private final Map<Object, NbtWrapper<?>> wrappers = new IdentityHashMap<>();
+
+    /**
+     * Retrieve the wrapper of the given child tag.
+     *
+     * @param handle     - the Minecraft tag.
+     * @param name       - the name of the tag, or NULL for list elements.
+     * @param childCount - the current number of child tags, used to forget the wrappers of removed tags.
+     * @return The wrapper.
+     */
+    @SuppressWarnings("unchecked")
+    <T> NbtWrapper<T> get(Object handle, String name, int childCount) {
+        NbtWrapper<?> wrapper = this.wrappers.get(handle);
+
+        // the same tag may be stored under several names, and wrappers can be renamed
+        if (wrapper == null || !Objects.equals(wrapper.getName(), name)) {
+            if (this.wrappers.size() > childCount + SLACK) {
+                this.wrappers.clear();
+            }
+            wrapper = NbtFactory.fromNMS(handle, name);
+            this.wrappers.put(handle, wrapper);
+        }
+        return (NbtWrapper<T>) wrapper;
+    }
+}
@@ -0,0 +1,302 @@
+package com.comphenix.protocol.wrappers.nbt.io;
+
+import java.io.DataInput;
+import java.io.IOException;
+
+import com.comphenix.protocol.reflect.FieldAccessException;
+import com.comphenix.protocol.wrappers.nbt.NbtType;
+import com.google.common.base.Preconditions;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+
+/**
+ * Reads binary NBT from a stream and reports every tag to a {@link NbtStreamVisitor}, skipping the subtrees the
+ * visitor is not interested in without decoding them.
+ * <p>
+ * Both the named root format of NBT files and the unnamed root format of the network protocol since 1.20.2 are
+ * supported. Strings use the modified UTF-8 encoding of {@link DataInput#readUTF()}.
+ */
+public class NbtStreamReader {
+
+    // the same limit Minecraft applies
+    private static final int MAX_DEPTH = 512;
+
+    private final DataInput input;
+    private final boolean namedRoot;
+
+    /**
+     * Construct a reader over the given input.
+     *
+     * @param input     - the input.
+     * @param namedRoot - whether the root tag has a name, as in NBT files.
+     */
+    public NbtStreamReader(DataInput input, boolean namedRoot) {
+        this.input = Preconditions.checkNotNull(input, "input cannot be null");
+        this.namedRoot = namedRoot;
+    }
+
+    /**
+     * Construct a reader over the readable bytes of the given buffer.
+     *
+     * @param buffer    - the buffer.
+     * @param namedRoot - whether the root tag has a name, as in NBT files.
+     */
+    public NbtStreamReader(ByteBuf buffer, boolean namedRoot) {
+        this(new ByteBufInputStream(buffer), namedRoot);
+    }
+
+    /**
+     * Read the root tag and report it to the given visitor. The whole root tag is consumed, even if the visitor skips
+     * parts of it.
+     *
+     * @param visitor - the visitor.
+     * @return The type of the root tag, which is {@link NbtType#TAG_END} if the stream contains an empty tag.
+     */
+    public NbtType accept(NbtStreamVisitor visitor) {
+        Preconditions.checkNotNull(visitor, "visitor cannot be null");
+
+        try {
+            NbtType type = NbtType.getTypeFromID(this.input.readUnsignedByte());
+            if (type == NbtType.TAG_END) {
+                return type;
+            }
+
+            String name = this.namedRoot ? this.input.readUTF() : null;
+            this.readTag(visitor, name, type, 0);
+            return type;
+        } catch (IOException ex) {
+            throw new FieldAccessException("Unable to read NBT from " + this.input, ex);
+        }
+    }
+
+    /**
+     * Read the root tag and retrieve the value at the given path of compound keys, skipping everything else.
+     *
+     * @param path - the names of the compounds leading to the value, followed by the name of the value.
+     * @return The value, as reported to {@link NbtStreamVisitor#visit(String, NbtType, Object)}, or NULL if the path
+     *         does not exist or leads to a list or compound.
+     */
+    public Object find(String... path) {
+        Preconditions.checkArgument(path.length > 0, "path cannot be empty");
+
+        PathVisitor visitor = new PathVisitor(path);
+        this.accept(visitor);
+        return visitor.result;
+    }
+
+    private boolean readTag(NbtStreamVisitor visitor, String name, NbtType type, int depth) throws IOException {
+        switch (type) {
+            case TAG_COMPOUND:
+                return this.readCompound(visitor, name, depth);
+            case TAG_LIST:
+                return this.readList(visitor, name, depth);
+            default:
+                return visitor.visit(name, type, this.readValue(type));
+        }
+    }
+
+    private boolean readCompound(NbtStreamVisitor visitor, String name, int depth) throws IOException {
+        checkDepth(depth);
+
+        boolean visiting = visitor.visitEnter(name, NbtType.TAG_COMPOUND, null, -1);
+        NbtType childType;
+        while ((childType = NbtType.getTypeFromID(this.input.readUnsignedByte())) != NbtType.TAG_END) {
+            if (visiting) {
+                visiting = this.readTag(visitor, this.input.readUTF(), childType, depth + 1);
+            } else {
+                skipUTF(this.input);
+                this.skipPayload(childType, depth + 1);
+            }
+        }
+        return visitor.visitLeave(name, NbtType.TAG_COMPOUND);
+    }
+
+    private boolean readList(NbtStreamVisitor visitor, String name, int depth) throws IOException {
+        checkDepth(depth);
+
+        NbtType elementType = NbtType.getTypeFromID(this.input.readUnsignedByte());
+        int size = this.input.readInt();
+
+        boolean visiting = visitor.visitEnter(name, NbtType.TAG_LIST, elementType, size);
+        for (int i = 0; i < size; i++) {
+            if (visiting) {
+                visiting = this.readTag(visitor, null, elementType, depth + 1);
+            } else {
+                this.skipPayload(elementType, depth + 1);
+            }
+        }
+        return visitor.visitLeave(name, NbtType.TAG_LIST);
+    }
+
+    private Object readValue(NbtType type) throws IOException {
+        switch (type) {
+            case TAG_BYTE:
+                return this.input.readByte();
+            case TAG_SHORT:
+                return this.input.readShort();
+            case TAG_INT:
+                return this.input.readInt();
+            case TAG_LONG:
+                return this.input.readLong();
+            case TAG_FLOAT:
+                return this.input.readFloat();
+            case TAG_DOUBLE:
+                return this.input.readDouble();
+            case TAG_STRING:
+                return this.input.readUTF();
+            case TAG_BYTE_ARRAY:
+                byte[] bytes = new byte[checkLength(this.input.readInt())];
+                this.input.readFully(bytes);
+                return bytes;
+            case TAG_INT_ARRAY:
+                int[] ints = new int[checkLength(this.input.readInt())];
+                for (int i = 0; i < ints.length; i++) {
+                    ints[i] = this.input.readInt();
+                }
+                return ints;
+            case TAG_LONG_ARRAY:
+                long[] longs = new long[checkLength(this.input.readInt())];
+                for (int i = 0; i < longs.length; i++) {
+                    longs[i] = this.input.readLong();
+                }
+                return longs;
+            default:
+                throw new IOException("Unexpected tag " + type);
+        }
+    }
+
+    private void skipPayload(NbtType type, int depth) throws IOException {
+        switch (type) {
+            case TAG_BYTE:
+                skipFully(this.input, 1);
+                break;
+            case TAG_SHORT:
+                skipFully(this.input, 2);
+                break;
+            case TAG_INT:
+            case TAG_FLOAT:
+                skipFully(this.input, 4);
+                break;
+            case TAG_LONG:
+            case TAG_DOUBLE:
+                skipFully(this.input, 8);
+                break;
+            case TAG_STRING:
+                skipUTF(this.input);
+                break;
+            case TAG_BYTE_ARRAY:
+                skipFully(this.input, checkLength(this.input.readInt()));
+                break;
+            case TAG_INT_ARRAY:
+                skipFully(this.input, checkLength(this.input.readInt()) * 4L);
+                break;
+            case TAG_LONG_ARRAY:
+                skipFully(this.input, checkLength(this.input.readInt()) * 8L);
+                break;
+            case TAG_LIST:
+                checkDepth(depth);
+                NbtType elementType = NbtType.getTypeFromID(this.input.readUnsignedByte());
+                int size = checkLength(this.input.readInt());
+                for (int i = 0; i < size; i++) {
+                    this.skipPayload(elementType, depth + 1);
+                }
+                break;
+            case TAG_COMPOUND:
+                checkDepth(depth);
+                NbtType childType;
+                while ((childType = NbtType.getTypeFromID(this.input.readUnsignedByte())) != NbtType.TAG_END) {
+                    skipUTF(this.input);
+                    this.skipPayload(childType, depth + 1);
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static void skipUTF(DataInput input) throws IOException {
+        skipFully(input, input.readUnsignedShort());
+    }
+
+    private static void skipFully(DataInput input, long length) throws IOException {
+        while (length > 0) {
+            int skipped = input.skipBytes((int) Math.min(length, Integer.MAX_VALUE));
+            if (skipped <= 0) {
+                // skipBytes may give up early, but reading a byte never does
+                input.readByte();
+                skipped = 1;
+            }
+            length -= skipped;
+        }
+    }
+
+    private static int checkLength(int length) throws IOException {
+        if (length < 0) {
+            throw new IOException("Negative length " + length);
+        }
+        return length;
+    }
+
+    private static void checkDepth(int depth) throws IOException {
+        if (depth > MAX_DEPTH) {
+            throw new IOException("NBT tag is nested deeper than " + MAX_DEPTH);
+        }
+    }
+
+    /**
+     * Follows a path of compound keys, and skips every other subtree.
+     */
+    private static final class PathVisitor implements NbtStreamVisitor {
+
+        private final String[] path;
+
+        // the number of compounds entered, and the number of path elements they match
+        private int depth;
+        private int matched;
+        // whether the last compound or list was skipped, so its leave event must be ignored
+        private boolean skipped;
+        private Object result;
+
+        PathVisitor(String[] path) {
+            this.path = path;
+        }
+
+        @Override
+        public boolean visit(String name, NbtType type, Object value) {
+            if (this.depth > 0 && this.matched == this.path.length - 1 && this.path[this.matched].equals(name)) {
+                this.result = value;
+                return false;
+            }
+            return true;
+        }
+
+        @Override
+        public boolean visitEnter(String name, NbtType type, NbtType elementType, int size) {
+            boolean enter = type == NbtType.TAG_COMPOUND && (this.depth == 0
+                    || this.matched < this.path.length - 1 && this.path[this.matched].equals(name));
+            if (!enter) {
+                this.skipped = true;
+                return false;
+            }
+
+            if (this.depth++ > 0) {
+                this.matched++;
+            }
+            return true;
+        }
+
+        @Override
+        public boolean visitLeave(String name, NbtType type) {
+            if (this.skipped) {
+                this.skipped = false;
+                return true;
+            }
+
+            if (--this.depth > 0) {
+                this.matched--;
+            }
+            // the compound on the path has been searched completely, so there is nothing left to find
+            return false;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.comphenix.protocol.wrappers.nbt.io;
+
+import com.comphenix.protocol.wrappers.nbt.NbtType;
+import com.comphenix.protocol.wrappers.nbt.NbtVisitor;
+
+/**
+ * Receives the tags of a binary NBT stream as they are read, without creating any NBT wrapper.
+ * <p>
+ * This is the streaming equivalent of {@link NbtVisitor}. Names are NULL for list elements and unnamed root tags.
+ * Leaf values are given as their boxed primitive, String or array value.
+ *
+ * @see NbtStreamReader
+ */
+public interface NbtStreamVisitor {
+
+    /**
+     * Visit a leaf tag, which is a tag with a primitive, String or array value.
+     *
+     * @param name  - the name of the tag, or NULL.
+     * @param type  - the type of the tag.
+     * @param value - the value of the tag.
+     * @return TRUE to continue visiting the siblings of this tag, FALSE to skip them.
+     */
+    boolean visit(String name, NbtType type, Object value);
+
+    /**
+     * Begin visiting a list or compound tag.
+     *
+     * @param name        - the name of the tag, or NULL.
+     * @param type        - either {@link NbtType#TAG_LIST} or {@link NbtType#TAG_COMPOUND}.
+     * @param elementType - the type of the list elements, or NULL for compounds.
+     * @param size        - the number of list elements, or -1 for compounds.
+     * @return TRUE to visit the children of this tag, FALSE to skip them.
+     */
+    boolean visitEnter(String name, NbtType type, NbtType elementType, int size);
+
+    /**
+     * Stop visiting a list or compound tag. This is called even if its children were skipped.
+     *
+     * @param name - the name of the tag, or NULL.
+     * @param type - either {@link NbtType#TAG_LIST} or {@link NbtType#TAG_COMPOUND}.
+     * @return TRUE to continue visiting the siblings of this tag, FALSE to skip them.
+     */
+    boolean visitLeave(String name, NbtType type);
+}
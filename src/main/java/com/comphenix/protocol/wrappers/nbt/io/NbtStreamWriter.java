@@ -0,0 +1,379 @@
+package com.comphenix.protocol.wrappers.nbt.io;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import com.comphenix.protocol.wrappers.nbt.NbtBase;
+import com.comphenix.protocol.wrappers.nbt.NbtCompound;
+import com.comphenix.protocol.wrappers.nbt.NbtList;
+import com.comphenix.protocol.wrappers.nbt.NbtSnapshot;
+import com.comphenix.protocol.wrappers.nbt.NbtType;
+import com.comphenix.protocol.wrappers.nbt.NbtWrapper;
+import com.google.common.base.Preconditions;
+import io.netty.buffer.ByteBuf;
+
+/**
+ * Writes binary NBT directly to a buffer, one tag at a time.
+ * <p>
+ * Both the named root format of NBT files and the unnamed root format of the network protocol since 1.20.2 are
+ * supported. Strings are written as modified UTF-8, like {@link java.io.DataOutput#writeUTF(String)}. Names are
+ * ignored for list elements, and the number of elements written to a list must match the size it was started with.
+ * <p>
+ * The writer is also a {@link NbtStreamVisitor}, so a {@link NbtStreamReader} can copy or filter a stream into it
+ * without creating any NBT wrapper. A filtering visitor must not skip list elements.
+ */
+public class NbtStreamWriter implements NbtStreamVisitor {
+
+    private final ByteBuf output;
+    private final boolean namedRoot;
+
+    // whether each open tag is a list, whose elements have no type or name
+    private boolean[] lists = new boolean[16];
+    private int depth;
+
+    /**
+     * Construct a writer to the given buffer.
+     *
+     * @param output    - the buffer.
+     * @param namedRoot - whether the root tag has a name, as in NBT files.
+     */
+    public NbtStreamWriter(ByteBuf output, boolean namedRoot) {
+        this.output = Preconditions.checkNotNull(output, "output cannot be null");
+        this.namedRoot = namedRoot;
+    }
+
+    /**
+     * Write a byte tag.
+     *
+     * @param name  - the name of the tag.
+     * @param value - the value.
+     * @return This writer, for chaining.
+     */
+    public NbtStreamWriter writeByte(String name, byte value) {
+        this.writeHeader(name, NbtType.TAG_BYTE);
+        this.output.writeByte(value);
+        return this;
+    }
+
+    /**
+     * Write a short tag.
+     *
+     * @param name  - the name of the tag.
+     * @param value - the value.
+     * @return This writer, for chaining.
+     */
+    public NbtStreamWriter writeShort(String name, short value) {
+        this.writeHeader(name, NbtType.TAG_SHORT);
+        this.output.writeShort(value);
+        return this;
+    }
+
+    /**
+     * Write an integer tag.
+     *
+     * @param name  - the name of the tag.
+     * @param value - the value.
+     * @return This writer, for chaining.
+     */
+    public NbtStreamWriter writeInt(String name, int value) {
+        this.writeHeader(name, NbtType.TAG_INT);
+        this.output.writeInt(value);
+        return this;
+    }
+
+    /**
+     * Write a long tag.
+     *
+     * @param name  - the name of the tag.
+     * @param value - the value.
+     * @return This writer, for chaining.
+     */
+    public NbtStreamWriter writeLong(String name, long value) {
+        this.writeHeader(name, NbtType.TAG_LONG);
+        this.output.writeLong(value);
+        return this;
+    }
+
+    /**
+     * Write a float tag.
+     *
+     * @param name  - the name of the tag.
+     * @param value - the value.
+     * @return This writer, for chaining.
+     */
+    public NbtStreamWriter writeFloat(String name, float value) {
+        this.writeHeader(name, NbtType.TAG_FLOAT);
+        this.output.writeFloat(value);
+        return this;
+    }
+
+    /**
+     * Write a double tag.
+     *
+     * @param name  - the name of the tag.
+     * @param value - the value.
+     * @return This writer, for chaining.
+     */
+    public NbtStreamWriter writeDouble(String name, double value) {
+        this.writeHeader(name, NbtType.TAG_DOUBLE);
+        this.output.writeDouble(value);
+        return this;
+    }
+
+    /**
+     * Write a string tag.
+     *
+     * @param name  - the name of the tag.
+     * @param value - the value.
+     * @return This writer, for chaining.
+     */
+    public NbtStreamWriter writeString(String name, String value) {
+        this.writeHeader(name, NbtType.TAG_STRING);
+        this.writeUTF(value);
+        return this;
+    }
+
+    /**
+     * Write a byte array tag.
+     *
+     * @param name  - the name of the tag.
+     * @param value - the value.
+     * @return This writer, for chaining.
+     */
+    public NbtStreamWriter writeByteArray(String name, byte[] value) {
+        this.writeHeader(name, NbtType.TAG_BYTE_ARRAY);
+        this.output.writeInt(value.length);
+        this.output.writeBytes(value);
+        return this;
+    }
+
+    /**
+     * Write an integer array tag.
+     *
+     * @param name  - the name of the tag.
+     * @param value - the value.
+     * @return This writer, for chaining.
+     */
+    public NbtStreamWriter writeIntArray(String name, int[] value) {
+        this.writeHeader(name, NbtType.TAG_INT_ARRAY);
+        this.output.writeInt(value.length);
+        for (int element : value) {
+            this.output.writeInt(element);
+        }
+        return this;
+    }
+
+    /**
+     * Write a long array tag.
+     *
+     * @param name  - the name of the tag.
+     * @param value - the value.
+     * @return This writer, for chaining.
+     */
+    public NbtStreamWriter writeLongArray(String name, long[] value) {
+        this.writeHeader(name, NbtType.TAG_LONG_ARRAY);
+        this.output.writeInt(value.length);
+        for (long element : value) {
+            this.output.writeLong(element);
+        }
+        return this;
+    }
+
+    /**
+     * Begin writing a compound tag. Its children follow, until {@link #endCompound()} is called.
+     *
+     * @param name - the name of the tag.
+     * @return This writer, for chaining.
+     */
+    public NbtStreamWriter beginCompound(String name) {
+        this.writeHeader(name, NbtType.TAG_COMPOUND);
+        this.push(false);
+        return this;
+    }
+
+    /**
+     * Finish writing the current compound tag.
+     *
+     * @return This writer, for chaining.
+     */
+    public NbtStreamWriter endCompound() {
+        this.pop(false);
+        this.output.writeByte(NbtType.TAG_END.getRawID());
+        return this;
+    }
+
+    /**
+     * Begin writing a list tag. Exactly the given number of elements must follow, before {@link #endList()} is called.
+     *
+     * @param name        - the name of the tag.
+     * @param elementType - the type of the elements.
+     * @param size        - the number of elements.
+     * @return This writer, for chaining.
+     */
+    public NbtStreamWriter beginList(String name, NbtType elementType, int size) {
+        Preconditions.checkArgument(size >= 0, "size cannot be negative");
+        this.writeHeader(name, NbtType.TAG_LIST);
+        this.output.writeByte(elementType.getRawID());
+        this.output.writeInt(size);
+        this.push(true);
+        return this;
+    }
+
+    /**
+     * Finish writing the current list tag.
+     *
+     * @return This writer, for chaining.
+     */
+    public NbtStreamWriter endList() {
+        this.pop(true);
+        return this;
+    }
+
+    /**
+     * Write a tag of the given type with a primitive, String or array value.
+     *
+     * @param name  - the name of the tag.
+     * @param type  - the type of the tag.
+     * @param value - the value.
+     * @return This writer, for chaining.
+     */
+    public NbtStreamWriter writeValue(String name, NbtType type, Object value) {
+        switch (type) {
+            case TAG_BYTE:
+                return this.writeByte(name, ((Number) value).byteValue());
+            case TAG_SHORT:
+                return this.writeShort(name, ((Number) value).shortValue());
+            case TAG_INT:
+                return this.writeInt(name, ((Number) value).intValue());
+            case TAG_LONG:
+                return this.writeLong(name, ((Number) value).longValue());
+            case TAG_FLOAT:
+                return this.writeFloat(name, ((Number) value).floatValue());
+            case TAG_DOUBLE:
+                return this.writeDouble(name, ((Number) value).doubleValue());
+            case TAG_STRING:
+                return this.writeString(name, (String) value);
+            case TAG_BYTE_ARRAY:
+                return this.writeByteArray(name, (byte[]) value);
+            case TAG_INT_ARRAY:
+                return this.writeIntArray(name, (int[]) value);
+            case TAG_LONG_ARRAY:
+                return this.writeLongArray(name, (long[]) value);
+            default:
+                throw new IllegalArgumentException(type + " does not have a plain value");
+        }
+    }
+
+    /**
+     * Write an existing NBT tag, including all its children. The children of wrapped Minecraft tags are read without
+     * wrapping them.
+     *
+     * @param tag - the tag.
+     * @return This writer, for chaining.
+     */
+    public NbtStreamWriter write(NbtBase<?> tag) {
+        if (tag instanceof NbtWrapper) {
+            NbtSnapshot.accept(tag, this);
+            return this;
+        }
+        return this.write(tag.getName(), tag);
+    }
+
+    private NbtStreamWriter write(String name, NbtBase<?> tag) {
+        switch (tag.getType()) {
+            case TAG_COMPOUND:
+                this.beginCompound(name);
+                for (Map.Entry<String, NbtBase<?>> entry : ((NbtCompound) tag).getValue().entrySet()) {
+                    this.write(entry.getKey(), entry.getValue());
+                }
+                return this.endCompound();
+            case TAG_LIST:
+                NbtList<?> list = (NbtList<?>) tag;
+                this.beginList(name, list.getElementType(), list.size());
+                for (NbtBase<?> element : list.asCollection()) {
+                    this.write(null, element);
+                }
+                return this.endList();
+            default:
+                return this.writeValue(name, tag.getType(), tag.getValue());
+        }
+    }
+
+    @Override
+    public boolean visit(String name, NbtType type, Object value) {
+        this.writeValue(name, type, value);
+        return true;
+    }
+
+    @Override
+    public boolean visitEnter(String name, NbtType type, NbtType elementType, int size) {
+        if (type == NbtType.TAG_LIST) {
+            this.beginList(name, elementType, size);
+        } else {
+            this.beginCompound(name);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean visitLeave(String name, NbtType type) {
+        if (type == NbtType.TAG_LIST) {
+            this.endList();
+        } else {
+            this.endCompound();
+        }
+        return true;
+    }
+
+    private void writeHeader(String name, NbtType type) {
+        if (this.depth > 0 && this.lists[this.depth - 1]) {
+            return;
+        }
+
+        this.output.writeByte(type.getRawID());
+        if (this.depth > 0) {
+            this.writeUTF(Preconditions.checkNotNull(name, "name of a compound entry cannot be null"));
+        } else if (this.namedRoot) {
+            this.writeUTF(name == null ? "" : name);
+        }
+    }
+
+    private void push(boolean list) {
+        if (this.depth == this.lists.length) {
+            this.lists = Arrays.copyOf(this.lists, this.depth * 2);
+        }
+        this.lists[this.depth++] = list;
+    }
+
+    private void pop(boolean list) {
+        Preconditions.checkState(this.depth > 0 && this.lists[this.depth - 1] == list,
+                "No %s has been started", list ? "list" : "compound");
+        this.depth--;
+    }
+
+    private void writeUTF(String value) {
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            length += c >= 0x0001 && c <= 0x007F ? 1 : c <= 0x07FF ? 2 : 3;
+        }
+        Preconditions.checkArgument(length <= 0xFFFF, "String is too long to be encoded: %s bytes", length);
+
+        this.output.ensureWritable(2 + length);
+        this.output.writeShort(length);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x0001 && c <= 0x007F) {
+                this.output.writeByte(c);
+            } else if (c <= 0x07FF) {
+                // this includes the null character, which is never written as a single byte
+                this.output.writeByte(0xC0 | (c >> 6) & 0x1F);
+                this.output.writeByte(0x80 | c & 0x3F);
+            } else {
+                this.output.writeByte(0xE0 | (c >> 12) & 0x0F);
+                this.output.writeByte(0x80 | (c >> 6) & 0x3F);
+                this.output.writeByte(0x80 | c & 0x3F);
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.comphenix.protocol.events;
+
+import com.comphenix.protocol.BukkitInitialization;
+import com.comphenix.protocol.PacketType;
+import com.comphenix.protocol.events.CloneStrategySelector.Strategy;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CloneStrategySelectorTest {
+
+    @BeforeAll
+    static void initializeBukkit() {
+        BukkitInitialization.initializeAll();
+    }
+
+    private static void sample(CloneStrategySelector selector, PacketType type, long reflective, long codec) {
+        for (int i = 0; i < 2 * (CloneStrategySelector.WARMUP_SAMPLES + CloneStrategySelector.SAMPLES_PER_STRATEGY); i++) {
+            Strategy strategy = selector.select(type);
+            selector.record(type, strategy, strategy == Strategy.REFLECTIVE ? reflective : codec);
+        }
+    }
+
+    @Test
+    void testSelectsCheaperStrategy() {
+        CloneStrategySelector selector = new CloneStrategySelector();
+
+        sample(selector, PacketType.Play.Server.CHAT, 100, 50);
+        sample(selector, PacketType.Play.Server.ENTITY_STATUS, 50, 100);
+
+        assertEquals(Strategy.CODEC, selector.select(PacketType.Play.Server.CHAT));
+        assertEquals(Strategy.REFLECTIVE, selector.select(PacketType.Play.Server.ENTITY_STATUS));
+    }
+
+    @Test
+    void testUnsupportedStrategy() {
+        CloneStrategySelector selector = new CloneStrategySelector();
+        assertEquals(Strategy.REFLECTIVE, selector.select(PacketType.Play.Server.BOSS));
+
+        selector.markUnsupported(PacketType.Play.Server.BOSS, Strategy.REFLECTIVE);
+        sample(selector, PacketType.Play.Server.BOSS, 1, 100);
+        assertEquals(Strategy.CODEC, selector.select(PacketType.Play.Server.BOSS));
+    }
+
+    @Test
+    void testUnsupportedCodec() {
+        CloneStrategySelector selector = new CloneStrategySelector();
+        sample(selector, PacketType.Play.Server.CHAT, 100, 50);
+        assertEquals(Strategy.CODEC, selector.select(PacketType.Play.Server.CHAT));
+
+        selector.markUnsupported(PacketType.Play.Server.CHAT, Strategy.CODEC);
+        assertEquals(Strategy.REFLECTIVE, selector.select(PacketType.Play.Server.CHAT));
+
+        // once neither strategy works, the selection no longer changes
+        selector.markUnsupported(PacketType.Play.Server.CHAT, Strategy.REFLECTIVE);
+        assertEquals(Strategy.REFLECTIVE, selector.select(PacketType.Play.Server.CHAT));
+    }
+
+    @Test
+    void testDiscardsWarmUp() {
+        CloneStrategySelector selector = new CloneStrategySelector();
+        PacketType type = PacketType.Play.Server.CHAT;
+
+        // the first reflective clones are slow enough to outweigh every later sample
+        for (int i = 0; i < CloneStrategySelector.WARMUP_SAMPLES; i++) {
+            assertEquals(Strategy.REFLECTIVE, selector.select(type));
+            selector.record(type, Strategy.REFLECTIVE, 1_000_000);
+        }
+        sample(selector, type, 50, 100);
+
+        assertEquals(Strategy.REFLECTIVE, selector.select(type));
+    }
+
+    @Test
+    void testReevaluates() {
+        CloneStrategySelector selector = new CloneStrategySelector();
+        PacketType type = PacketType.Play.Server.CHAT;
+
+        sample(selector, type, 100, 50);
+        assertEquals(Strategy.CODEC, selector.select(type));
+
+        for (int i = 0; i < CloneStrategySelector.REEVALUATION_INTERVAL; i++) {
+            selector.record(type, selector.select(type), 50);
+        }
+
+        // the reflective clone became cheaper in the meantime
+        assertEquals(Strategy.REFLECTIVE, selector.select(type));
+        sample(selector, type, 10, 50);
+        assertEquals(Strategy.REFLECTIVE, selector.select(type));
+    }
+
+    @Test
+    void testUnsupportedIsNotReevaluated() {
+        CloneStrategySelector selector = new CloneStrategySelector();
+        PacketType type = PacketType.Play.Server.BOSS;
+
+        selector.markUnsupported(type, Strategy.REFLECTIVE);
+        for (int i = 0; i < CloneStrategySelector.REEVALUATION_INTERVAL; i++) {
+            selector.record(type, selector.select(type), 50);
+        }
+        assertEquals(Strategy.CODEC, selector.select(type));
+    }
+}
@@ -265,6 +265,34 @@ public class PacketContainerTest {
         assertItemCollectionsEqual(items, comparison);
     }
 
+    @Test
+    public void testGetItemListMirrorModifier() {
+        PacketContainer windowItems = new PacketContainer(PacketType.Play.Server.WINDOW_ITEMS);
+        windowItems.getItemListModifier().write(0, Lists.newArrayList(
+                new ItemStack(Material.DIAMOND_AXE), new ItemStack(Material.STONE, 3)));
+
+        StructureModifier<List<ItemStack>> mirrorAccess = windowItems.getItemListMirrorModifier();
+        List<ItemStack> mirror = mirrorAccess.read(0);
+
+        // changes are applied to the packet without writing them back
+        mirror.get(1).setAmount(5);
+        mirror.set(0, new ItemStack(Material.APPLE));
+
+        List<ItemStack> comparison = windowItems.getItemListModifier().read(0);
+        assertEquals(Material.APPLE, comparison.get(0).getType());
+        assertEquals(5, comparison.get(1).getAmount());
+
+        // null empties the slot
+        mirror.set(1, null);
+        assertEquals(Material.AIR, mirror.get(1).getType());
+        assertEquals(Material.AIR, windowItems.getItemListModifier().read(0).get(1).getType());
+
+        // writing the view back keeps the same list
+        Object handle = windowItems.getModifier().withType(List.class).read(0);
+        mirrorAccess.write(0, mirror);
+        assertSame(handle, windowItems.getModifier().withType(List.class).read(0));
+    }
+
     @Test
     public void testGetNbtModifier() {
         PacketContainer updateTileEntity = new PacketContainer(PacketType.Play.Server.TILE_ENTITY_DATA);
@@ -792,6 +820,21 @@ public class PacketContainerTest {
         assertEquals(position, clone.getPosition());
     }
 
+    @Test
+    public void testCopyOnWrite() {
+        PacketContainer original = new PacketContainer(PacketType.Play.Server.ENTITY_STATUS);
+        original.getIntegers().write(0, 1);
+
+        PacketContainer copy = original.copyOnWrite();
+        assertSame(original.getHandle(), copy.getHandle());
+        assertEquals(1, (int) copy.getIntegers().read(0));
+
+        copy.getIntegers().write(0, 2);
+        assertNotSame(original.getHandle(), copy.getHandle());
+        assertEquals(1, (int) original.getIntegers().read(0));
+        assertEquals(2, (int) copy.getIntegers().read(0));
+    }
+
     @Test
     public void testSetSimulationDistance() {
         // first packet which is a record - set will fail if we missed something during patching
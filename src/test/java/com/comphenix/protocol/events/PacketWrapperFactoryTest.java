@@ -0,0 +1,77 @@
+package com.comphenix.protocol.events;
+
+import com.comphenix.protocol.BukkitInitialization;
+import com.comphenix.protocol.PacketType;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PacketWrapperFactoryTest {
+
+    @BeforeAll
+    public static void initializeBukkit() {
+        BukkitInitialization.initializeAll();
+    }
+
+    @Test
+    public void testWrapper() {
+        PacketWrapperFactory<HeadRotation> factory = PacketWrapperFactory.of(
+                PacketType.Play.Server.ENTITY_HEAD_ROTATION, HeadRotation.class);
+        assertSame(factory, PacketWrapperFactory.of(PacketType.Play.Server.ENTITY_HEAD_ROTATION, HeadRotation.class));
+
+        HeadRotation wrapper = factory.create().setEntityId(42);
+        wrapper.setYaw((byte) 12);
+
+        assertEquals(42, wrapper.getEntityId());
+        assertEquals(12, wrapper.getYaw());
+        assertEquals(42, (int) wrapper.getPacket().getIntegers().read(0));
+        assertEquals(12, (byte) wrapper.getPacket().getBytes().read(0));
+    }
+
+    @Test
+    public void testCopyOnWrite() {
+        PacketWrapperFactory<HeadRotation> factory = PacketWrapperFactory.of(
+                PacketType.Play.Server.ENTITY_HEAD_ROTATION, HeadRotation.class);
+        PacketContainer original = factory.create().setEntityId(1).getPacket();
+
+        HeadRotation copy = factory.wrap(original.copyOnWrite());
+        copy.setEntityId(2);
+
+        assertNotSame(original.getHandle(), copy.getPacket().getHandle());
+        assertEquals(1, (int) original.getIntegers().read(0));
+        assertEquals(2, copy.getEntityId());
+    }
+
+    @Test
+    public void testMissingField() {
+        assertThrows(IllegalArgumentException.class,
+                () -> PacketWrapperFactory.of(PacketType.Play.Server.ENTITY_HEAD_ROTATION, MissingField.class));
+    }
+
+    public interface HeadRotation {
+
+        @PacketField(0)
+        int getEntityId();
+
+        @PacketField(0)
+        HeadRotation setEntityId(int entityId);
+
+        @PacketField(0)
+        byte getYaw();
+
+        @PacketField(0)
+        void setYaw(byte yaw);
+
+        PacketContainer getPacket();
+    }
+
+    public interface MissingField {
+
+        @PacketField(5)
+        int getEntityId();
+    }
+}
@@ -0,0 +1,144 @@
+package com.comphenix.protocol.events;
+
+import java.util.concurrent.CountDownLatch;
+
+import com.comphenix.protocol.BukkitInitialization;
+import io.netty.buffer.ByteBuf;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class SerializerPoolTest {
+
+    @BeforeAll
+    static void initializeBukkit() {
+        BukkitInitialization.initializeAll();
+    }
+
+    @BeforeEach
+    void releasePooled() {
+        SerializerPool.releaseAll();
+    }
+
+    @Test
+    void testReuse() {
+        ByteBuf first = (ByteBuf) SerializerPool.acquire();
+        first.writeInt(42);
+        SerializerPool.release(first);
+
+        ByteBuf second = (ByteBuf) SerializerPool.acquire();
+        assertSame(first, second);
+        assertEquals(0, second.readableBytes());
+        SerializerPool.release(second);
+        assertEquals(1, second.refCnt());
+    }
+
+    @Test
+    void testNestedUse() {
+        ByteBuf outer = (ByteBuf) SerializerPool.acquire();
+        ByteBuf inner = (ByteBuf) SerializerPool.acquire();
+        assertNotSame(outer, inner);
+
+        // only the outer serializer is kept
+        SerializerPool.release(inner);
+        assertEquals(0, inner.refCnt());
+        SerializerPool.release(outer);
+        assertEquals(1, outer.refCnt());
+        assertSame(outer, SerializerPool.acquire());
+        SerializerPool.release(outer);
+    }
+
+    @Test
+    void testDiscardRetained() {
+        ByteBuf serializer = (ByteBuf) SerializerPool.acquire();
+        serializer.writeInt(42);
+        // a decoded packet that kept a reference to the buffer
+        serializer.retain();
+        SerializerPool.release(serializer);
+
+        ByteBuf next = (ByteBuf) SerializerPool.acquire();
+        assertNotSame(serializer, next);
+        SerializerPool.release(next);
+
+        // the data of the retained buffer is left alone
+        assertEquals(1, serializer.refCnt());
+        assertEquals(42, serializer.readInt());
+        serializer.release();
+    }
+
+    @Test
+    void testDiscardLarge() {
+        ByteBuf serializer = (ByteBuf) SerializerPool.acquire();
+        serializer.writeZero(SerializerPool.MAX_RETAINED_CAPACITY + 1);
+        SerializerPool.release(serializer);
+        assertEquals(0, serializer.refCnt());
+
+        ByteBuf next = (ByteBuf) SerializerPool.acquire();
+        assertNotSame(serializer, next);
+        SerializerPool.release(next);
+    }
+
+    @Test
+    void testReleaseAll() {
+        ByteBuf serializer = (ByteBuf) SerializerPool.acquire();
+        SerializerPool.release(serializer);
+
+        SerializerPool.releaseAll();
+        assertEquals(0, serializer.refCnt());
+
+        ByteBuf next = (ByteBuf) SerializerPool.acquire();
+        assertNotSame(serializer, next);
+        SerializerPool.release(next);
+    }
+
+    @Test
+    void testReleaseAllInUse() {
+        ByteBuf serializer = (ByteBuf) SerializerPool.acquire();
+
+        // a serializer in use is only released once it's handed back
+        SerializerPool.releaseAll();
+        assertEquals(1, serializer.refCnt());
+        SerializerPool.release(serializer);
+        assertEquals(0, serializer.refCnt());
+
+        ByteBuf next = (ByteBuf) SerializerPool.acquire();
+        assertNotSame(serializer, next);
+        SerializerPool.release(next);
+        assertSame(next, SerializerPool.acquire());
+        SerializerPool.release(next);
+    }
+
+    @Test
+    void testReleaseAllOtherThread() throws InterruptedException {
+        ByteBuf[] serializer = new ByteBuf[1];
+        CountDownLatch released = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+
+        // the thread stays alive, as the pool of a terminated thread may be collected
+        Thread thread = new Thread(() -> {
+            serializer[0] = (ByteBuf) SerializerPool.acquire();
+            SerializerPool.release(serializer[0]);
+            released.countDown();
+            try {
+                done.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        thread.start();
+
+        try {
+            released.await();
+            assertEquals(1, serializer[0].refCnt());
+            SerializerPool.releaseAll();
+            assertEquals(0, serializer[0].refCnt());
+        } finally {
+            done.countDown();
+            thread.join();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.comphenix.protocol.injector;
+
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class EntityIdIndexTest {
+
+    @Test
+    public void testPlayers() {
+        World world = mock(World.class);
+        World other = mock(World.class);
+        Player player = mock(Player.class);
+        when(player.getEntityId()).thenReturn(5);
+        when(player.getWorld()).thenReturn(world);
+
+        EntityIdIndex index = new EntityIdIndex();
+        index.addPlayer(player);
+
+        assertTrue(index.isPlayer(5));
+        assertFalse(index.isPlayer(6));
+        assertSame(player, index.get(world, 5));
+        assertNull(index.get(other, 5));
+
+        index.removePlayer(player);
+        assertFalse(index.isPlayer(5));
+        assertNull(index.get(world, 5));
+    }
+
+    @Test
+    public void testEntities() {
+        World world = mock(World.class);
+        Entity entity = mock(Entity.class);
+        when(entity.getEntityId()).thenReturn(7);
+        when(entity.getWorld()).thenReturn(world);
+        when(entity.isValid()).thenReturn(true);
+
+        EntityIdIndex index = new EntityIdIndex();
+        assertNull(index.get(world, 7));
+
+        index.put(world, entity);
+        assertSame(entity, index.get(world, 7));
+        assertFalse(index.isPlayer(7));
+        assertEquals(1, index.size());
+
+        // removed entities are dropped on their next lookup
+        when(entity.isValid()).thenReturn(false);
+        assertNull(index.get(world, 7));
+        assertEquals(0, index.size());
+    }
+}
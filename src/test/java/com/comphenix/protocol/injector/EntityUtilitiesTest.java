@@ -1,23 +1,39 @@
 package com.comphenix.protocol.injector;
 
 import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 import com.comphenix.protocol.BukkitInitialization;
 import com.comphenix.protocol.reflect.FuzzyReflection;
 import com.comphenix.protocol.reflect.fuzzy.FuzzyFieldContract;
+import com.google.common.collect.ListMultimap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import net.minecraft.server.level.ChunkProviderServer;
+import net.minecraft.server.level.EntityPlayer;
 import net.minecraft.server.level.PlayerChunkMap;
 import net.minecraft.server.level.PlayerChunkMap.EntityTracker;
 import net.minecraft.server.level.WorldServer;
-import net.minecraft.world.entity.Entity;
+import net.minecraft.server.network.PlayerConnection;
+import net.minecraft.server.network.ServerPlayerConnection;
 import org.bukkit.craftbukkit.v1_21_R1.CraftWorld;
 import org.bukkit.craftbukkit.v1_21_R1.entity.CraftEntity;
+import org.bukkit.craftbukkit.v1_21_R1.entity.CraftPlayer;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
 import static com.comphenix.protocol.utility.TestUtils.setFinalField;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -30,31 +46,141 @@ public class EntityUtilitiesTest {
 
     @Test
     public void testReflection() {
+        Int2ObjectMap<EntityTracker> trackerMap = new Int2ObjectOpenHashMap<>();
+        CraftWorld world = createWorld(trackerMap);
+
+        Player observer = mock(CraftPlayer.class);
+        Entity entity = createEntity(world, 1, true);
+        trackerMap.put(1, createTracker(observer));
+
+        List<Player> trackers = new ArrayList<>();
+        EntityUtilities.getInstance().forEachTracker(entity, trackers::add);
+        assertEquals(Collections.singletonList(observer), trackers);
+        assertEquals(Collections.singletonList(observer), EntityUtilities.getInstance().getEntityTrackers(entity));
+    }
+
+    @Test
+    public void testEntityTrackers() {
+        Int2ObjectMap<EntityTracker> trackerMap = new Int2ObjectOpenHashMap<>();
+        CraftWorld world = createWorld(trackerMap);
+
+        Player first = mock(CraftPlayer.class);
+        Player second = mock(CraftPlayer.class);
+        Entity both = createEntity(world, 1, true);
+        Entity single = createEntity(world, 2, true);
+        Entity unobserved = createEntity(world, 3, true);
+        Entity untracked = createEntity(world, 4, true);
+        Entity invalid = createEntity(world, 5, false);
+
+        trackerMap.put(1, createTracker(first, second));
+        trackerMap.put(2, createTracker(second));
+        trackerMap.put(3, createTracker());
+        trackerMap.put(5, createTracker(first));
+
+        ListMultimap<Entity, Player> trackers = EntityUtilities.getInstance().getEntityTrackers(
+                Arrays.asList(both, single, unobserved, untracked, invalid, null));
+
+        assertEquals(3, trackers.size());
+        assertEquals(2, trackers.get(both).size());
+        assertTrue(trackers.get(both).containsAll(Arrays.asList(first, second)));
+        assertEquals(Collections.singletonList(second), trackers.get(single));
+        assertFalse(trackers.containsKey(unobserved));
+        assertFalse(trackers.containsKey(untracked));
+        assertFalse(trackers.containsKey(invalid));
+    }
+
+    @Test
+    public void testForEachTrackerSkipsInvalid() {
+        Int2ObjectMap<EntityTracker> trackerMap = new Int2ObjectOpenHashMap<>();
+        CraftWorld world = createWorld(trackerMap);
+
+        Entity invalid = createEntity(world, 1, false);
+        trackerMap.put(1, createTracker(mock(CraftPlayer.class)));
+
+        List<Player> trackers = new ArrayList<>();
+        EntityUtilities.getInstance().forEachTracker(invalid, trackers::add);
+        EntityUtilities.getInstance().forEachTracker(null, trackers::add);
+        assertTrue(trackers.isEmpty());
+        assertTrue(EntityUtilities.getInstance().getEntityTrackers(invalid).isEmpty());
+
+        // a valid entity without a tracker is an error, as it is with a single entity
+        Entity untracked = createEntity(world, 2, true);
+        assertThrows(IllegalArgumentException.class,
+                () -> EntityUtilities.getInstance().forEachTracker(untracked, trackers::add));
+    }
+
+    @Test
+    public void testTrackedEntityMapsPerWorld() {
+        Int2ObjectMap<EntityTracker> firstMap = new Int2ObjectOpenHashMap<>();
+        Int2ObjectMap<EntityTracker> secondMap = new Int2ObjectOpenHashMap<>();
+        CraftWorld firstWorld = createWorld(firstMap);
+        CraftWorld secondWorld = createWorld(secondMap);
+
+        Player first = mock(CraftPlayer.class);
+        Player second = mock(CraftPlayer.class);
+        firstMap.put(1, createTracker(first));
+        secondMap.put(1, createTracker(second));
+
+        // the same entity ID must be looked up in the map of its own world
+        assertEquals(Collections.singletonList(first),
+                EntityUtilities.getInstance().getEntityTrackers(createEntity(firstWorld, 1, true)));
+        assertEquals(Collections.singletonList(second),
+                EntityUtilities.getInstance().getEntityTrackers(createEntity(secondWorld, 1, true)));
+
+        // the cached map is the live map of the chunk map
+        Player later = mock(CraftPlayer.class);
+        firstMap.put(2, createTracker(later));
+        assertEquals(Collections.singletonList(later),
+                EntityUtilities.getInstance().getEntityTrackers(createEntity(firstWorld, 2, true)));
+    }
+
+    private static CraftWorld createWorld(Int2ObjectMap<EntityTracker> trackerMap) {
         CraftWorld bukkit = mock(CraftWorld.class);
         WorldServer world = mock(WorldServer.class);
         when(bukkit.getHandle()).thenReturn(world);
 
         ChunkProviderServer provider = mock(ChunkProviderServer.class);
-		when(world.l()).thenReturn(provider);
+        when(world.l()).thenReturn(provider);
 
         PlayerChunkMap chunkMap = mock(PlayerChunkMap.class);
         Field chunkMapField = FuzzyReflection.fromClass(ChunkProviderServer.class, true)
                 .getField(FuzzyFieldContract.newBuilder().typeExact(PlayerChunkMap.class).build());
         setFinalField(provider, chunkMapField, chunkMap);
 
-        CraftEntity bukkitEntity = mock(CraftEntity.class);
-        Entity fakeEntity = mock(Entity.class);
-        when(fakeEntity.getBukkitEntity()).thenReturn(bukkitEntity);
-
-        EntityTracker tracker = mock(EntityTracker.class);
-        Field trackerField = FuzzyReflection.fromClass(EntityTracker.class, true)
-                .getField(FuzzyFieldContract.newBuilder().typeExact(Entity.class).build());
-        setFinalField(tracker, trackerField, fakeEntity);
-
-        Int2ObjectMap<EntityTracker> trackerMap = new Int2ObjectOpenHashMap<>();
-        trackerMap.put(1, tracker);
         Field trackedEntitiesField = FuzzyReflection.fromClass(PlayerChunkMap.class, true)
                 .getField(FuzzyFieldContract.newBuilder().typeExact(Int2ObjectMap.class).build());
         setFinalField(chunkMap, trackedEntitiesField, trackerMap);
+        return bukkit;
+    }
+
+    private static Entity createEntity(CraftWorld world, int id, boolean valid) {
+        CraftEntity entity = mock(CraftEntity.class);
+        when(entity.getWorld()).thenReturn(world);
+        when(entity.getEntityId()).thenReturn(id);
+        when(entity.isValid()).thenReturn(valid);
+        return entity;
+    }
+
+    private static EntityTracker createTracker(Player... observers) {
+        Set<ServerPlayerConnection> seenBy = new HashSet<>();
+        Field playerField = FuzzyReflection.fromClass(PlayerConnection.class, true)
+                .getFieldByType("player", EntityPlayer.class);
+
+        for (Player observer : observers) {
+            EntityPlayer player = mock(EntityPlayer.class);
+            when(player.getBukkitEntity()).thenReturn((CraftPlayer) observer);
+
+            PlayerConnection connection = mock(PlayerConnection.class);
+            setFinalField(connection, playerField, player);
+            seenBy.add(connection);
+        }
+        // connections that aren't game connections are not players
+        seenBy.add(mock(ServerPlayerConnection.class));
+
+        EntityTracker tracker = mock(EntityTracker.class);
+        Field seenByField = FuzzyReflection.fromClass(EntityTracker.class, true)
+                .getField(FuzzyFieldContract.newBuilder().typeExact(Set.class).build());
+        setFinalField(tracker, seenByField, seenBy);
+        return tracker;
     }
 }
@@ -0,0 +1,141 @@
+package com.comphenix.protocol.injector;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import com.comphenix.protocol.utility.Benchmark;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.event.player.PlayerTeleportEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class PlayerSpatialIndexTest {
+
+    private static final int PLAYERS = 500;
+
+    @Test
+    public void testRadiusQueries() {
+        World world = mock(World.class);
+        Random random = new Random(42);
+
+        PlayerSpatialIndex index = new PlayerSpatialIndex();
+        Player[] players = new Player[PLAYERS];
+        Location[] locations = new Location[PLAYERS];
+        for (int i = 0; i < PLAYERS; i++) {
+            players[i] = mock(Player.class);
+            locations[i] = randomLocation(world, random);
+            index.update(players[i], locations[i]);
+        }
+
+        // move some players around, and remove others
+        for (int i = 0; i < PLAYERS; i += 3) {
+            locations[i] = randomLocation(world, random);
+            index.update(players[i], locations[i]);
+        }
+        for (int i = 1; i < PLAYERS; i += 7) {
+            index.remove(players[i]);
+            locations[i] = null;
+        }
+
+        for (int query = 0; query < 100; query++) {
+            Location origin = randomLocation(world, random);
+            double distance = query % 10 == 0 ? 2_000 : random.nextInt(64);
+
+            Set<Player> expected = new HashSet<>();
+            for (int i = 0; i < PLAYERS; i++) {
+                if (locations[i] != null && locations[i].distanceSquared(origin) <= distance * distance) {
+                    expected.add(players[i]);
+                }
+            }
+
+            Set<Player> actual = new HashSet<>();
+            index.forEachNearby(origin, distance, player -> assertTrue(actual.add(player), "duplicate player"));
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    public void testWorldChange() {
+        World first = mock(World.class);
+        World second = mock(World.class);
+        Player player = mock(Player.class);
+
+        PlayerSpatialIndex index = new PlayerSpatialIndex();
+        index.update(player, new Location(first, 10, 64, 10));
+        index.update(player, new Location(second, 10, 64, 10));
+
+        Set<Player> found = new HashSet<>();
+        index.forEachNearby(new Location(first, 10, 64, 10), 16, found::add);
+        assertTrue(found.isEmpty());
+
+        index.forEachNearby(new Location(second, 10, 64, 10), 16, found::add);
+        assertEquals(1, found.size());
+    }
+
+    @Test
+    public void testTeleport() {
+        World world = mock(World.class);
+        Player player = mock(Player.class);
+        Location from = new Location(world, 10, 64, 10);
+        Location to = new Location(world, 5_000, 64, 5_000);
+
+        PlayerSpatialIndex index = new PlayerSpatialIndex();
+        index.update(player, from);
+        index.onTeleport(new PlayerTeleportEvent(player, from, to));
+
+        Set<Player> found = new HashSet<>();
+        index.forEachNearby(from, 16, found::add);
+        assertTrue(found.isEmpty());
+
+        index.forEachNearby(to, 16, found::add);
+        assertEquals(1, found.size());
+    }
+
+    /**
+     * Compares a radius query of the index with a linear scan over every player. Only runs with
+     * -Dprotocollib.benchmark=true.
+     */
+    @Test
+    public void benchmarkRadiusQueries(TestReporter reporter) {
+        Benchmark.assumeEnabled();
+
+        World world = mock(World.class);
+        Random random = new Random(42);
+
+        PlayerSpatialIndex index = new PlayerSpatialIndex();
+        Location[] locations = new Location[PLAYERS];
+        for (int i = 0; i < PLAYERS; i++) {
+            locations[i] = randomLocation(world, random);
+            index.update(mock(Player.class), locations[i]);
+        }
+
+        Location origin = new Location(world, 0, 64, 0);
+        Benchmark.run(reporter, "linear scan over " + PLAYERS + " players", () -> {
+            // what the linear scan does, including the location copy of Player.getLocation()
+            Set<Location> targets = new HashSet<>();
+            for (Location location : locations) {
+                if (location.clone().distanceSquared(origin) <= 32 * 32) {
+                    targets.add(location);
+                }
+            }
+            return targets;
+        });
+        Benchmark.run(reporter, "indexed query over " + PLAYERS + " players", () -> {
+            Set<Player> targets = new HashSet<>();
+            index.forEachNearby(origin, 32, targets::add);
+            return targets;
+        });
+    }
+
+    private static Location randomLocation(World world, Random random) {
+        return new Location(world, random.nextInt(1_000) - 500 + random.nextDouble(), random.nextInt(256),
+                random.nextInt(1_000) - 500 + random.nextDouble());
+    }
+}
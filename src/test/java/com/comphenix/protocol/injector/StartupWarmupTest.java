@@ -0,0 +1,142 @@
+package com.comphenix.protocol.injector;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StartupWarmupTest {
+
+    @Test
+    public void testDependencyOrder() {
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+
+        StartupWarmup warmup = new StartupWarmup(4)
+                .register("first", () -> order.add("first"))
+                .register("second", () -> order.add("second"), "first")
+                .register("third", () -> order.add("third"), "first", "second");
+
+        assertTrue(warmup.await(10, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList("first", "second", "third"), order);
+        assertEquals(Arrays.asList("first", "second", "third"), new ArrayList<>(warmup.getTimings().keySet()));
+    }
+
+    @Test
+    public void testCallerComponents() {
+        AtomicReference<Thread> callerThread = new AtomicReference<>();
+        AtomicReference<Thread> dependentThread = new AtomicReference<>();
+        AtomicReference<Thread> poolThread = new AtomicReference<>();
+
+        StartupWarmup warmup = new StartupWarmup(1)
+                .registerOnCaller("caller", () -> callerThread.set(Thread.currentThread()))
+                .registerOnCaller("dependent", () -> dependentThread.set(Thread.currentThread()), "caller")
+                .register("pool", () -> poolThread.set(Thread.currentThread()), "dependent");
+
+        // caller components are done once start returns
+        warmup.start();
+        assertSame(Thread.currentThread(), callerThread.get());
+        assertSame(Thread.currentThread(), dependentThread.get());
+
+        assertTrue(warmup.await(10, TimeUnit.SECONDS));
+        assertNotSame(Thread.currentThread(), poolThread.get());
+    }
+
+    @Test
+    public void testCallerDependsOnPool() {
+        StartupWarmup warmup = new StartupWarmup(1).register("pool", () -> {});
+
+        assertThrows(IllegalArgumentException.class, () -> warmup.registerOnCaller("caller", () -> {}, "pool"));
+    }
+
+    @Test
+    public void testInvalidRegistrations() {
+        StartupWarmup warmup = new StartupWarmup(1).register("component", () -> {});
+
+        assertThrows(IllegalArgumentException.class, () -> warmup.register("component", () -> {}));
+        assertThrows(IllegalArgumentException.class, () -> warmup.register("other", () -> {}, "unknown"));
+
+        warmup.start();
+        assertThrows(IllegalStateException.class, () -> warmup.register("late", () -> {}));
+    }
+
+    @Test
+    public void testFailureIsolation() {
+        AtomicInteger independent = new AtomicInteger();
+        AtomicInteger dependent = new AtomicInteger();
+
+        StartupWarmup warmup = new StartupWarmup(2)
+                .registerOnCaller("brokenCaller", () -> {
+                    throw new IllegalStateException("broken");
+                })
+                .register("broken", () -> {
+                    throw new IllegalStateException("broken");
+                })
+                .register("independent", independent::incrementAndGet)
+                .register("dependent", dependent::incrementAndGet, "broken")
+                .registerOnCaller("dependentCaller", dependent::incrementAndGet, "brokenCaller");
+
+        // failures don't escape from start or await
+        assertTrue(warmup.await(10, TimeUnit.SECONDS));
+        assertEquals(1, independent.get());
+        assertEquals(0, dependent.get());
+        assertEquals(Collections.singleton("independent"), warmup.getTimings().keySet());
+    }
+
+    @Test
+    public void testFailingElements() {
+        List<Integer> initialized = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger dependent = new AtomicInteger();
+
+        StartupWarmup warmup = new StartupWarmup(2)
+                .registerEach("elements", () -> Arrays.asList(1, 2, 3), element -> {
+                    if (element == 2) {
+                        throw new IllegalStateException("broken");
+                    }
+                    initialized.add(element);
+                })
+                .register("dependent", dependent::incrementAndGet, "elements");
+
+        assertTrue(warmup.await(10, TimeUnit.SECONDS));
+        Collections.sort(initialized);
+        assertEquals(Arrays.asList(1, 3), initialized);
+        assertEquals(1, dependent.get());
+        assertTrue(warmup.getTimings().containsKey("elements"));
+    }
+
+    @Test
+    public void testTimeout() throws InterruptedException {
+        Object lock = new Object();
+        AtomicInteger finished = new AtomicInteger();
+
+        StartupWarmup warmup = new StartupWarmup(1).register("slow", () -> {
+            synchronized (lock) {
+                finished.incrementAndGet();
+            }
+        });
+
+        synchronized (lock) {
+            assertFalse(warmup.await(50, TimeUnit.MILLISECONDS));
+        }
+
+        // the component continues after the timeout
+        assertTrue(warmup.await(10, TimeUnit.SECONDS));
+        assertEquals(1, finished.get());
+    }
+
+    @Test
+    public void testNotStarted() {
+        assertThrows(IllegalStateException.class, () -> new StartupWarmup(1).getCompletion());
+    }
+}
@@ -1,10 +1,17 @@
 package com.comphenix.protocol.injector;
 
 import com.comphenix.protocol.BukkitInitialization;
+import com.comphenix.protocol.PacketType;
+import com.comphenix.protocol.events.PacketContainer;
+import com.comphenix.protocol.injector.packet.PacketRegistry;
+import com.comphenix.protocol.utility.Benchmark;
 
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
 
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class StructureCacheTests {
@@ -23,4 +30,40 @@ public class StructureCacheTests {
 			assertTrue(ex.getMessage().contains("Cannot inject already loaded type"));
 		}
 	}
+
+	@Test
+	public void testPacketsThatCannotBeCopied() {
+		// these packets can't be copied field by field, so they must not be created from a prototype
+		PacketType[] types = {
+				PacketType.Play.Server.BOSS,
+				PacketType.Play.Server.ADVANCEMENTS,
+				PacketType.Play.Client.USE_ENTITY,
+				PacketType.Status.Server.SERVER_INFO
+		};
+
+		for (PacketType type : types) {
+			Object first = StructureCache.newPacket(type);
+			Object second = StructureCache.newPacket(type);
+
+			assertSame(type.getPacketClass(), first.getClass());
+			assertNotSame(first, second);
+		}
+	}
+
+	/**
+	 * Measures how long packets of each server bound type take to create, the same way as by
+	 * ProtocolManager#createPacket. Only runs with -Dprotocollib.benchmark=true.
+	 */
+	@Test
+	public void benchmarkCreatePacket(TestReporter reporter) {
+		Benchmark.assumeEnabled();
+
+		for (PacketType type : PacketRegistry.getServerPacketTypes()) {
+			try {
+				Benchmark.run(reporter, type.name(), () -> new PacketContainer(type));
+			} catch (Exception ex) {
+				reporter.publishEntry(type.name(), "unsupported (" + ex + ")");
+			}
+		}
+	}
 }
@@ -9,8 +9,11 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import com.comphenix.protocol.BukkitInitialization;
 import com.comphenix.protocol.PacketType;
 import com.comphenix.protocol.events.PacketContainer;
+import com.comphenix.protocol.injector.netty.PacketTemplate;
+import com.comphenix.protocol.injector.netty.PacketTemplate.Encoding;
 import com.comphenix.protocol.injector.netty.WirePacket;
 import io.netty.buffer.ByteBuf;
+import io.netty.util.ReferenceCountUtil;
 import java.util.ArrayList;
 import java.util.List;
 import org.junit.jupiter.api.BeforeAll;
@@ -66,4 +69,34 @@ public class WirePacketTest {
         assertEquals(id, backId);
         assertArrayEquals(array, backArray);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testPacketTemplate() {
+        PacketContainer packet = new PacketContainer(PacketType.Play.Server.ENTITY_HEAD_ROTATION);
+        packet.getIntegers().write(0, 1);
+        packet.getBytes().write(0, (byte) 10);
+
+        PacketTemplate template = PacketTemplate.newBuilder(packet)
+                .slot(Encoding.VAR_INT, PacketContainer::getIntegers, 0)
+                .slot(Encoding.BYTE, PacketContainer::getBytes, 0)
+                .build();
+
+        // values with a shorter and longer VarInt than the probe
+        for (int entityId : new int[]{3, 300_000, -1}) {
+            packet.getIntegers().write(0, entityId);
+            packet.getBytes().write(0, (byte) 42);
+
+            WirePacket wire = template.toWirePacket(entityId, (byte) 42);
+            assertEquals(packet.getType().getCurrentId(), wire.getId());
+            assertArrayEquals(serialize(packet), wire.getBytes());
+        }
+    }
+
+    private static byte[] serialize(PacketContainer packet) {
+        ByteBuf buffer = (ByteBuf) packet.serializeToBuffer();
+        byte[] bytes = new byte[buffer.readableBytes()];
+        buffer.readBytes(bytes);
+        ReferenceCountUtil.safeRelease(buffer);
+        return bytes;
+    }
+}
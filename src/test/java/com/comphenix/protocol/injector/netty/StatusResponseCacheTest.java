@@ -0,0 +1,81 @@
+package com.comphenix.protocol.injector.netty;
+
+import java.nio.charset.StandardCharsets;
+
+import com.comphenix.protocol.BukkitInitialization;
+import com.comphenix.protocol.PacketType;
+import com.comphenix.protocol.events.PacketContainer;
+import com.comphenix.protocol.wrappers.WrappedServerPing;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StatusResponseCacheTest {
+
+    @BeforeAll
+    public static void initializeBukkit() {
+        BukkitInitialization.initializeAll();
+    }
+
+    @Test
+    public void testResponse() {
+        WrappedServerPing template = new WrappedServerPing();
+        template.setMotD("Hello world");
+        template.setPlayersMaximum(20);
+
+        StatusResponseCache cache = new StatusResponseCache();
+        assertFalse(cache.hasTemplate());
+        assertNull(cache.getResponse(1));
+
+        cache.setTemplate(template);
+        assertTrue(cache.hasTemplate());
+
+        // later changes to the template are not sent
+        template.setPlayersMaximum(30);
+
+        WirePacket response = cache.getResponse(3);
+        assertEquals(PacketType.Status.Server.SERVER_INFO.getCurrentId(), response.getId());
+        assertSame(response, cache.getResponse(3));
+
+        WrappedServerPing decoded = WrappedServerPing.fromJson(decodeString(response.getBytes()));
+        assertEquals(3, decoded.getPlayersOnline());
+        assertEquals(20, decoded.getPlayersMaximum());
+        assertEquals(template.getMotD().getJson(), decoded.getMotD().getJson());
+
+        // the response is encoded again once the player count changes
+        WirePacket changed = cache.getResponse(4);
+        assertNotSame(response, changed);
+        assertEquals(4, WrappedServerPing.fromJson(decodeString(changed.getBytes())).getPlayersOnline());
+
+        cache.setTemplate(null);
+        assertNull(cache.getResponse(4));
+    }
+
+    @Test
+    public void testPong() {
+        PacketContainer pong = new PacketContainer(PacketType.Status.Server.PONG);
+        pong.getLongs().write(0, 0x0123456789ABCDEFL);
+
+        WirePacket expected = WirePacket.fromPacket(pong);
+        WirePacket actual = StatusResponseCache.createPong(0x0123456789ABCDEFL);
+
+        assertEquals(expected.getId(), actual.getId());
+        assertArrayEquals(expected.getBytes(), actual.getBytes());
+    }
+
+    private static String decodeString(byte[] bytes) {
+        ByteBuf buffer = Unpooled.wrappedBuffer(bytes);
+        int length = WirePacket.readVarInt(buffer);
+        assertEquals(length, buffer.readableBytes());
+        return buffer.toString(buffer.readerIndex(), length, StandardCharsets.UTF_8);
+    }
+}
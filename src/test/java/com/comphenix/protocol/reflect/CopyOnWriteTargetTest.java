@@ -0,0 +1,69 @@
+package com.comphenix.protocol.reflect;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class CopyOnWriteTargetTest {
+
+    private static Object copy(Object source) {
+        if (source instanceof Outer) {
+            Outer outer = (Outer) source;
+            return new Outer(outer.first, outer.second, outer.optional);
+        }
+        return new Inner(((Inner) source).value);
+    }
+
+    @Test
+    void testCopiesOnlyWrittenPath() {
+        Inner first = new Inner(1);
+        Inner second = new Inner(2);
+        Outer original = new Outer(first, second, Optional.of(first));
+
+        CopyOnWriteTarget root = new CopyOnWriteTarget(original, CopyOnWriteTargetTest::copy, null);
+        CopyOnWriteTarget child = root.child(first, null);
+        assertSame(original, root.get());
+
+        new StructureModifier<>(Inner.class).withCopyOnWriteTarget(child).withType(int.class).write(0, 10);
+
+        Outer copied = (Outer) root.get();
+        assertNotSame(original, copied);
+        assertEquals(10, copied.first.value);
+        assertEquals(10, copied.optional.get().value);
+        assertSame(second, copied.second);
+
+        // the original is left untouched
+        assertEquals(1, first.value);
+        assertSame(first, original.first);
+
+        // objects that were copied already are not copied again
+        CopyOnWriteTarget copiedChild = root.child(copied.first, null);
+        assertSame(copied.first, copiedChild.getForWrite());
+    }
+
+    private static class Outer {
+
+        private final Inner first;
+        private final Inner second;
+        private final Optional<Inner> optional;
+
+        Outer(Inner first, Inner second, Optional<Inner> optional) {
+            this.first = first;
+            this.second = second;
+            this.optional = optional;
+        }
+    }
+
+    private static class Inner {
+
+        private int value;
+
+        Inner(int value) {
+            this.value = value;
+        }
+    }
+}
@@ -1,12 +1,19 @@
 package com.comphenix.protocol.reflect.accessors;
 
 import com.comphenix.protocol.reflect.ExactReflection;
+import com.comphenix.protocol.utility.Benchmark;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
 
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 class AccessorsTest {
 
@@ -32,6 +39,116 @@ class AccessorsTest {
         assertEquals(0, player.getId());
     }
 
+    @Test
+    void testMethodArities() {
+        Player player = new Player(123, "ABC");
+
+        MethodAccessor getName = Accessors.getMethodAccessor(Player.class, "getName");
+        MethodAccessor rename = Accessors.getMethodAccessor(Player.class, "rename", String.class, String.class);
+        MethodAccessor concat = Accessors.getMethodAccessor(Player.class, "concat", String.class, String.class);
+
+        assertEquals("ABC", getName.invoke(player));
+        assertEquals("ABC", getName.invoke(player, new Object[0]));
+
+        rename.invoke(player, "ABC", "DEF");
+        assertEquals("DEF", player.getNickname());
+        rename.invoke(player, new Object[]{"DEF", "GHI"});
+        assertEquals("GHI", player.getNickname());
+
+        assertEquals("ab", concat.invoke(null, "a", "b"));
+        assertEquals("cd", concat.invoke(null, new Object[]{"c", "d"}));
+
+        // a wrong number of arguments must fail the same way regardless of the overload
+        assertThrows(IllegalStateException.class, () -> getName.invoke(player, "unexpected"));
+        assertThrows(IllegalStateException.class, () -> concat.invoke(null, "a"));
+    }
+
+    @Test
+    void testLambdaBackend() {
+        Player player = new Player(123, "ABC");
+
+        MethodAccessor setId = lambdaAccessor(Player.class, "setId", int.class);
+        MethodAccessor concat = lambdaAccessor(Player.class, "concat", String.class, String.class);
+        MethodAccessor rename = lambdaAccessor(Player.class, "rename", String.class, String.class);
+
+        assertInstanceOf(LambdaMethodAccessor.class, setId);
+        assertInstanceOf(LambdaMethodAccessor.class, concat);
+        // instance methods with two parameters have no functional interface in the jdk
+        assertInstanceOf(DefaultMethodAccessor.class, rename);
+
+        assertNull(setId.invoke(player, 42));
+        assertEquals(42, player.getId());
+        assertEquals("ab", concat.invoke(null, "a", "b"));
+        assertThrows(IllegalStateException.class, () -> setId.invoke(player, "not an int"));
+    }
+
+    @Test
+    void testHiddenFieldBackend() {
+        assumeTrue(Runtime.version().feature() >= 15);
+        Player player = new Player(123, "ABC");
+
+        FieldAccessor id = hiddenAccessor(Entity.class, "id");
+        FieldAccessor name = hiddenAccessor(Player.class, "name");
+        FieldAccessor weight = hiddenAccessor(Player.class, "weight");
+        FieldAccessor instances = hiddenAccessor(Player.class, "instances");
+
+        assertInstanceOf(HiddenFieldAccessor.class, id);
+        assertInstanceOf(HiddenFieldAccessor.class, weight);
+        assertInstanceOf(HiddenFieldAccessor.class, instances);
+
+        assertEquals(123, id.get(player));
+        id.set(player, 7);
+        assertEquals(7, player.getId());
+        assertThrows(IllegalStateException.class, () -> id.set(player, "not an int"));
+        assertThrows(IllegalStateException.class, () -> id.set(player, null));
+
+        name.set(player, "DEF");
+        assertEquals("DEF", name.get(player));
+        assertThrows(IllegalStateException.class, () -> name.set(player, 5));
+
+        // final fields are written by the method handle fallback
+        assertEquals(61.5, weight.get(player));
+        weight.set(player, 2.5);
+        assertEquals(2.5, weight.get(player));
+
+        instances.set(null, 3);
+        assertEquals(3, instances.get(null));
+    }
+
+    /**
+     * Compares the method handle and lambda backends of this JVM. Only runs with -Dprotocollib.benchmark=true.
+     */
+    @Test
+    void benchmarkBackends(TestReporter reporter) {
+        Benchmark.assumeEnabled();
+
+        Field nicknameField = assertDoesNotThrow(() -> ExactReflection.fromClass(Player.class, true).getField("nickname"));
+        Method getName = Accessors.getMethodAccessor(Player.class, "getName").getMethod();
+        Player player = new Player(123, "ABC");
+
+        for (boolean lambdaBackend : new boolean[]{false, true}) {
+            FieldAccessor field = MethodHandleHelper.getFieldAccessor(nicknameField, lambdaBackend);
+            MethodAccessor method = MethodHandleHelper.getMethodAccessor(getName, lambdaBackend);
+            String backend = lambdaBackend ? "lambda" : "method_handle";
+
+            Benchmark.run(reporter, backend + " field get", () -> field.get(player));
+            Benchmark.run(reporter, backend + " field set", () -> {
+                field.set(player, "ABC");
+                return null;
+            });
+            Benchmark.run(reporter, backend + " method invoke", () -> method.invoke(player));
+        }
+    }
+
+    private static MethodAccessor lambdaAccessor(Class<?> type, String name, Class<?>... parameters) {
+        return MethodHandleHelper.getMethodAccessor(Accessors.getMethodAccessor(type, name, parameters).getMethod(), true);
+    }
+
+    private static FieldAccessor hiddenAccessor(Class<?> type, String name) {
+        Field field = assertDoesNotThrow(() -> ExactReflection.fromClass(type, true).getField(name));
+        return MethodHandleHelper.getFieldAccessor(field, true);
+    }
+
     @Test
     void testConstructor() {
         Player player = (Player) assertDoesNotThrow(() -> Accessors
@@ -62,15 +179,39 @@ class AccessorsTest {
 
     private static class Player extends Entity {
 
+        @SuppressWarnings("unused")
+        private static int instances;
+
         private final String name;
+        private String nickname;
+        @SuppressWarnings("unused")
+        private final double weight;
 
         public Player(int id, String name) {
             super(id);
             this.name = name;
+            this.nickname = name;
+            this.weight = id / 2.0;
+        }
+
+        @SuppressWarnings("unused")
+        private static String concat(String first, String second) {
+            return first + second;
         }
 
         public String getName() {
             return this.name;
         }
+
+        public String getNickname() {
+            return this.nickname;
+        }
+
+        @SuppressWarnings("unused")
+        private void rename(String expected, String nickname) {
+            if (this.nickname.equals(expected)) {
+                this.nickname = nickname;
+            }
+        }
     }
 }
@@ -1,10 +1,17 @@
 package com.comphenix.protocol.reflect.cloning;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.comphenix.protocol.BukkitInitialization;
 import com.comphenix.protocol.PacketType;
 import com.comphenix.protocol.events.PacketContainer;
+import com.comphenix.protocol.utility.Benchmark;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import net.minecraft.core.NonNullList;
@@ -12,6 +19,7 @@ import net.minecraft.world.item.ItemStack;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
 
 public class AggregateClonerTest {
 
@@ -26,6 +34,104 @@ public class AggregateClonerTest {
         assertEquals(input, AggregateCloner.DEFAULT.clone(input));
     }
 
+    @Test
+    public void testFieldCopyPlan() {
+        Container source = new Container();
+        ((Base) source).id = 42;
+        source.name = "test";
+        source.data = new int[]{1, 2, 3};
+        source.values = new ArrayList<>(Arrays.asList("a", "b"));
+        source.child = new Container();
+        ((Base) source.child).id = 7;
+
+        assertTrue(AggregateCloner.DEFAULT.canClone(source));
+        Container cloned = (Container) AggregateCloner.DEFAULT.clone(source);
+
+        assertNotSame(source, cloned);
+        assertEquals(42, ((Base) cloned).id);
+        assertSame(source.name, cloned.name);
+        assertNotSame(source.data, cloned.data);
+        assertArrayEquals(source.data, cloned.data);
+        assertNotSame(source.values, cloned.values);
+        assertEquals(source.values, cloned.values);
+        assertNotSame(source.child, cloned.child);
+        assertEquals(7, ((Base) cloned.child).id);
+        assertNull(cloned.child.child);
+    }
+
+    @Test
+    public void testPrototypeFactory() {
+        Container prototype = new Container();
+        ((Base) prototype).id = 42;
+        prototype.values = new ArrayList<>(Arrays.asList("a", "b"));
+
+        PrototypeFactory factory = PrototypeFactory.fromPrototype(prototype, new NullableCloner(AggregateCloner.DEFAULT));
+        Container first = (Container) factory.get();
+        Container second = (Container) factory.get();
+
+        assertNotSame(first, second);
+        assertEquals(42, ((Base) first).id);
+        assertEquals(prototype.values, first.values);
+        // instances must not share mutable state with the prototype or each other
+        assertNotSame(prototype.values, first.values);
+        assertNotSame(first.values, second.values);
+    }
+
+    /**
+     * Measures how long common packets take to deep clone, along with a plain object that is copied through its field
+     * copy plan. Only runs with -Dprotocollib.benchmark=true.
+     */
+    @Test
+    public void benchmarkDeepClone(TestReporter reporter) {
+        Benchmark.assumeEnabled();
+
+        PacketType[] types = {
+                PacketType.Play.Server.ENTITY_METADATA,
+                PacketType.Play.Server.REL_ENTITY_MOVE,
+                PacketType.Play.Server.SPAWN_ENTITY,
+                PacketType.Play.Server.ENTITY_VELOCITY,
+                PacketType.Play.Server.SET_SLOT,
+                PacketType.Play.Server.WINDOW_ITEMS,
+                PacketType.Play.Server.BLOCK_CHANGE,
+                PacketType.Play.Server.SYSTEM_CHAT,
+                PacketType.Play.Server.PLAYER_INFO
+        };
+
+        for (PacketType type : types) {
+            try {
+                PacketContainer packet = new PacketContainer(type);
+                Benchmark.run(reporter, type.name(), packet::deepClone);
+            } catch (Exception ex) {
+                reporter.publishEntry(type.name(), "unsupported (" + ex + ")");
+            }
+        }
+
+        Container container = new Container();
+        container.name = "test";
+        container.data = new int[]{1, 2, 3};
+        container.values = new ArrayList<>(Arrays.asList("a", "b"));
+        container.child = new Container();
+
+        Benchmark.run(reporter, "Container", () -> AggregateCloner.DEFAULT.clone(container));
+    }
+
+    public static class Base {
+        private int id;
+
+        public Base() {
+        }
+    }
+
+    public static class Container extends Base {
+        private String name;
+        private int[] data;
+        private List<String> values;
+        private Container child;
+
+        public Container() {
+        }
+    }
+
     // @Test
     // Usages of NonNullList were removed in 1.17.1
     /* public void testNonNullList() {
@@ -0,0 +1,38 @@
+package com.comphenix.protocol.reflect.fuzzy;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FuzzyMatchersTest {
+
+    @Test
+    public void testValueEquality() {
+        assertEquals(FuzzyMatchers.assignable(Number.class), FuzzyMatchers.assignable(Number.class));
+        assertNotEquals(FuzzyMatchers.assignable(Number.class), FuzzyMatchers.except(Number.class));
+        assertEquals(FuzzyMatchers.matchArray(FuzzyMatchers.matchExact(int.class)),
+                FuzzyMatchers.matchArray(FuzzyMatchers.matchExact(int.class)));
+        assertEquals(
+                FuzzyMatchers.and(FuzzyMatchers.assignable(Number.class), FuzzyMatchers.except(Integer.class)),
+                FuzzyMatchers.and(FuzzyMatchers.assignable(Number.class), FuzzyMatchers.except(Integer.class)));
+
+        assertTrue(FuzzyMatchers.assignable(Number.class).isMatch(Integer.class, null));
+        assertFalse(FuzzyMatchers.except(Number.class).isMatch(Integer.class, null));
+    }
+
+    @Test
+    public void testContractValueEquality() {
+        FuzzyFieldContract contract = FuzzyFieldContract.newBuilder()
+                .typeMatches(FuzzyMatchers.and(FuzzyMatchers.assignable(Number.class), FuzzyMatchers.except(Integer.class)))
+                .build();
+        assertTrue(contract.hasValueEquality());
+
+        FuzzyFieldContract lambda = FuzzyFieldContract.newBuilder()
+                .typeMatches(FuzzyMatchers.and(FuzzyMatchers.assignable(Number.class), (value, parent) -> true))
+                .build();
+        assertFalse(lambda.hasValueEquality());
+    }
+}
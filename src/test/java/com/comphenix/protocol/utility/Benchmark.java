@@ -0,0 +1,137 @@
+package com.comphenix.protocol.utility;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.TestReporter;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Measures the micro benchmarks of the unit tests, which are skipped unless -Dprotocollib.benchmark=true is set.
+ * <p>
+ * Every operation is warmed up for a fixed time before it's measured for a fixed time, and the result is published
+ * through the {@link TestReporter} of the test instead of being printed.
+ */
+public final class Benchmark {
+
+    private static final String PROPERTY = "protocollib.benchmark";
+
+    private static final long WARMUP_NANOS = TimeUnit.MILLISECONDS.toNanos(300);
+    private static final long MEASURE_NANOS = TimeUnit.MILLISECONDS.toNanos(300);
+    // operations between two reads of the clock, so the clock is negligible for fast operations
+    private static final int BATCH_SIZE = 16;
+
+    // compared against every result, which keeps the jit from eliminating the operation
+    private static Object sentinel = new Object();
+    private static volatile Object blackhole;
+
+    private Benchmark() {
+    }
+
+    /**
+     * Skip the calling test unless benchmarks are enabled.
+     */
+    public static void assumeEnabled() {
+        assumeTrue(Boolean.getBoolean(PROPERTY), "Benchmarks only run with -D" + PROPERTY + "=true");
+    }
+
+    /**
+     * Measure the given operation, and publish the result under the given name.
+     *
+     * @param reporter  - the reporter of the running test.
+     * @param name      - the name of the operation.
+     * @param operation - the operation.
+     * @return The result.
+     */
+    public static Result run(TestReporter reporter, String name, Supplier<?> operation) {
+        Result result = measure(operation);
+        reporter.publishEntry(name, result.toString());
+        return result;
+    }
+
+    /**
+     * Measure the time and memory the given operation takes on average, once it's warmed up.
+     *
+     * @param operation - the operation.
+     * @return The result.
+     */
+    public static Result measure(Supplier<?> operation) {
+        runFor(operation, WARMUP_NANOS);
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long allocated = allocatedBytes(threads);
+        long startTime = System.nanoTime();
+        long operations = runFor(operation, MEASURE_NANOS);
+        long elapsed = System.nanoTime() - startTime;
+
+        long bytes = allocated < 0 ? -1 : allocatedBytes(threads) - allocated;
+        return new Result((double) elapsed / operations, bytes < 0 ? Double.NaN : (double) bytes / operations);
+    }
+
+    private static long runFor(Supplier<?> operation, long nanos) {
+        long operations = 0;
+        long endTime = System.nanoTime() + nanos;
+        do {
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                Object result = operation.get();
+                if (result == sentinel) {
+                    blackhole = result;
+                }
+            }
+            operations += BATCH_SIZE;
+        } while (System.nanoTime() < endTime);
+        return operations;
+    }
+
+    private static long allocatedBytes(ThreadMXBean threads) {
+        // only supported by hotspot
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    /**
+     * The average cost of a single operation.
+     */
+    public static final class Result {
+
+        private final double nanosPerOperation;
+        private final double bytesPerOperation;
+
+        private Result(double nanosPerOperation, double bytesPerOperation) {
+            this.nanosPerOperation = nanosPerOperation;
+            this.bytesPerOperation = bytesPerOperation;
+        }
+
+        /**
+         * Retrieve the average time of an operation.
+         *
+         * @return The time in nanoseconds.
+         */
+        public double getNanosPerOperation() {
+            return this.nanosPerOperation;
+        }
+
+        /**
+         * Retrieve the average number of bytes allocated by an operation.
+         *
+         * @return The number of bytes, or NaN if the JVM can't measure allocations.
+         */
+        public double getBytesPerOperation() {
+            return this.bytesPerOperation;
+        }
+
+        @Override
+        public String toString() {
+            String time = String.format("%,.1f ns/op (%,.0f ops/s)", this.nanosPerOperation, 1e9 / this.nanosPerOperation);
+            if (Double.isNaN(this.bytesPerOperation)) {
+                return time;
+            }
+            return time + String.format(", %,.1f bytes/op", this.bytesPerOperation);
+        }
+    }
+}
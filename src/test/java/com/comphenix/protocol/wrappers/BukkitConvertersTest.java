@@ -4,6 +4,7 @@ import com.comphenix.protocol.BukkitInitialization;
 import com.comphenix.protocol.PacketType;
 import com.comphenix.protocol.events.PacketContainer;
 import com.comphenix.protocol.reflect.EquivalentConverter;
+import com.comphenix.protocol.utility.Benchmark;
 import com.comphenix.protocol.utility.TestUtils;
 import com.comphenix.protocol.wrappers.Either.Left;
 import org.apache.commons.lang.builder.EqualsBuilder;
@@ -16,6 +17,7 @@ import org.bukkit.inventory.meta.ItemMeta;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
 
 import java.util.Random;
 
@@ -94,4 +96,48 @@ public class BukkitConvertersTest {
         assertEquals(wrappedRemoteChatSessionData, specific);
 
     }
+
+    @Test
+    public void testComposedConvertersAreShared() {
+        assertSame(BukkitConverters.getListConverter(BukkitConverters.getItemStackConverter()),
+                BukkitConverters.getListConverter(BukkitConverters.getItemStackConverter()));
+        assertSame(BukkitConverters.getMapConverter(BukkitConverters.getNbtConverter(), BukkitConverters.getItemStackConverter()),
+                BukkitConverters.getMapConverter(BukkitConverters.getNbtConverter(), BukkitConverters.getItemStackConverter()));
+        assertSame(Converters.optional(BukkitConverters.getWrappedChatComponentConverter()),
+                Converters.optional(BukkitConverters.getWrappedChatComponentConverter()));
+
+        // components are compared by identity, so different item converters never share a composed converter
+        EquivalentConverter<String> passthrough = Converters.passthrough(String.class);
+        assertNotSame(BukkitConverters.getListConverter(passthrough),
+                BukkitConverters.getListConverter(Converters.passthrough(String.class)));
+        assertNotSame(BukkitConverters.getListConverter(passthrough),
+                BukkitConverters.getSetConverter(passthrough));
+    }
+
+    @Test
+    public void testComposedConvertersSurviveCollection() {
+        EquivalentConverter<?> converter = BukkitConverters.getListConverter(BukkitConverters.getItemStackConverter());
+        int identity = System.identityHashCode(converter);
+        converter = null;
+
+        System.gc();
+        assertEquals(identity, System.identityHashCode(
+                BukkitConverters.getListConverter(BukkitConverters.getItemStackConverter())));
+    }
+
+    /**
+     * Measures how many bytes a composed converter lookup allocates, both directly and through a modifier getter. Only
+     * runs with -Dprotocollib.benchmark=true.
+     */
+    @Test
+    public void benchmarkComposedConverterAllocations(TestReporter reporter) {
+        Benchmark.assumeEnabled();
+
+        PacketContainer packet = new PacketContainer(PacketType.Play.Server.WINDOW_ITEMS);
+        Benchmark.run(reporter, "getListConverter", () ->
+                BukkitConverters.getListConverter(BukkitConverters.getItemStackConverter()));
+        Benchmark.run(reporter, "getMapConverter", () ->
+                BukkitConverters.getMapConverter(BukkitConverters.getNbtConverter(), BukkitConverters.getItemStackConverter()));
+        Benchmark.run(reporter, "getItemListModifier", packet::getItemListModifier);
+    }
 }
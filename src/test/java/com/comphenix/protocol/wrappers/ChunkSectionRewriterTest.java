@@ -0,0 +1,209 @@
+package com.comphenix.protocol.wrappers;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.IntPredicate;
+
+import com.comphenix.protocol.injector.netty.WirePacket;
+import com.comphenix.protocol.utility.Benchmark;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ChunkSectionRewriterTest {
+
+    private static final int SECTIONS = 24;
+
+    // the tests don't run a server, so only the first state ID is air
+    private static final IntPredicate IS_AIR = id -> id == 0;
+
+    @Test
+    public void testReadSections() {
+        int[][] blocks = createBlocks(new Random(1));
+        ChunkSectionReader reader = new ChunkSectionReader(createChunk(blocks));
+
+        int sections = 0;
+        while (reader.next()) {
+            int[] expected = blocks[reader.getSectionIndex()];
+            for (int i = 0; i < ChunkSectionReader.BLOCK_STATES; i++) {
+                assertEquals(expected[i], reader.getBlockStates().get(i));
+            }
+            assertTrue(reader.getBiomes().isSingleValued());
+            assertEquals(7, reader.getBiomes().get(63));
+            sections++;
+        }
+
+        assertEquals(SECTIONS, sections);
+        assertTrue(new ChunkSectionReader(createChunk(blocks)).next());
+        assertFalse(new ChunkSectionReader(new byte[0]).next());
+    }
+
+    @Test
+    public void testRemapBlockStates() {
+        int[][] blocks = createBlocks(new Random(2));
+        byte[] chunk = createChunk(blocks);
+
+        byte[] remapped = ChunkSectionRewriter.remapBlockStates(chunk, id -> id == 0 ? 0 : id + 1, IS_AIR);
+        ChunkSectionReader reader = new ChunkSectionReader(remapped);
+
+        while (reader.next()) {
+            int[] expected = blocks[reader.getSectionIndex()];
+            for (int i = 0; i < ChunkSectionReader.BLOCK_STATES; i++) {
+                assertEquals(expected[i] == 0 ? 0 : expected[i] + 1, reader.getBlockStates().get(i));
+            }
+            assertEquals(7, reader.getBiomes().get(0));
+        }
+
+        // the identity keeps every byte
+        assertArrayEquals(chunk, ChunkSectionRewriter.remapBlockStates(chunk, id -> id, IS_AIR));
+    }
+
+    @Test
+    public void testBlockCount() {
+        int[][] blocks = createBlocks(new Random(4));
+        byte[] chunk = createChunk(blocks);
+
+        // fill the air, and remove one block of each paletted section
+        ChunkSectionReader reader = new ChunkSectionReader(
+                ChunkSectionRewriter.remapBlockStates(chunk, id -> id == 0 ? 1 : id == 100 ? 0 : id, IS_AIR));
+        while (reader.next()) {
+            int[] expected = blocks[reader.getSectionIndex()];
+            int count = 0;
+            for (int i = 0; i < ChunkSectionReader.BLOCK_STATES; i++) {
+                if (expected[i] != 100) {
+                    count++;
+                }
+            }
+            assertEquals(count, reader.getBlockCount());
+        }
+    }
+
+    @Test
+    public void testWidenDirectContainers() {
+        int[][] blocks = createBlocks(new Random(5));
+        byte[] chunk = createChunk(blocks);
+
+        // these IDs need 16 bits instead of 15
+        ChunkSectionReader reader = new ChunkSectionReader(
+                ChunkSectionRewriter.remapBlockStates(chunk, id -> id + 40_000, IS_AIR));
+        while (reader.next()) {
+            int[] expected = blocks[reader.getSectionIndex()];
+            if (reader.getBlockStates().isDirect()) {
+                assertEquals(16, reader.getBlockStates().getBitsPerEntry());
+            }
+            for (int i = 0; i < ChunkSectionReader.BLOCK_STATES; i++) {
+                assertEquals(expected[i] + 40_000, reader.getBlockStates().get(i));
+            }
+            assertEquals(ChunkSectionReader.BLOCK_STATES, reader.getBlockCount());
+        }
+    }
+
+    /**
+     * Measures remapping a chunk with every kind of block state container. Only runs with -Dprotocollib.benchmark=true.
+     */
+    @Test
+    public void benchmarkRemapBlockStates(TestReporter reporter) {
+        Benchmark.assumeEnabled();
+
+        byte[] chunk = createChunk(createBlocks(new Random(3)));
+        ByteBuf output = Unpooled.buffer(chunk.length + 64);
+        ByteBuf input = Unpooled.wrappedBuffer(chunk);
+
+        Benchmark.run(reporter, "remap chunk", () -> {
+            input.readerIndex(0);
+            output.clear();
+            ChunkSectionRewriter.remapBlockStates(input, output, id -> id ^ 1, IS_AIR);
+            return output;
+        });
+    }
+
+    // a mix of empty, single valued, paletted and direct sections
+    private static int[][] createBlocks(Random random) {
+        int[][] blocks = new int[SECTIONS][ChunkSectionReader.BLOCK_STATES];
+        for (int section = 0; section < SECTIONS; section++) {
+            int kind = section % 4;
+            for (int i = 0; i < ChunkSectionReader.BLOCK_STATES; i++) {
+                switch (kind) {
+                    case 0:
+                        blocks[section][i] = 0;
+                        break;
+                    case 1:
+                        blocks[section][i] = 1 + section;
+                        break;
+                    case 2:
+                        blocks[section][i] = 100 + random.nextInt(12);
+                        break;
+                    default:
+                        blocks[section][i] = random.nextInt(20_000);
+                        break;
+                }
+            }
+        }
+        return blocks;
+    }
+
+    private static byte[] createChunk(int[][] blocks) {
+        ByteBuf buffer = Unpooled.buffer();
+        for (int[] section : blocks) {
+            buffer.writeShort((int) Arrays.stream(section).filter(id -> !IS_AIR.test(id)).count());
+            writeContainer(buffer, section);
+
+            // single valued biomes
+            buffer.writeByte(0);
+            WirePacket.writeVarInt(buffer, 7);
+            WirePacket.writeVarInt(buffer, 0);
+        }
+
+        byte[] bytes = new byte[buffer.readableBytes()];
+        buffer.readBytes(bytes);
+        return bytes;
+    }
+
+    private static void writeContainer(ByteBuf buffer, int[] values) {
+        int[] palette = Arrays.stream(values).distinct().toArray();
+        if (palette.length == 1) {
+            buffer.writeByte(0);
+            WirePacket.writeVarInt(buffer, palette[0]);
+            WirePacket.writeVarInt(buffer, 0);
+            return;
+        }
+
+        boolean direct = palette.length > 1 << ChunkSectionReader.MAX_INDIRECT_BLOCK_BITS;
+        int bits = direct ? 15 : Math.max(4, 32 - Integer.numberOfLeadingZeros(palette.length - 1));
+        buffer.writeByte(bits);
+        if (!direct) {
+            WirePacket.writeVarInt(buffer, palette.length);
+            for (int entry : palette) {
+                WirePacket.writeVarInt(buffer, entry);
+            }
+        }
+
+        int entriesPerLong = 64 / bits;
+        int longs = (values.length + entriesPerLong - 1) / entriesPerLong;
+        WirePacket.writeVarInt(buffer, longs);
+        for (int i = 0; i < longs; i++) {
+            long packed = 0;
+            for (int entry = 0; entry < entriesPerLong && i * entriesPerLong + entry < values.length; entry++) {
+                int value = values[i * entriesPerLong + entry];
+                long raw = direct ? value : indexOf(palette, value);
+                packed |= raw << (entry * bits);
+            }
+            buffer.writeLong(packed);
+        }
+    }
+
+    private static int indexOf(int[] palette, int value) {
+        for (int i = 0; i < palette.length; i++) {
+            if (palette[i] == value) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Not in palette: " + value);
+    }
+}
@@ -12,6 +12,9 @@ import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.fail;
 
 public class EnumWrappersTest {
@@ -56,4 +59,64 @@ public class EnumWrappersTest {
     public void testValidity() {
         assertEquals(EnumWrappers.INVALID, KNOWN_INVALID);
     }
+
+    @Test
+    public void testEnumConverter() {
+        EnumWrappers.EnumConverter<Specific> converter = new EnumWrappers.EnumConverter<>(Generic.class, Specific.class);
+
+        assertEquals(Specific.FIRST, converter.getSpecific(Generic.FIRST));
+        assertEquals(Specific.THIRD, converter.getSpecific(Generic.THIRD));
+        assertEquals(Generic.FIRST, converter.getGeneric(Specific.FIRST));
+        assertEquals(Generic.THIRD, converter.getGeneric(Specific.THIRD));
+
+        // constants without a counterpart are rejected
+        assertThrows(IllegalArgumentException.class, () -> converter.getSpecific(Generic.FOURTH));
+
+        // translations are shared between converters
+        assertSame(EnumWrappers.EnumTranslation.byName(Generic.class, Specific.class),
+                EnumWrappers.EnumTranslation.byName(Generic.class, Specific.class));
+    }
+
+    @Test
+    public void testAliasedEnumConverter() {
+        EnumWrappers.AliasedEnumConverter<Specific> converter = new EnumWrappers.AliasedEnumConverter<>(Generic.class, Specific.class);
+
+        assertEquals(Specific.SECOND, converter.getSpecific(Generic.SECOND_RENAMED));
+        assertEquals(Generic.SECOND_RENAMED, converter.getGeneric(Specific.SECOND));
+        assertEquals(Specific.THIRD, converter.getSpecific(Generic.THIRD));
+        assertThrows(IllegalArgumentException.class, () -> converter.getSpecific(Generic.FOURTH));
+    }
+
+    @Test
+    public void testIndexedEnumConverter() {
+        EnumWrappers.IndexedEnumConverter<Specific> converter = new EnumWrappers.IndexedEnumConverter<>(Specific.class, Generic.class);
+
+        assertEquals(Specific.SECOND, converter.getSpecific(Generic.SECOND_RENAMED));
+        assertEquals(Generic.SECOND_RENAMED, converter.getGeneric(Specific.SECOND));
+        assertNull(converter.getSpecific(Generic.FOURTH));
+    }
+
+    private enum Generic {
+        FIRST,
+        SECOND_RENAMED,
+        THIRD,
+        FOURTH
+    }
+
+    private enum Specific implements EnumWrappers.AliasedEnum {
+        FIRST,
+        SECOND("SECOND_RENAMED"),
+        THIRD;
+
+        private final String[] aliases;
+
+        Specific(String... aliases) {
+            this.aliases = aliases;
+        }
+
+        @Override
+        public String[] getAliases() {
+            return aliases;
+        }
+    }
 }
@@ -0,0 +1,64 @@
+package com.comphenix.protocol.wrappers;
+
+import com.comphenix.protocol.BukkitInitialization;
+import com.comphenix.protocol.events.PacketContainer;
+import org.bukkit.Material;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PackedBlockChangesTest {
+
+    @BeforeAll
+    public static void initializeBukkit() {
+        BukkitInitialization.initializeAll();
+    }
+
+    @Test
+    public void testCoordinates() {
+        PackedBlockChanges changes = new PackedBlockChanges(1).setSection(2, -1, -3);
+        changes.add(37, -5, -34, 1);
+        changes.add(32, -16, -48, 2);
+
+        assertEquals(2, changes.size());
+        assertEquals(37, changes.getX(0));
+        assertEquals(-5, changes.getY(0));
+        assertEquals(-34, changes.getZ(0));
+        assertEquals(-16, changes.getY(1));
+        assertThrows(IllegalArgumentException.class, () -> changes.add(0, 0, 0, 1));
+
+        long[] encoded = changes.toEncoded(null);
+        assertEquals((1L << 12) | PackedBlockChanges.packPosition(37, -5, -34), encoded[0]);
+
+        PackedBlockChanges decoded = new PackedBlockChanges().setEncoded(encoded, 2);
+        assertEquals(changes.getPosition(1), decoded.getPosition(1));
+        assertEquals(2, decoded.getStateId(1));
+    }
+
+    @Test
+    public void testPacketRoundTrip() {
+        int stone = WrappedBlockData.createData(Material.STONE).getStateId();
+        int dirt = WrappedBlockData.createData(Material.DIRT).getStateId();
+
+        PackedBlockChanges changes = new PackedBlockChanges().setSection(1, 4, 1);
+        for (int y = 64; y < 80; y++) {
+            changes.add(16, y, 17, y % 2 == 0 ? stone : dirt);
+        }
+
+        PacketContainer packet = changes.toPacket();
+        assertEquals(Material.STONE, packet.getBlockDataArrays().read(0)[0].getType());
+
+        PackedBlockChanges read = PackedBlockChanges.fromPacket(packet);
+        assertEquals(4, read.getSectionY());
+        assertEquals(16, read.size());
+        assertEquals(65, read.getY(1));
+        assertEquals(dirt, read.getStateId(1));
+        assertArrayEquals(changes.toEncoded(null), read.toEncoded(null));
+
+        read.remapStateIds(id -> id == dirt ? stone : id).writeTo(packet);
+        assertEquals(Material.STONE, packet.getBlockDataArrays().read(0)[1].getType());
+    }
+}
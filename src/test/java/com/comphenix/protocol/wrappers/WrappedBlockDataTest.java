@@ -26,6 +26,8 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 /**
  * @author dmulloy2
@@ -67,4 +69,31 @@ public class WrappedBlockDataTest {
         assertEquals(back.hasFace(BlockFace.EAST), data.hasFace(BlockFace.EAST));
         assertEquals(back.hasFace(BlockFace.SOUTH), data.hasFace(BlockFace.SOUTH));
     }
+
+    @Test
+    public void testStateIdCache() {
+        WrappedBlockData stone = WrappedBlockData.createData(Material.STONE);
+        int stateId = stone.getStateId();
+
+        WrappedBlockData fromId = WrappedBlockData.fromStateId(stateId);
+        assertEquals(Material.STONE, fromId.getType());
+        assertSame(stone.getHandle(), fromId.getHandle());
+
+        WrappedBlockData canonical = WrappedBlockData.getCanonical(stateId);
+        assertSame(canonical, WrappedBlockData.getCanonical(stateId));
+        assertThrows(UnsupportedOperationException.class, () -> canonical.setType(Material.DIRT));
+
+        WrappedBlockData copy = canonical.deepClone();
+        copy.setType(Material.DIRT);
+        assertEquals(Material.DIRT, copy.getType());
+        assertEquals(WrappedBlockData.createData(Material.DIRT).getStateId(), copy.getStateId());
+
+        assertEquals(Material.STONE, WrappedBlockData.getBukkitData(stateId).getMaterial());
+        assertEquals(Material.STONE, fromId.toBukkitData().getMaterial());
+
+        // IDs outside of the block state registry are rejected
+        assertThrows(IllegalArgumentException.class, () -> WrappedBlockData.fromStateId(-1));
+        assertThrows(IllegalArgumentException.class, () -> WrappedBlockData.fromStateId(Integer.MAX_VALUE));
+        assertThrows(IllegalArgumentException.class, () -> WrappedBlockData.getCanonical(Integer.MAX_VALUE));
+    }
 }
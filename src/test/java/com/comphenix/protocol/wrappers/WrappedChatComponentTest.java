@@ -2,10 +2,22 @@ package com.comphenix.protocol.wrappers;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.comphenix.protocol.BukkitInitialization;
+import com.comphenix.protocol.utility.Benchmark;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.event.ClickEvent;
+import net.kyori.adventure.text.event.HoverEvent;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.TextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+import net.kyori.adventure.text.serializer.gson.GsonComponentSerializer;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
 
 public class WrappedChatComponentTest {
 
@@ -23,4 +35,84 @@ public class WrappedChatComponentTest {
         WrappedChatComponent clone = WrappedChatComponent.fromJson(json);
         assertEquals(json, clone.getJson());
     }
+
+    @Test
+    public void testCache() {
+        ChatComponentCache.enable(16);
+        try {
+            String json = WrappedChatComponent.fromText("cached").getJson();
+            WrappedChatComponent first = WrappedChatComponent.fromJson(json);
+            WrappedChatComponent second = WrappedChatComponent.fromJson(json);
+
+            // every caller receives its own copy of the parsed component
+            assertNotSame(first.getHandle(), second.getHandle());
+            assertEquals(first.getHandle(), second.getHandle());
+            assertNotSame(first.getHandle(), first.deepClone().getHandle());
+            assertEquals(json, WrappedChatComponent.fromHandle(first.getHandle()).getJson());
+
+            // components that weren't produced by the cache are serialized every time
+            Object foreign = WrappedChatComponent.fromText("foreign").getHandle();
+            WrappedChatComponent.fromHandle(foreign).getJson();
+            WrappedChatComponent.fromHandle(foreign).getJson();
+
+            ChatComponentCache cache = ChatComponentCache.getInstance();
+            assertEquals(1, cache.getParseStats().hitCount());
+            assertEquals(1, cache.getSerializeStats().hitCount());
+        } finally {
+            ChatComponentCache.disable();
+        }
+        assertNull(ChatComponentCache.getInstance());
+    }
+
+    @Test
+    public void testDirectAdventureConversion() {
+        assertTrue(DirectComponentConverter.isSupported());
+
+        Component component = createComponent();
+        WrappedChatComponent wrapper = AdventureComponentConverter.fromComponent(component);
+
+        // both directions must agree with the JSON path
+        assertEquals(component, GsonComponentSerializer.gson().deserialize(wrapper.getJson()));
+        assertEquals(component, AdventureComponentConverter.fromWrapper(WrappedChatComponent.fromJson(wrapper.getJson())));
+
+        // hover events are converted through JSON
+        Component hover = Component.text("hover").hoverEvent(HoverEvent.showText(Component.text("tooltip")));
+        assertEquals(hover, AdventureComponentConverter.fromWrapper(AdventureComponentConverter.fromComponent(hover)));
+
+        // every decoration must end up in its own field of the style
+        for (TextDecoration decoration : TextDecoration.values()) {
+            for (boolean value : new boolean[]{true, false}) {
+                Component decorated = Component.text("decorated").decoration(decoration, value);
+                WrappedChatComponent converted = AdventureComponentConverter.fromComponent(decorated);
+
+                assertEquals(decorated, GsonComponentSerializer.gson().deserialize(converted.getJson()));
+                assertEquals(decorated, AdventureComponentConverter.fromWrapper(converted));
+            }
+        }
+    }
+
+    /**
+     * Compares converting an Adventure component through JSON with converting it directly. Only runs with
+     * -Dprotocollib.benchmark=true.
+     */
+    @Test
+    public void benchmarkAdventureConversion(TestReporter reporter) {
+        Benchmark.assumeEnabled();
+
+        Component component = createComponent();
+        GsonComponentSerializer serializer = GsonComponentSerializer.gson();
+
+        Benchmark.run(reporter, "JSON round trip", () ->
+                serializer.deserialize(WrappedChatComponent.fromJson(serializer.serialize(component)).getJson()));
+        Benchmark.run(reporter, "direct round trip", () ->
+                AdventureComponentConverter.fromWrapper(AdventureComponentConverter.fromComponent(component)));
+    }
+
+    private static Component createComponent() {
+        return Component.text("Hello ", NamedTextColor.GOLD, TextDecoration.BOLD)
+                .append(Component.text("world", TextColor.color(0x123456)).decoration(TextDecoration.ITALIC, false))
+                .append(Component.translatable("chat.type.text", Component.text("a"), Component.text("b", NamedTextColor.RED))
+                        .clickEvent(ClickEvent.runCommand("/help"))
+                        .insertion("inserted"));
+    }
 }
@@ -18,6 +18,7 @@ import java.util.List;
 import java.util.Optional;
 
 import com.comphenix.protocol.BukkitInitialization;
+import com.comphenix.protocol.events.PacketContainer;
 import com.comphenix.protocol.utility.MinecraftReflection;
 import com.comphenix.protocol.wrappers.WrappedDataWatcher.Registry;
 import com.comphenix.protocol.wrappers.WrappedDataWatcher.WrappedDataWatcherObject;
@@ -25,6 +26,7 @@ import com.comphenix.protocol.wrappers.nbt.NbtBase;
 import com.comphenix.protocol.wrappers.nbt.NbtCompound;
 import com.comphenix.protocol.wrappers.nbt.NbtFactory;
 
+import io.netty.buffer.ByteBuf;
 import net.minecraft.world.entity.projectile.EntityEgg;
 import org.bukkit.Material;
 import org.bukkit.Particle;
@@ -229,4 +231,34 @@ public class WrappedDataWatcherTest {
             assertEquals(watcher.getObject(i), cloned.getObject(i));
         }
     }
+
+    @Test
+    public void testMetadataBuilder() {
+        MetadataBuilder builder = new MetadataBuilder()
+                .setByte(0, (byte) 1)
+                .setInt(1, 300)
+                .setString(2, "name")
+                .setBoolean(3, true)
+                .setFloat(9, 20F)
+                .setByte(0, (byte) 0x20);
+        assertEquals(5, builder.size());
+
+        PacketContainer packet = builder.toPacket(42);
+        List<WrappedDataValue> values = packet.getDataValueCollectionModifier().read(0);
+        assertEquals(5, values.size());
+        assertEquals(0, values.get(0).getIndex());
+        assertEquals((byte) 0x20, values.get(0).getValue());
+        assertEquals(Registry.get(Byte.class), values.get(0).getSerializer());
+        assertEquals("name", values.get(2).getValue());
+        assertEquals(20F, values.get(4).getValue());
+
+        // the wire packet must match what the packet encodes to
+        ByteBuf buffer = (ByteBuf) packet.serializeToBuffer();
+        byte[] expected = new byte[buffer.readableBytes()];
+        buffer.readBytes(expected);
+        assertArrayEquals(expected, builder.toWirePacket(42).getBytes());
+
+        builder.clear().set(0, Registry.getChatComponentSerializer(true), Optional.empty());
+        assertThrows(IllegalStateException.class, () -> builder.toWirePacket(42));
+    }
 }
@@ -17,9 +17,19 @@
 
 package com.comphenix.protocol.wrappers.nbt;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
 
 import com.comphenix.protocol.BukkitInitialization;
+import com.comphenix.protocol.wrappers.nbt.io.NbtStreamVisitor;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
@@ -41,6 +51,80 @@ public class NbtCompoundTest {
         assertEquals(12, map.getInteger("hello"));
     }
 
+    @Test
+    public void testWrapperCache() {
+        NbtCompound compound = NbtFactory.ofCompound("test");
+        compound.put(NbtFactory.ofCompound("child"));
+        compound.put("value", 1);
+
+        assertSame(compound.getCompound("child"), compound.getCompound("child"));
+        assertSame(compound.getValue().get("value"), compound.getValue().get("value"));
+
+        // replacing a tag must not return the wrapper of the old tag
+        NbtBase<?> previous = compound.getValue().get("value");
+        compound.put("value", 2);
+        assertNotSame(previous, compound.getValue().get("value"));
+        assertEquals(2, compound.getInteger("value"));
+
+        NbtList<String> list = NbtFactory.ofList("list", "a", "b");
+        assertSame(list.getValue().get(1), list.getValue().get(1));
+    }
+
+    @Test
+    public void testBulkListGetters() {
+        NbtList<Integer> ints = NbtFactory.ofList("ints", 1, 2, 3);
+        NbtList<Double> doubles = NbtFactory.ofList("pos", 1.5, -2.5, 3.0);
+
+        assertArrayEquals(new int[]{1, 2, 3}, ints.toIntArray());
+        assertArrayEquals(new long[]{1, 2, 3}, ints.toLongArray());
+        assertArrayEquals(new double[]{1.5, -2.5, 3.0}, doubles.toDoubleArray());
+        assertArrayEquals(new float[]{1.5f, -2.5f, 3.0f}, doubles.toFloatArray());
+        assertArrayEquals(new int[0], NbtFactory.ofList("empty").toIntArray());
+        assertThrows(IllegalStateException.class, () -> NbtFactory.ofList("strings", "a").toIntArray());
+    }
+
+    @Test
+    public void testSnapshot() {
+        NbtCompound child = NbtFactory.ofCompound("child");
+        child.put("name", "nested");
+
+        NbtCompound compound = NbtFactory.ofCompound("root");
+        compound.put(child);
+        compound.put("value", 42);
+        compound.put(NbtFactory.ofList("list", 1, 2, 3));
+
+        List<String> events = new ArrayList<>();
+        NbtType rootType = NbtSnapshot.accept(compound, new NbtStreamVisitor() {
+            @Override
+            public boolean visit(String name, NbtType type, Object value) {
+                events.add(name + "=" + value);
+                return true;
+            }
+
+            @Override
+            public boolean visitEnter(String name, NbtType type, NbtType elementType, int size) {
+                events.add("enter " + name + " " + elementType + " " + size);
+                // skip the children of the list
+                return type == NbtType.TAG_COMPOUND;
+            }
+
+            @Override
+            public boolean visitLeave(String name, NbtType type) {
+                events.add("leave " + name);
+                return true;
+            }
+        });
+
+        assertEquals(NbtType.TAG_COMPOUND, rootType);
+        assertEquals("enter root null -1", events.get(0));
+        assertEquals("leave root", events.get(events.size() - 1));
+        assertTrue(events.contains("value=42"));
+        assertTrue(events.contains("name=nested"));
+        assertTrue(events.contains("enter list TAG_INT 3"));
+        assertFalse(events.contains("null=1"));
+        assertEquals(8, events.size());
+    }
+
     /**
      * Represents a custom NBT tag.
      *
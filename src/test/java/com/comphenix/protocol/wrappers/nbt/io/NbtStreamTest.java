@@ -0,0 +1,122 @@
+package com.comphenix.protocol.wrappers.nbt.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+
+import com.comphenix.protocol.BukkitInitialization;
+import com.comphenix.protocol.utility.Benchmark;
+import com.comphenix.protocol.wrappers.nbt.NbtCompound;
+import com.comphenix.protocol.wrappers.nbt.NbtFactory;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class NbtStreamTest {
+
+    @BeforeAll
+    public static void initializeBukkit() {
+        BukkitInitialization.initializeAll();
+    }
+
+    @Test
+    public void testCopyStream() {
+        byte[] serialized = serialize(createCompound(10));
+
+        ByteBuf copy = Unpooled.buffer();
+        new NbtStreamReader(Unpooled.wrappedBuffer(serialized), false).accept(new NbtStreamWriter(copy, false));
+
+        assertArrayEquals(serialized, toArray(copy));
+    }
+
+    @Test
+    public void testWriteWrapper() {
+        NbtCompound compound = createCompound(10);
+
+        ByteBuf buffer = Unpooled.buffer();
+        new NbtStreamWriter(buffer, false).write(compound);
+
+        NbtCompound result = NbtBinarySerializer.DEFAULT.deserializeCompound(
+                new DataInputStream(new ByteArrayInputStream(toArray(buffer))));
+        assertEquals(compound.getString("text"), result.getString("text"));
+        assertEquals(compound.getCompound("child3").getInteger("value"), result.getCompound("child3").getInteger("value"));
+        assertArrayEquals(compound.getIntegerArray("ints"), result.getIntegerArray("ints"));
+    }
+
+    @Test
+    public void testNamedRoot() {
+        ByteBuf buffer = Unpooled.buffer();
+        new NbtStreamWriter(buffer, true)
+                .beginCompound("root")
+                .writeString("text", "a\u0000b")
+                .endCompound();
+
+        // named roots are read by DataInput compatible code, such as NBT files
+        assertEquals("a\u0000b", new NbtStreamReader(buffer, true).find("text"));
+    }
+
+    @Test
+    public void testFind() {
+        byte[] serialized = serialize(createCompound(10));
+
+        assertEquals(7, new NbtStreamReader(Unpooled.wrappedBuffer(serialized), false).find("child7", "value"));
+        assertEquals("nested", new NbtStreamReader(Unpooled.wrappedBuffer(serialized), false).find("child2", "inner", "name"));
+        assertNull(new NbtStreamReader(Unpooled.wrappedBuffer(serialized), false).find("child2", "missing"));
+        assertNull(new NbtStreamReader(Unpooled.wrappedBuffer(serialized), false).find("list"));
+    }
+
+    /**
+     * Compares looking up a single value by parsing the whole compound with streaming to it. Only runs with
+     * -Dprotocollib.benchmark=true.
+     */
+    @Test
+    public void benchmarkParse(TestReporter reporter) {
+        Benchmark.assumeEnabled();
+
+        byte[] serialized = serialize(createCompound(2_000));
+        Benchmark.run(reporter, "tree lookup in " + serialized.length + " bytes", () ->
+                NbtBinarySerializer.DEFAULT.deserializeCompound(new DataInputStream(new ByteArrayInputStream(serialized)))
+                        .getCompound("child1000").getInteger("value"));
+        Benchmark.run(reporter, "stream lookup in " + serialized.length + " bytes", () ->
+                new NbtStreamReader(Unpooled.wrappedBuffer(serialized), false).find("child1000", "value"));
+    }
+
+    private static NbtCompound createCompound(int children) {
+        NbtCompound compound = NbtFactory.ofCompound("");
+        compound.put("text", "unicode é 😀 and \u0000");
+        compound.put("ints", new int[]{1, 2, 3});
+        compound.put(NbtFactory.ofList("list", "a", "b", "c"));
+
+        for (int i = 0; i < children; i++) {
+            NbtCompound child = NbtFactory.ofCompound("child" + i);
+            child.put("value", i);
+            child.put("bytes", new byte[64]);
+            if (i == 2) {
+                NbtCompound inner = NbtFactory.ofCompound("inner");
+                inner.put("name", "nested");
+                child.put(inner);
+            }
+            compound.put(child);
+        }
+        return compound;
+    }
+
+    private static byte[] serialize(NbtCompound compound) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        NbtBinarySerializer.DEFAULT.serialize(compound, new DataOutputStream(output));
+        return output.toByteArray();
+    }
+
+    private static byte[] toArray(ByteBuf buffer) {
+        byte[] bytes = new byte[buffer.readableBytes()];
+        buffer.readBytes(bytes);
+        return bytes;
+    }
+}